@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils.odo;
+
+import org.jboss.tools.intellij.openshift.utils.ExecHelper;
+import org.jboss.tools.intellij.openshift.utils.TaskScheduler;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Report the throughput of read-only odo queries issued concurrently, as the application tree
+ * does when expanding nodes, with each {@link ExecHelper.Mode}. Each query is run from its own
+ * folder so that it is distinct from the others and not shared with an identical one in flight,
+ * the throughput is only reported and the checks are on the processes queued to the query pool.
+ */
+public class OdoCliBenchmarkTest extends OdoCliTest {
+    private static final int CALLERS = 8;
+
+    private static final int COMMANDS = 64;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final ExecHelper.Mode initialMode = ExecHelper.getMode();
+
+    @After
+    public void restoreMode() {
+        ExecHelper.setMode(initialMode);
+    }
+
+    /**
+     * @return the number of invocations queued to the query pool
+     */
+    private long run(ExecHelper.Mode mode, String... args) throws Exception {
+        String command = ((OdoCli) odo).getCommand();
+        List<File> folders = new ArrayList<>();
+        for(int i=0; i < COMMANDS;++i) {
+            folders.add(folder.newFolder(mode.name() + i));
+        }
+        ExecHelper.setMode(mode);
+        ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+        try {
+            long submitted = TaskScheduler.getMetrics(TaskScheduler.Pool.QUERY).getSubmitted();
+            List<Future<String>> results = new ArrayList<>();
+            long start = System.nanoTime();
+            for(File workingDirectory : folders) {
+                results.add(callers.submit(() -> ExecHelper.query(command, workingDirectory, args)));
+            }
+            for(Future<String> result : results) {
+                result.get();
+            }
+            double rate = COMMANDS * 1e9 / (System.nanoTime() - start);
+            System.out.println(String.format("odo %s in %s mode: %.1f commands/sec", String.join(" ", args), mode, rate));
+            return TaskScheduler.getMetrics(TaskScheduler.Pool.QUERY).getSubmitted() - submitted;
+        } finally {
+            callers.shutdown();
+        }
+    }
+
+    @Test
+    public void checkThroughputForVersion() throws Exception {
+        assertEquals(0, run(ExecHelper.Mode.FORK, "version"));
+        assertEquals(COMMANDS, run(ExecHelper.Mode.BATCH, "version"));
+    }
+
+    @Test
+    public void checkThroughputForCatalog() throws Exception {
+        assertEquals(0, run(ExecHelper.Mode.FORK, "catalog", "list", "components", "-o", "json"));
+        assertEquals(COMMANDS, run(ExecHelper.Mode.BATCH, "catalog", "list", "components", "-o", "json"));
+    }
+}
@@ -75,7 +75,7 @@ public class OdoCliComponentTest extends OdoCliTest {
         try {
             createComponent(project, application, component, push);
             odo.createURL(project, application, COMPONENT_PATH, component, "url1", 8080);
-            List<URL> urls = odo.listURLs(project, application, COMPONENT_PATH, component);
+            List<URL> urls = odo.listURLs(client, project, application, COMPONENT_PATH, component);
             assertEquals(1, urls.size());
         } finally {
             try {
@@ -92,10 +92,10 @@ public class OdoCliComponentTest extends OdoCliTest {
         try {
             createComponent(project, application, component, push);
             odo.createURL(project, application, COMPONENT_PATH, component, null, 8080);
-            List<URL> urls = odo.listURLs(project, application, COMPONENT_PATH, component);
+            List<URL> urls = odo.listURLs(client, project, application, COMPONENT_PATH, component);
             assertEquals(1, urls.size());
             odo.deleteURL(project, application, COMPONENT_PATH, component, urls.get(0).getName());
-            urls = odo.listURLs(project, application, COMPONENT_PATH, component);
+            urls = odo.listURLs(client, project, application, COMPONENT_PATH, component);
             assertEquals(0, urls.size());
         } finally {
             try {
@@ -160,7 +160,7 @@ public class OdoCliComponentTest extends OdoCliTest {
         String component = COMPONENT_PREFIX + random.nextInt();
         try {
             createComponent(project, application, component, push);
-            List<URL> urls = odo.listURLs(project, application, COMPONENT_PATH, component);
+            List<URL> urls = odo.listURLs(client, project, application, COMPONENT_PATH, component);
             assertEquals(0, urls.size());
         } finally {
             try {
@@ -35,7 +35,7 @@ public class WindowToolFactory implements ToolWindowFactory {
 
         JBPanel<JBPanel> panel = new JBPanel<>();
         panel.setLayout(new BorderLayout());
-        Tree tree = new Tree(new ClustersTreeModel());
+        Tree tree = new Tree(new ClustersTreeModel(project));
         tree.setCellRenderer(new ClustersTreeNodeCellRenderer());
         PopupHandler.installPopupHandler(tree, "org.jboss.tools.intellij.tree", ActionPlaces.UNKNOWN);
         panel.add(new JBScrollPane(tree), BorderLayout.CENTER);
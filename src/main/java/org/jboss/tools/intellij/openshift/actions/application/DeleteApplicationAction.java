@@ -17,12 +17,12 @@ import org.jboss.tools.intellij.openshift.actions.OdoAction;
 import org.jboss.tools.intellij.openshift.tree.LazyMutableTreeNode;
 import org.jboss.tools.intellij.openshift.tree.application.ApplicationNode;
 import org.jboss.tools.intellij.openshift.tree.application.ApplicationsRootNode;
+import org.jboss.tools.intellij.openshift.utils.TaskScheduler;
 import org.jboss.tools.intellij.openshift.utils.odo.Odo;
 import org.jboss.tools.intellij.openshift.utils.UIHelper;
 
 import javax.swing.tree.TreePath;
 import java.io.IOException;
-import java.util.concurrent.CompletableFuture;
 
 public class DeleteApplicationAction extends OdoAction {
   public DeleteApplicationAction() {
@@ -38,7 +38,7 @@ public class DeleteApplicationAction extends OdoAction {
         Messages.getQuestionIcon())) {
         return;
     }
-    CompletableFuture.runAsync(() -> {
+    TaskScheduler.runAsync(TaskScheduler.Pool.CLI, () -> {
       try {
         odo.deleteApplication(client, projectNode.toString(), applicationNode.toString());
         projectNode.remove(applicationNode);
@@ -15,12 +15,12 @@ import com.intellij.openapi.ui.Messages;
 import org.jboss.tools.intellij.openshift.actions.OdoAction;
 import org.jboss.tools.intellij.openshift.tree.LazyMutableTreeNode;
 import org.jboss.tools.intellij.openshift.tree.application.ApplicationNode;
+import org.jboss.tools.intellij.openshift.utils.TaskScheduler;
 import org.jboss.tools.intellij.openshift.utils.UIHelper;
 import org.jboss.tools.intellij.openshift.utils.odo.Odo;
 
 import javax.swing.tree.TreePath;
 import java.io.IOException;
-import java.util.concurrent.CompletableFuture;
 
 public class DescribeApplicationAction extends OdoAction {
   public DescribeApplicationAction() {
@@ -31,7 +31,7 @@ public class DescribeApplicationAction extends OdoAction {
   public void actionPerformed(AnActionEvent anActionEvent, TreePath path, Object selected, Odo odo) {
     LazyMutableTreeNode applicationNode = (LazyMutableTreeNode) selected;
     LazyMutableTreeNode projectNode = (LazyMutableTreeNode) applicationNode.getParent();
-    CompletableFuture.runAsync(() -> {
+    TaskScheduler.runAsync(TaskScheduler.Pool.CLI, () -> {
       try {
         odo.describeApplication(projectNode.toString(), applicationNode.toString());
       } catch (IOException e) {
@@ -0,0 +1,80 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.actions.application;
+
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.Messages;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.openshift.client.OpenShiftClient;
+import org.jboss.tools.intellij.openshift.actions.OdoAction;
+import org.jboss.tools.intellij.openshift.tree.LazyMutableTreeNode;
+import org.jboss.tools.intellij.openshift.tree.application.ApplicationNode;
+import org.jboss.tools.intellij.openshift.tree.application.ApplicationsRootNode;
+import org.jboss.tools.intellij.openshift.ui.log.LogView;
+import org.jboss.tools.intellij.openshift.utils.TaskScheduler;
+import org.jboss.tools.intellij.openshift.utils.UIHelper;
+import org.jboss.tools.intellij.openshift.utils.log.LogBuffer;
+import org.jboss.tools.intellij.openshift.utils.log.LogMerger;
+import org.jboss.tools.intellij.openshift.utils.odo.Component;
+import org.jboss.tools.intellij.openshift.utils.odo.ComponentState;
+import org.jboss.tools.intellij.openshift.utils.odo.Odo;
+
+import javax.swing.tree.TreePath;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class FollowLogApplicationAction extends OdoAction {
+  public FollowLogApplicationAction() {
+    super(ApplicationNode.class);
+  }
+
+  @Override
+  public void actionPerformed(AnActionEvent anActionEvent, TreePath path, Object selected, Odo odo) {
+    LazyMutableTreeNode applicationNode = (LazyMutableTreeNode) selected;
+    LazyMutableTreeNode projectNode = (LazyMutableTreeNode) applicationNode.getParent();
+    Project project = anActionEvent.getProject();
+    OpenShiftClient client = ((ApplicationsRootNode) applicationNode.getRoot()).getClient();
+    String application = applicationNode.toString();
+    TaskScheduler.runAsync(TaskScheduler.Pool.CLI, () -> {
+      try {
+        List<Component> components = odo.getComponents(client, projectNode.toString(), application).stream()
+          .filter(component -> component.getState() == ComponentState.PUSHED).collect(Collectors.toList());
+        if (components.isEmpty()) {
+          throw new IOException("No pushed component in application " + application);
+        }
+        LogBuffer buffer = new LogBuffer();
+        LogMerger merger = new LogMerger(buffer);
+        List<String> errors = new ArrayList<>();
+        for (Component component : components) {
+          try {
+            merger.add(component.getName(), odo.follow(client, projectNode.toString(), application, component.getPath(), component.getName()));
+          } catch (IOException | KubernetesClientException e) {
+            errors.add('[' + component.getName() + "] Log stream failed: " + e.getLocalizedMessage());
+          }
+        }
+        if (errors.size() == components.size()) {
+          throw new IOException(String.join("\n", errors));
+        }
+        UIHelper.executeInUI(() -> {
+          LogView.open(project, application, buffer, merger);
+          //appended once the view listens to the buffer so that the failures are stored and searchable
+          buffer.append(errors);
+          merger.start(application);
+        });
+      } catch (IOException e) {
+        UIHelper.executeInUI(() -> Messages.showErrorDialog("Error: " + e.getLocalizedMessage(), "Follow Log"));
+      }
+    });
+  }
+}
@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.actions.application;
+
+import com.intellij.notification.Notification;
+import com.intellij.notification.NotificationType;
+import com.intellij.notification.Notifications;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import io.fabric8.openshift.client.OpenShiftClient;
+import org.jboss.tools.intellij.openshift.Constants;
+import org.jboss.tools.intellij.openshift.actions.OdoAction;
+import org.jboss.tools.intellij.openshift.tree.application.ApplicationNode;
+import org.jboss.tools.intellij.openshift.tree.application.ApplicationsRootNode;
+import org.jboss.tools.intellij.openshift.utils.odo.BatchPush;
+import org.jboss.tools.intellij.openshift.utils.odo.Component;
+import org.jboss.tools.intellij.openshift.utils.odo.ComponentState;
+import org.jboss.tools.intellij.openshift.utils.odo.Odo;
+import org.jetbrains.annotations.NotNull;
+
+import javax.swing.tree.TreePath;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+public class PushAllComponentsAction extends OdoAction {
+  private static final String TITLE = "Push components";
+
+  public PushAllComponentsAction() {
+    super(ApplicationNode.class);
+  }
+
+  @Override
+  public void actionPerformed(AnActionEvent anActionEvent, TreePath path, Object selected, Odo odo) {
+    ApplicationNode applicationNode = (ApplicationNode) selected;
+    OpenShiftClient client = ((ApplicationsRootNode) applicationNode.getRoot()).getClient();
+    String project = applicationNode.getParent().toString();
+    String application = applicationNode.toString();
+    push(anActionEvent.getProject(), odo, applicationNode, () -> odo.getComponents(client, project, application).stream()
+      .filter(Component::hasContext).collect(Collectors.toList()));
+  }
+
+  /**
+   * Push the components of an application concurrently in background, the progress is reported by
+   * the IDE and the outcome of every push is reported in a single notification.
+   */
+  public static void push(Project ideProject, Odo odo, ApplicationNode applicationNode, Supplier<List<Component>> components) {
+    OpenShiftClient client = ((ApplicationsRootNode) applicationNode.getRoot()).getClient();
+    String project = applicationNode.getParent().toString();
+    String application = applicationNode.toString();
+    ProgressManager.getInstance().run(new Task.Backgroundable(ideProject, TITLE, true) {
+      @Override
+      public void run(@NotNull ProgressIndicator indicator) {
+        indicator.setIndeterminate(false);
+        indicator.setText("Checking components of " + application);
+        Map<Component, IOException> errors = new LinkedHashMap<>();
+        List<Component> pushable = new ArrayList<>();
+        for (Component component : components.get()) {
+          try {
+            if (component.getState() == ComponentState.PUSHED && odo.getComponentInfo(client, project, application, component.getName()).isMigrated()) {
+              errors.put(component, new IOException("the component was deployed by a previous odo version, it must be undeployed first"));
+            } else {
+              pushable.add(component);
+            }
+          } catch (IOException e) {
+            errors.put(component, e);
+          }
+        }
+        int total = pushable.size() + errors.size();
+        AtomicInteger pushed = new AtomicInteger();
+        try {
+          errors.putAll(new BatchPush(odo).push(project, application, pushable, (component, error, done, count) -> {
+            if (error == null) {
+              pushed.incrementAndGet();
+            }
+            indicator.setText("Pushed " + done + " of " + count + " components of " + application);
+            indicator.setText2(component.getName());
+            indicator.setFraction((double) done / count);
+          }, indicator::isCanceled));
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        applicationNode.reconcile();
+        report(pushed.get(), total, errors);
+      }
+    });
+  }
+
+  private static void report(int pushed, int total, Map<Component, IOException> errors) {
+    if (errors.isEmpty()) {
+      Notifications.Bus.notify(new Notification(Constants.GROUP_DISPLAY_ID, TITLE, pushed + " of " + total + " component(s) pushed", NotificationType.INFORMATION));
+    } else {
+      StringBuilder builder = new StringBuilder();
+      builder.append(pushed).append(" of ").append(total).append(" component(s) pushed");
+      errors.forEach((component, error) -> builder.append("<br/>").append(component.getName()).append(": ").append(error.getLocalizedMessage()));
+      Notifications.Bus.notify(new Notification(Constants.GROUP_DISPLAY_ID, TITLE, builder.toString(), NotificationType.ERROR));
+    }
+  }
+}
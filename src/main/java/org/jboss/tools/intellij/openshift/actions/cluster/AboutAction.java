@@ -14,12 +14,12 @@ import com.intellij.openapi.actionSystem.AnActionEvent;
 import com.intellij.openapi.ui.Messages;
 import org.jboss.tools.intellij.openshift.actions.OdoAction;
 import org.jboss.tools.intellij.openshift.tree.application.ApplicationsRootNode;
+import org.jboss.tools.intellij.openshift.utils.TaskScheduler;
 import org.jboss.tools.intellij.openshift.utils.UIHelper;
 import org.jboss.tools.intellij.openshift.utils.odo.Odo;
 
 import javax.swing.tree.TreePath;
 import java.io.IOException;
-import java.util.concurrent.CompletableFuture;
 
 public class AboutAction extends OdoAction {
   public AboutAction() {
@@ -28,7 +28,7 @@ public class AboutAction extends OdoAction {
 
   @Override
   public void actionPerformed(AnActionEvent anActionEvent, TreePath path, Object selected, Odo odo) {
-    CompletableFuture.runAsync(() -> {
+    TaskScheduler.runAsync(TaskScheduler.Pool.CLI, () -> {
       try {
         odo.about();
       } catch (IOException e) {
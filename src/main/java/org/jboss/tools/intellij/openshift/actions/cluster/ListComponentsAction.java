@@ -12,17 +12,17 @@ package org.jboss.tools.intellij.openshift.actions.cluster;
 
 import com.intellij.openapi.actionSystem.AnActionEvent;
 import com.intellij.openapi.ui.Messages;
+import org.jboss.tools.intellij.openshift.utils.TaskScheduler;
 import org.jboss.tools.intellij.openshift.utils.odo.Odo;
 import org.jboss.tools.intellij.openshift.utils.UIHelper;
 
 import javax.swing.tree.TreePath;
 import java.io.IOException;
-import java.util.concurrent.CompletableFuture;
 
 public class ListComponentsAction extends LoggedInClusterAction {
   @Override
   public void actionPerformed(AnActionEvent anActionEvent, TreePath path, Object selected, Odo odo) {
-    CompletableFuture.runAsync(() -> {
+    TaskScheduler.runAsync(TaskScheduler.Pool.CLI, () -> {
       try {
         odo.listComponents();
       } catch (IOException e) {
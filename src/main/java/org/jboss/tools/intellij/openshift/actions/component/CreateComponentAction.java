@@ -21,6 +21,7 @@ import org.jboss.tools.intellij.openshift.tree.application.ApplicationsRootNode;
 import org.jboss.tools.intellij.openshift.tree.application.ProjectNode;
 import org.jboss.tools.intellij.openshift.ui.component.CreateComponentDialog;
 import org.jboss.tools.intellij.openshift.ui.component.CreateComponentModel;
+import org.jboss.tools.intellij.openshift.utils.TaskScheduler;
 import org.jboss.tools.intellij.openshift.utils.odo.ComponentSourceType;
 import org.jboss.tools.intellij.openshift.utils.odo.ComponentType;
 import org.jboss.tools.intellij.openshift.utils.odo.Odo;
@@ -33,7 +34,6 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.CompletableFuture;
 
 public class CreateComponentAction extends OdoAction {
   public CreateComponentAction() {
@@ -57,7 +57,7 @@ public class CreateComponentAction extends OdoAction {
     }
     ApplicationTreeModel rootModel = ((ApplicationsRootNode)((LazyMutableTreeNode)selected).getRoot()).getModel();
     Project project = rootModel.getProject();
-    CompletableFuture.runAsync(() -> {
+    TaskScheduler.runAsync(TaskScheduler.Pool.CLI, () -> {
       try {
         CreateComponentModel model = getModel(project, application, odo.getComponentTypes());
         process((LazyMutableTreeNode) selected, odo, projectName, application, rootModel, model);
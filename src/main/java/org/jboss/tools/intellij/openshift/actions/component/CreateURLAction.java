@@ -17,16 +17,17 @@ import org.jboss.tools.intellij.openshift.actions.OdoAction;
 import org.jboss.tools.intellij.openshift.tree.LazyMutableTreeNode;
 import org.jboss.tools.intellij.openshift.tree.application.*;
 import org.jboss.tools.intellij.openshift.ui.url.CreateURLDialog;
+import org.jboss.tools.intellij.openshift.utils.TaskScheduler;
 import org.jboss.tools.intellij.openshift.utils.odo.Component;
 import org.jboss.tools.intellij.openshift.utils.odo.ComponentState;
 import org.jboss.tools.intellij.openshift.utils.odo.Odo;
+import org.jboss.tools.intellij.openshift.utils.odo.OperationQueue;
 import org.jboss.tools.intellij.openshift.utils.UIHelper;
 
 import javax.swing.tree.TreeNode;
 import javax.swing.tree.TreePath;
 import java.io.IOException;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
 
 public class CreateURLAction extends OdoAction {
   public CreateURLAction() {
@@ -48,12 +49,10 @@ public class CreateURLAction extends OdoAction {
     Component component = (Component) componentNode.getUserObject();
     LazyMutableTreeNode applicationNode = (LazyMutableTreeNode) ((TreeNode) selected).getParent();
     LazyMutableTreeNode projectNode = (LazyMutableTreeNode) applicationNode.getParent();
-    CompletableFuture.runAsync(() -> {
+    TaskScheduler.runAsync(TaskScheduler.Pool.CLI, () -> {
       try {
         final OpenShiftClient client = ((ApplicationsRootNode)componentNode.getRoot()).getClient();
-        if (createURL(odo, client, projectNode.toString(), applicationNode.toString(), component.getPath(), component.getName())) {
-          componentNode.reload();
-        }
+        createURL(odo, client, projectNode.toString(), applicationNode.toString(), component.getPath(), component.getName(), componentNode::reload);
       } catch (IOException e) {
         UIHelper.executeInUI(() -> Messages.showErrorDialog("Error: " + e.getLocalizedMessage(), "Create URL"));
       }
@@ -64,7 +63,12 @@ public class CreateURLAction extends OdoAction {
     return odo.getServicePorts(client, project, application, component);
   }
 
-  public static boolean createURL(Odo odo, OpenShiftClient client, String project, String application, String context, String name) throws IOException {
+  /**
+   * Ask for the URL to create then queue its creation on the component context.
+   *
+   * @return true if the creation was queued, false if it was cancelled
+   */
+  public static boolean createURL(Odo odo, OpenShiftClient client, String project, String application, String context, String name, Runnable onCreated) throws IOException {
     boolean done = false;
     List<Integer> ports = loadServicePorts(odo, client, project, application, name);
     if (!ports.isEmpty()) {
@@ -78,7 +82,14 @@ public class CreateURLAction extends OdoAction {
         Integer port = dialog.getSelectedPort();
         String urlName = dialog.getName();
         if (port != null) {
-          odo.createURL(project, application, context, name, urlName, port);
+          OperationQueue.get().submit(context, () -> {
+            try {
+              odo.createURL(project, application, context, name, urlName, port);
+              onCreated.run();
+            } catch (IOException e) {
+              UIHelper.executeInUI(() -> Messages.showErrorDialog("Error: " + e.getLocalizedMessage(), "Create URL"));
+            }
+          });
           done = true;
         }
       }
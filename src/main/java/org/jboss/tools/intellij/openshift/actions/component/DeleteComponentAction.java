@@ -19,12 +19,13 @@ import org.jboss.tools.intellij.openshift.tree.application.ComponentNode;
 import org.jboss.tools.intellij.openshift.utils.UIHelper;
 import org.jboss.tools.intellij.openshift.utils.odo.Component;
 import org.jboss.tools.intellij.openshift.utils.odo.ComponentState;
+import org.jboss.tools.intellij.openshift.utils.odo.ComponentWatchService;
 import org.jboss.tools.intellij.openshift.utils.odo.Odo;
+import org.jboss.tools.intellij.openshift.utils.odo.OperationQueue;
 
 import javax.swing.tree.TreeNode;
 import javax.swing.tree.TreePath;
 import java.io.IOException;
-import java.util.concurrent.CompletableFuture;
 
 public class DeleteComponentAction extends OdoAction {
   public DeleteComponentAction() {
@@ -42,8 +43,9 @@ public class DeleteComponentAction extends OdoAction {
       return;
     }
 
-    CompletableFuture.runAsync(() -> {
+    OperationQueue.get().submit(component.getPath(), () -> {
       try {
+        ComponentWatchService.getInstance().unwatch(component.getPath());
         odo.deleteComponent(projectNode.toString(), applicationNode.toString(), component.getPath(), component.getName(), component.getState() != ComponentState.NOT_PUSHED);
         applicationNode.remove(componentNode);
       } catch (IOException e) {
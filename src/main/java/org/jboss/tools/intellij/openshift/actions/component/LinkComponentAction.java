@@ -22,16 +22,17 @@ import org.jboss.tools.intellij.openshift.tree.LazyMutableTreeNode;
 import org.jboss.tools.intellij.openshift.tree.application.ApplicationNode;
 import org.jboss.tools.intellij.openshift.tree.application.ApplicationsRootNode;
 import org.jboss.tools.intellij.openshift.tree.application.ComponentNode;
+import org.jboss.tools.intellij.openshift.utils.TaskScheduler;
 import org.jboss.tools.intellij.openshift.utils.UIHelper;
 import org.jboss.tools.intellij.openshift.utils.odo.Component;
 import org.jboss.tools.intellij.openshift.utils.odo.ComponentState;
 import org.jboss.tools.intellij.openshift.utils.odo.Odo;
+import org.jboss.tools.intellij.openshift.utils.odo.OperationQueue;
 
 import javax.swing.tree.TreeNode;
 import javax.swing.tree.TreePath;
 import java.io.IOException;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 public class LinkComponentAction extends OdoAction {
@@ -90,12 +91,13 @@ public class LinkComponentAction extends OdoAction {
     ApplicationNode applicationNode = (ApplicationNode) ((TreeNode) selected).getParent();
     LazyMutableTreeNode projectNode = (LazyMutableTreeNode) applicationNode.getParent();
     OpenShiftClient client = ((ApplicationsRootNode)componentNode.getRoot()).getClient();
-    CompletableFuture.runAsync(() -> {
-      try {
-        String targetComponent = getSelectedTargetComponent(odo, client, projectNode.toString(), applicationNode.toString(), sourceComponent.getName());
-          if (targetComponent != null) {
-            Integer port = getSelectedPort(odo, client, projectNode.toString(), applicationNode.toString(), targetComponent);
-            if (port != null) {
+    TaskScheduler.runAsync(TaskScheduler.Pool.CLI, () -> {
+      String targetComponent = getSelectedTargetComponent(odo, client, projectNode.toString(), applicationNode.toString(), sourceComponent.getName());
+      if (targetComponent != null) {
+        Integer port = getSelectedPort(odo, client, projectNode.toString(), applicationNode.toString(), targetComponent);
+        if (port != null) {
+          OperationQueue.get().submit(sourceComponent.getPath(), () -> {
+            try {
               Notification notification = new Notification(Constants.GROUP_DISPLAY_ID, "Link component", "Linking component to " + targetComponent,
                       NotificationType.INFORMATION);
               Notifications.Bus.notify(notification);
@@ -103,14 +105,15 @@ public class LinkComponentAction extends OdoAction {
               notification.expire();
               Notifications.Bus.notify(new Notification(Constants.GROUP_DISPLAY_ID, "Link component", "Component linked to " + targetComponent,
                       NotificationType.INFORMATION));
-            } else {
-              UIHelper.executeInUI(() -> Messages.showWarningDialog("No ports to link to", "Link component"));
+            } catch (IOException e) {
+              UIHelper.executeInUI(() -> Messages.showErrorDialog("Error: " + e.getLocalizedMessage(), "Link component"));
             }
-          } else {
-            UIHelper.executeInUI(() -> Messages.showWarningDialog("No components to link to", "Link component"));
-          }
-      } catch (IOException e) {
-        UIHelper.executeInUI(() -> Messages.showErrorDialog("Error: " + e.getLocalizedMessage(), "Link component"));
+          });
+        } else {
+          UIHelper.executeInUI(() -> Messages.showWarningDialog("No ports to link to", "Link component"));
+        }
+      } else {
+        UIHelper.executeInUI(() -> Messages.showWarningDialog("No components to link to", "Link component"));
       }
     });
   }
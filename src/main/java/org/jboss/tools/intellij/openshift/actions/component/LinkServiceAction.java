@@ -23,16 +23,17 @@ import org.jboss.tools.intellij.openshift.tree.LazyMutableTreeNode;
 import org.jboss.tools.intellij.openshift.tree.application.ApplicationNode;
 import org.jboss.tools.intellij.openshift.tree.application.ApplicationsRootNode;
 import org.jboss.tools.intellij.openshift.tree.application.ComponentNode;
+import org.jboss.tools.intellij.openshift.utils.TaskScheduler;
 import org.jboss.tools.intellij.openshift.utils.UIHelper;
 import org.jboss.tools.intellij.openshift.utils.odo.Component;
 import org.jboss.tools.intellij.openshift.utils.odo.ComponentState;
 import org.jboss.tools.intellij.openshift.utils.odo.Odo;
+import org.jboss.tools.intellij.openshift.utils.odo.OperationQueue;
 
 import javax.swing.tree.TreeNode;
 import javax.swing.tree.TreePath;
 import java.io.IOException;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
 
 import static org.jboss.tools.intellij.openshift.Constants.GROUP_DISPLAY_ID;
 
@@ -57,30 +58,32 @@ public class LinkServiceAction extends OdoAction {
     ApplicationNode applicationNode = (ApplicationNode) ((TreeNode) selected).getParent();
     LazyMutableTreeNode projectNode = (LazyMutableTreeNode) applicationNode.getParent();
     OpenShiftClient client = ((ApplicationsRootNode)componentNode.getRoot()).getClient();
-    CompletableFuture.runAsync(() -> {
-      try {
-        List<ServiceInstance> services = odo.getServices(client, projectNode.toString(), applicationNode.toString());
-        if (!services.isEmpty()) {
-          String service;
-          if (services.size() == 1) {
-            service = KubernetesLabels.getComponentName(services.get(0));
-          } else {
-            String[] servicesArray = services.stream().map(KubernetesLabels::getComponentName).toArray(String[]::new);
-            service = (String) UIHelper.executeInUI(() -> Messages.showEditableChooseDialog("Link service", "Select service", Messages.getQuestionIcon(), servicesArray, servicesArray[0], null));
-          }
-          if (service != null) {
-            Notification notification = new Notification(GROUP_DISPLAY_ID, "Link service", "Linking component to service " + service, NotificationType.INFORMATION);
-            Notifications.Bus.notify(notification);
-            odo.link(projectNode.toString(), applicationNode.toString(), component.getName(), component.getPath(), service, null);
-            notification.expire();
-            Notifications.Bus.notify(new Notification(GROUP_DISPLAY_ID, "Link service", "Component linked to " + service,
-            NotificationType.INFORMATION));
-          }
-       } else {
-          UIHelper.executeInUI(() -> Messages.showWarningDialog("No services to link to", "Link service"));
+    TaskScheduler.runAsync(TaskScheduler.Pool.CLI, () -> {
+      List<ServiceInstance> services = odo.getServices(client, projectNode.toString(), applicationNode.toString());
+      if (!services.isEmpty()) {
+        String service;
+        if (services.size() == 1) {
+          service = KubernetesLabels.getComponentName(services.get(0));
+        } else {
+          String[] servicesArray = services.stream().map(KubernetesLabels::getComponentName).toArray(String[]::new);
+          service = (String) UIHelper.executeInUI(() -> Messages.showEditableChooseDialog("Link service", "Select service", Messages.getQuestionIcon(), servicesArray, servicesArray[0], null));
         }
-      } catch (IOException e) {
-        UIHelper.executeInUI(() -> Messages.showErrorDialog("Error: " + e.getLocalizedMessage(), "Link service"));
+        if (service != null) {
+          OperationQueue.get().submit(component.getPath(), () -> {
+            try {
+              Notification notification = new Notification(GROUP_DISPLAY_ID, "Link service", "Linking component to service " + service, NotificationType.INFORMATION);
+              Notifications.Bus.notify(notification);
+              odo.link(projectNode.toString(), applicationNode.toString(), component.getName(), component.getPath(), service, null);
+              notification.expire();
+              Notifications.Bus.notify(new Notification(GROUP_DISPLAY_ID, "Link service", "Component linked to " + service,
+              NotificationType.INFORMATION));
+            } catch (IOException e) {
+              UIHelper.executeInUI(() -> Messages.showErrorDialog("Error: " + e.getLocalizedMessage(), "Link service"));
+            }
+          });
+        }
+     } else {
+        UIHelper.executeInUI(() -> Messages.showWarningDialog("No services to link to", "Link service"));
       }
     });
   }
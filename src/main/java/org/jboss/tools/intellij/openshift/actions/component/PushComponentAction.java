@@ -15,20 +15,29 @@ import com.intellij.openapi.actionSystem.AnActionEvent;
 import com.intellij.openapi.ui.Messages;
 import io.fabric8.openshift.client.OpenShiftClient;
 import org.jboss.tools.intellij.openshift.Constants;
+import org.jboss.tools.intellij.openshift.actions.application.PushAllComponentsAction;
 import org.jboss.tools.intellij.openshift.tree.LazyMutableTreeNode;
 import org.jboss.tools.intellij.openshift.tree.application.ApplicationNode;
+import org.jboss.tools.intellij.openshift.tree.application.ApplicationTreeModel;
 import org.jboss.tools.intellij.openshift.tree.application.ApplicationsRootNode;
 import org.jboss.tools.intellij.openshift.tree.application.ComponentNode;
+import org.jboss.tools.intellij.openshift.utils.TaskScheduler;
 import org.jboss.tools.intellij.openshift.utils.odo.Component;
 import org.jboss.tools.intellij.openshift.utils.odo.ComponentInfo;
 import org.jboss.tools.intellij.openshift.utils.odo.ComponentState;
 import org.jboss.tools.intellij.openshift.utils.odo.Odo;
+import org.jboss.tools.intellij.openshift.utils.odo.OperationQueue;
+import org.jboss.tools.intellij.openshift.utils.odo.PushFingerprint;
 import org.jboss.tools.intellij.openshift.utils.UIHelper;
 
 import javax.swing.tree.TreeNode;
 import javax.swing.tree.TreePath;
 import java.io.IOException;
-import java.util.concurrent.CompletableFuture;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.intellij.openapi.ui.Messages.CANCEL_BUTTON;
 import static com.intellij.openapi.ui.Messages.getWarningIcon;
@@ -44,17 +53,29 @@ public class PushComponentAction extends ContextAwareComponentAction {
 
   @Override
   public void actionPerformed(AnActionEvent anActionEvent, TreePath path, Object selected, Odo odo) {
+    ApplicationNode applicationNode = (ApplicationNode) ((TreeNode) selected).getParent();
+    List<Component> components = getSelectedComponents(anActionEvent, applicationNode);
+    if (isBatchSupported() && components.size() > 1) {
+      PushAllComponentsAction.push(anActionEvent.getProject(), odo, applicationNode, () -> components);
+      return;
+    }
     ComponentNode componentNode = (ComponentNode) selected;
     Component component = (Component) ((ComponentNode) selected).getUserObject();
-    ApplicationNode applicationNode = (ApplicationNode) ((TreeNode) selected).getParent();
     LazyMutableTreeNode projectNode = (LazyMutableTreeNode) applicationNode.getParent();
-    OpenShiftClient client = ((ApplicationsRootNode) componentNode.getRoot()).getClient();
-    CompletableFuture.runAsync(() -> {
+    ApplicationsRootNode rootNode = (ApplicationsRootNode) componentNode.getRoot();
+    OpenShiftClient client = rootNode.getClient();
+    TaskScheduler.runAsync(TaskScheduler.Pool.CLI, () -> {
       try {
-        if (checkMigrated(odo, client, projectNode.toString(), applicationNode.toString(), component)) {
-          process(odo, projectNode.toString(), applicationNode.toString(), component);
-          component.setState(ComponentState.PUSHED);
-          componentNode.reload();
+        if (checkMigrated(odo, client, projectNode.toString(), applicationNode.toString(), component) && checkModified(component)) {
+          OperationQueue.get().submit(component.getPath(), getOperationKey(), () -> {
+            try {
+              process(rootNode.getModel(), odo, projectNode.toString(), applicationNode.toString(), component);
+              component.setState(ComponentState.PUSHED);
+              componentNode.reload();
+            } catch (IOException e) {
+              UIHelper.executeInUI(() -> Messages.showErrorDialog("Error: " + e.getLocalizedMessage(), getActionName()));
+            }
+          });
         }
       } catch (IOException e) {
         UIHelper.executeInUI(() -> Messages.showErrorDialog("Error: " + e.getLocalizedMessage(), getActionName()));
@@ -62,7 +83,47 @@ public class PushComponentAction extends ContextAwareComponentAction {
     });
   }
 
-  protected void process(Odo odo, String project, String application, Component component) throws IOException {
+  /**
+   * Return the selected components of the application that have a local context.
+   */
+  private List<Component> getSelectedComponents(AnActionEvent anActionEvent, ApplicationNode applicationNode) {
+    TreePath[] paths = getTree(anActionEvent).getSelectionPaths();
+    if (paths == null) {
+      return Collections.emptyList();
+    }
+    return Stream.of(paths).map(TreePath::getLastPathComponent)
+      .filter(node -> node instanceof ComponentNode && ((ComponentNode) node).getParent() == applicationNode)
+      .map(node -> (Component) ((ComponentNode) node).getUserObject())
+      .filter(Component::hasContext)
+      .collect(Collectors.toList());
+  }
+
+  /**
+   * Several selected components are pushed concurrently without terminals.
+   */
+  protected boolean isBatchSupported() {
+    return true;
+  }
+
+  /**
+   * Queued pushes of a component are coalesced, as a single push deploys the latest sources.
+   */
+  protected String getOperationKey() {
+    return OperationQueue.PUSH;
+  }
+
+  /**
+   * Ask for confirmation before pushing a component whose context did not change since its last push.
+   */
+  protected boolean checkModified(Component component) {
+    if (component.getState() == ComponentState.PUSHED && !PushFingerprint.isDirty(Paths.get(component.getPath()))) {
+      return UIHelper.executeInUI(() -> Messages.showYesNoDialog("No change since the last push of " + component.getName() + ", push anyway?",
+        getActionName(), Messages.getQuestionIcon())) == Messages.YES;
+    }
+    return true;
+  }
+
+  protected void process(ApplicationTreeModel model, Odo odo, String project, String application, Component component) throws IOException {
     odo.push(project, application, component.getPath(), component.getName());
   }
 
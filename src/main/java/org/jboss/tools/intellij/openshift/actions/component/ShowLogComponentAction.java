@@ -11,10 +11,15 @@
 package org.jboss.tools.intellij.openshift.actions.component;
 
 import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.project.Project;
 import com.intellij.openapi.ui.Messages;
+import io.fabric8.openshift.client.OpenShiftClient;
 import org.jboss.tools.intellij.openshift.tree.LazyMutableTreeNode;
 import org.jboss.tools.intellij.openshift.tree.application.ApplicationNode;
+import org.jboss.tools.intellij.openshift.tree.application.ApplicationsRootNode;
 import org.jboss.tools.intellij.openshift.tree.application.ComponentNode;
+import org.jboss.tools.intellij.openshift.ui.log.LogView;
+import org.jboss.tools.intellij.openshift.utils.TaskScheduler;
 import org.jboss.tools.intellij.openshift.utils.odo.Component;
 import org.jboss.tools.intellij.openshift.utils.odo.Odo;
 import org.jboss.tools.intellij.openshift.utils.UIHelper;
@@ -22,7 +27,7 @@ import org.jboss.tools.intellij.openshift.utils.UIHelper;
 import javax.swing.tree.TreeNode;
 import javax.swing.tree.TreePath;
 import java.io.IOException;
-import java.util.concurrent.CompletableFuture;
+import java.io.InputStream;
 
 public class ShowLogComponentAction extends PushedComponentAction {
   @Override
@@ -31,9 +36,12 @@ public class ShowLogComponentAction extends PushedComponentAction {
     Component component = (Component) componentNode.getUserObject();
     ApplicationNode applicationNode = (ApplicationNode) ((TreeNode) selected).getParent();
     LazyMutableTreeNode projectNode = (LazyMutableTreeNode) applicationNode.getParent();
-    CompletableFuture.runAsync(() -> {
+    Project project = anActionEvent.getProject();
+    OpenShiftClient client = ((ApplicationsRootNode) componentNode.getRoot()).getClient();
+    TaskScheduler.runAsync(TaskScheduler.Pool.CLI, () -> {
       try {
-        odo.log(projectNode.toString(), applicationNode.toString(), component.getPath(), component.getName());
+        InputStream stream = odo.log(client, projectNode.toString(), applicationNode.toString(), component.getPath(), component.getName());
+        UIHelper.executeInUI(() -> LogView.open(project, component.getName(), stream));
       } catch (IOException e) {
         UIHelper.executeInUI(() -> Messages.showErrorDialog("Error: " + e.getLocalizedMessage(), "Follow Log"));
       }
@@ -17,13 +17,14 @@ import org.jboss.tools.intellij.openshift.tree.LazyMutableTreeNode;
 import org.jboss.tools.intellij.openshift.tree.application.*;
 import org.jboss.tools.intellij.openshift.utils.odo.Component;
 import org.jboss.tools.intellij.openshift.utils.odo.ComponentState;
+import org.jboss.tools.intellij.openshift.utils.odo.ComponentWatchService;
 import org.jboss.tools.intellij.openshift.utils.odo.Odo;
+import org.jboss.tools.intellij.openshift.utils.odo.OperationQueue;
 import org.jboss.tools.intellij.openshift.utils.UIHelper;
 
 import javax.swing.tree.TreeNode;
 import javax.swing.tree.TreePath;
 import java.io.IOException;
-import java.util.concurrent.CompletableFuture;
 
 public class UndeployComponentAction extends OdoAction {
   public UndeployComponentAction() {
@@ -45,8 +46,9 @@ public class UndeployComponentAction extends OdoAction {
     Component component = (Component) componentNode.getUserObject();
     ApplicationNode applicationNode = (ApplicationNode) ((TreeNode) selected).getParent();
     LazyMutableTreeNode projectNode = (LazyMutableTreeNode) applicationNode.getParent();
-    CompletableFuture.runAsync(() -> {
+    OperationQueue.get().submit(component.getPath(), () -> {
       try {
+        ComponentWatchService.getInstance().unwatch(component.getPath());
         odo.undeployComponent(projectNode.toString(), applicationNode.toString(), component.getPath(), component.getName());
         component.setState(ComponentState.NOT_PUSHED);
         componentNode.reload();
@@ -0,0 +1,37 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.actions.component;
+
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import org.jboss.tools.intellij.openshift.tree.application.ComponentNode;
+import org.jboss.tools.intellij.openshift.utils.odo.Component;
+import org.jboss.tools.intellij.openshift.utils.odo.ComponentWatchService;
+import org.jboss.tools.intellij.openshift.utils.odo.Odo;
+
+import javax.swing.tree.TreePath;
+
+public class UnwatchComponentAction extends ContextAwareComponentAction {
+  @Override
+  public boolean isVisible(Object selected) {
+    boolean visible = super.isVisible(selected);
+    if (visible) {
+      visible = ComponentWatchService.getInstance().isWatched(((Component)((ComponentNode)selected).getUserObject()).getPath());
+    }
+    return visible;
+  }
+
+  @Override
+  public void actionPerformed(AnActionEvent anActionEvent, TreePath path, Object selected, Odo odo) {
+    ComponentNode componentNode = (ComponentNode) selected;
+    ComponentWatchService.getInstance().unwatch(((Component) componentNode.getUserObject()).getPath());
+    componentNode.reload();
+  }
+}
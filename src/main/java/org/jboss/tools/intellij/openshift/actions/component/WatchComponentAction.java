@@ -10,19 +10,25 @@
  ******************************************************************************/
 package org.jboss.tools.intellij.openshift.actions.component;
 
+import org.jboss.tools.intellij.openshift.tree.application.ApplicationTreeModel;
 import org.jboss.tools.intellij.openshift.tree.application.ComponentNode;
 import org.jboss.tools.intellij.openshift.utils.odo.Component;
 import org.jboss.tools.intellij.openshift.utils.odo.ComponentState;
+import org.jboss.tools.intellij.openshift.utils.odo.ComponentWatchService;
 import org.jboss.tools.intellij.openshift.utils.odo.Odo;
+import org.jboss.tools.intellij.openshift.utils.odo.OperationQueue;
+import org.jboss.tools.intellij.openshift.utils.odo.PushFingerprint;
 
 import java.io.IOException;
+import java.nio.file.Paths;
 
 public class WatchComponentAction extends PushComponentAction {
   @Override
   public boolean isVisible(Object selected) {
     boolean visible = super.isVisible(selected);
     if (visible) {
-      visible = ((Component)((ComponentNode)selected).getUserObject()).getState() == ComponentState.PUSHED;
+      Component component = (Component)((ComponentNode)selected).getUserObject();
+      visible = component.getState() == ComponentState.PUSHED && !ComponentWatchService.getInstance().isWatched(component.getPath());
     }
     return visible;
   }
@@ -33,7 +39,25 @@ public class WatchComponentAction extends PushComponentAction {
   }
 
   @Override
-  protected void process(Odo odo, String project, String application, Component component) throws IOException {
-    odo.watch(project, application, component.getPath(), component.getName());
+  protected boolean isBatchSupported() {
+    return false;
+  }
+
+  @Override
+  protected boolean checkModified(Component component) {
+    return true;
+  }
+
+  @Override
+  protected String getOperationKey() {
+    return OperationQueue.WATCH;
+  }
+
+  @Override
+  protected void process(ApplicationTreeModel model, Odo odo, String project, String application, Component component) throws IOException {
+    if (PushFingerprint.isDirty(Paths.get(component.getPath()))) {
+      odo.pushInBackground(project, application, component.getPath(), component.getName());
+    }
+    ComponentWatchService.getInstance().watch(model.getProject(), odo, project, application, component.getPath(), component.getName());
   }
 }
@@ -20,12 +20,12 @@ import io.fabric8.openshift.api.model.ProjectBuilder;
 import org.jboss.tools.intellij.openshift.actions.cluster.LoggedInClusterAction;
 import org.jboss.tools.intellij.openshift.tree.LazyMutableTreeNode;
 import org.jboss.tools.intellij.openshift.tree.application.ProjectNode;
+import org.jboss.tools.intellij.openshift.utils.TaskScheduler;
 import org.jboss.tools.intellij.openshift.utils.odo.Odo;
 import org.jboss.tools.intellij.openshift.utils.UIHelper;
 
 import javax.swing.tree.TreePath;
 import java.io.IOException;
-import java.util.concurrent.CompletableFuture;
 
 import static org.jboss.tools.intellij.openshift.Constants.GROUP_DISPLAY_ID;
 
@@ -35,7 +35,7 @@ public class CreateProjectAction extends LoggedInClusterAction {
     LazyMutableTreeNode clusterNode = (LazyMutableTreeNode) selected;
     String projectName = Messages.showInputDialog("Project name", "New project", Messages.getQuestionIcon());
     if ((projectName != null) && projectName.trim().length() > 0) {
-      CompletableFuture.runAsync(() -> {
+      TaskScheduler.runAsync(TaskScheduler.Pool.CLI, () -> {
         try {
           Notification notif = new Notification(GROUP_DISPLAY_ID, "Create project", "Creating project " + projectName, NotificationType.INFORMATION);
           Notifications.Bus.notify(notif);
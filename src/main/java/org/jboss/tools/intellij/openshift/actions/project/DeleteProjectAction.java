@@ -18,12 +18,12 @@ import com.intellij.openapi.ui.Messages;
 import org.jboss.tools.intellij.openshift.actions.OdoAction;
 import org.jboss.tools.intellij.openshift.tree.LazyMutableTreeNode;
 import org.jboss.tools.intellij.openshift.tree.application.ProjectNode;
+import org.jboss.tools.intellij.openshift.utils.TaskScheduler;
 import org.jboss.tools.intellij.openshift.utils.odo.Odo;
 import org.jboss.tools.intellij.openshift.utils.UIHelper;
 
 import javax.swing.tree.TreePath;
 import java.io.IOException;
-import java.util.concurrent.CompletableFuture;
 
 import static org.jboss.tools.intellij.openshift.Constants.GROUP_DISPLAY_ID;
 
@@ -39,7 +39,7 @@ public class DeleteProjectAction extends OdoAction {
         Messages.getQuestionIcon())) {
         return;
     }
-    CompletableFuture.runAsync(() -> {
+    TaskScheduler.runAsync(TaskScheduler.Pool.CLI, () -> {
         try {
           Notification notif = new Notification(GROUP_DISPLAY_ID, "Delete project", "Deleting project " + selected.toString(), NotificationType.INFORMATION);
           Notifications.Bus.notify(notif);
@@ -16,6 +16,7 @@ import org.jboss.tools.intellij.openshift.actions.OdoAction;
 import org.jboss.tools.intellij.openshift.tree.LazyMutableTreeNode;
 import org.jboss.tools.intellij.openshift.tree.application.ApplicationNode;
 import org.jboss.tools.intellij.openshift.ui.service.CreateServiceDialog;
+import org.jboss.tools.intellij.openshift.utils.TaskScheduler;
 import org.jboss.tools.intellij.openshift.utils.odo.Odo;
 import org.jboss.tools.intellij.openshift.utils.UIHelper;
 import org.jboss.tools.intellij.openshift.utils.odo.ServiceTemplate;
@@ -23,7 +24,6 @@ import org.jboss.tools.intellij.openshift.utils.odo.ServiceTemplate;
 import javax.swing.tree.TreePath;
 import java.io.IOException;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
 
 public class CreateServiceAction extends OdoAction {
   public CreateServiceAction() {
@@ -34,7 +34,7 @@ public class CreateServiceAction extends OdoAction {
   public void actionPerformed(AnActionEvent anActionEvent, TreePath path, Object selected, Odo odo) {
     LazyMutableTreeNode applicationNode = (LazyMutableTreeNode) selected;
     LazyMutableTreeNode projectNode = (LazyMutableTreeNode) applicationNode.getParent();
-    CompletableFuture.runAsync(() -> {
+    TaskScheduler.runAsync(TaskScheduler.Pool.CLI, () -> {
       try {
         List<ServiceTemplate> templates = odo.getServiceTemplates();
         if (!templates.isEmpty()) {
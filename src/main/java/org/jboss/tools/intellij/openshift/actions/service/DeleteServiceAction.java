@@ -16,13 +16,13 @@ import org.jboss.tools.intellij.openshift.actions.OdoAction;
 import org.jboss.tools.intellij.openshift.tree.LazyMutableTreeNode;
 import org.jboss.tools.intellij.openshift.tree.application.ApplicationNode;
 import org.jboss.tools.intellij.openshift.tree.application.ServiceNode;
+import org.jboss.tools.intellij.openshift.utils.TaskScheduler;
 import org.jboss.tools.intellij.openshift.utils.odo.Odo;
 import org.jboss.tools.intellij.openshift.utils.UIHelper;
 
 import javax.swing.tree.TreeNode;
 import javax.swing.tree.TreePath;
 import java.io.IOException;
-import java.util.concurrent.CompletableFuture;
 
 public class DeleteServiceAction extends OdoAction {
   public DeleteServiceAction() {
@@ -38,7 +38,7 @@ public class DeleteServiceAction extends OdoAction {
       Messages.getQuestionIcon())) {
       return;
     }
-    CompletableFuture.runAsync(() -> {
+    TaskScheduler.runAsync(TaskScheduler.Pool.CLI, () -> {
       try {
         odo.deleteService(projectNode.toString(), applicationNode.toString(), serviceNode.toString());
         applicationNode.remove(serviceNode);
@@ -21,12 +21,12 @@ import org.jboss.tools.intellij.openshift.ui.storage.CreateStorageDialog;
 import org.jboss.tools.intellij.openshift.utils.UIHelper;
 import org.jboss.tools.intellij.openshift.utils.odo.Component;
 import org.jboss.tools.intellij.openshift.utils.odo.Odo;
+import org.jboss.tools.intellij.openshift.utils.odo.OperationQueue;
 
 import javax.swing.tree.TreeNode;
 import javax.swing.tree.TreePath;
 import java.io.IOException;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
 
 public class CreateStorageAction extends ContextAwareComponentAction {
   @Override
@@ -35,17 +35,17 @@ public class CreateStorageAction extends ContextAwareComponentAction {
     Component component = (Component) componentNode.getUserObject();
     LazyMutableTreeNode applicationNode = (LazyMutableTreeNode) ((TreeNode) selected).getParent();
     LazyMutableTreeNode projectNode = (LazyMutableTreeNode) applicationNode.getParent();
-    CompletableFuture.runAsync(() -> {
-      try {
-        CreateStorageDialog dialog = UIHelper.executeInUI(this::showDialog);
-        if (dialog.isOK()) {
+    CreateStorageDialog dialog = showDialog();
+    if (dialog.isOK()) {
+      OperationQueue.get().submit(component.getPath(), () -> {
+        try {
           odo.createStorage(projectNode.toString(), applicationNode.toString(), component.getPath(), component.getName(), dialog.getName(), dialog.getMountPath(), dialog.getStorageSize());
           componentNode.reload();
+        } catch (IOException e) {
+          UIHelper.executeInUI(() -> Messages.showErrorDialog("Error: " + e.getLocalizedMessage(), "Create storage"));
         }
-      } catch (IOException e) {
-        UIHelper.executeInUI(() -> Messages.showErrorDialog("Error: " + e.getLocalizedMessage(), "Create storage"));
-      }
-    });
+      });
+    }
   }
 
   private CreateStorageDialog showDialog() {
@@ -19,10 +19,10 @@ import org.jboss.tools.intellij.openshift.tree.application.PersistentVolumeClaim
 import org.jboss.tools.intellij.openshift.utils.UIHelper;
 import org.jboss.tools.intellij.openshift.utils.odo.Component;
 import org.jboss.tools.intellij.openshift.utils.odo.Odo;
+import org.jboss.tools.intellij.openshift.utils.odo.OperationQueue;
 
 import javax.swing.tree.TreePath;
 import java.io.IOException;
-import java.util.concurrent.CompletableFuture;
 
 public class DeleteStorageAction extends OdoAction {
   public DeleteStorageAction() {
@@ -40,7 +40,7 @@ public class DeleteStorageAction extends OdoAction {
         Messages.getQuestionIcon())) {
         return;
     }
-    CompletableFuture.runAsync(() -> {
+    OperationQueue.get().submit(component.getPath(), () -> {
       try {
           odo.deleteStorage(projectNode.toString(), applicationNode.toString(), component.getPath(), component.getName(), storageNode.toString());
           componentNode.reload();
@@ -19,11 +19,11 @@ import org.jboss.tools.intellij.openshift.tree.application.URLNode;
 import org.jboss.tools.intellij.openshift.utils.UIHelper;
 import org.jboss.tools.intellij.openshift.utils.odo.Component;
 import org.jboss.tools.intellij.openshift.utils.odo.Odo;
+import org.jboss.tools.intellij.openshift.utils.odo.OperationQueue;
 import org.jboss.tools.intellij.openshift.utils.odo.URL;
 
 import javax.swing.tree.TreePath;
 import java.io.IOException;
-import java.util.concurrent.CompletableFuture;
 
 public class DeleteURLAction extends OdoAction {
   public DeleteURLAction() {
@@ -37,7 +37,7 @@ public class DeleteURLAction extends OdoAction {
     Component component = (Component) componentNode.getUserObject();
     LazyMutableTreeNode applicationNode = (LazyMutableTreeNode) componentNode.getParent();
     LazyMutableTreeNode projectNode = (LazyMutableTreeNode) applicationNode.getParent();
-    CompletableFuture.runAsync(() -> {
+    OperationQueue.get().submit(component.getPath(), () -> {
       try {
           odo.deleteURL(projectNode.toString(), applicationNode.toString(), component.getPath(), component.getName(), ((URL)urlNode.getUserObject()).getName());
           componentNode.reload();
@@ -10,16 +10,16 @@
  ******************************************************************************/
 package org.jboss.tools.intellij.openshift.tree;
 
+import com.intellij.openapi.project.Project;
 import com.intellij.ui.tree.BaseTreeModel;
 import io.fabric8.kubernetes.api.model.Config;
 import io.fabric8.kubernetes.api.model.NamedContext;
 import org.jboss.tools.intellij.openshift.utils.ConfigHelper;
 import org.jboss.tools.intellij.openshift.utils.ConfigWatcher;
-import org.jboss.tools.intellij.openshift.utils.ExecHelper;
+import org.jboss.tools.intellij.openshift.utils.KubeConfigWatchService;
 
 import javax.swing.tree.TreePath;
 import java.io.IOException;
-import java.nio.file.Paths;
 import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -28,10 +28,10 @@ public class ClustersTreeModel extends BaseTreeModel<NamedContext> implements Co
     private static final String ROOT = "Clusters";
     private Config config;
 
-    public ClustersTreeModel() {
+    public ClustersTreeModel(Project project) {
          try {
              config = ConfigHelper.loadKubeConfig();
-             ExecHelper.submit(new ConfigWatcher(Paths.get(ConfigHelper.getKubeConfigPath()), this));
+             KubeConfigWatchService.getInstance().addListener(this, project);
          } catch (IOException e) {
              e.printStackTrace();
          }
@@ -10,20 +10,34 @@
  ******************************************************************************/
 package org.jboss.tools.intellij.openshift.tree;
 
+import org.jboss.tools.intellij.openshift.utils.TaskScheduler;
+
 import javax.swing.tree.DefaultMutableTreeNode;
 import javax.swing.tree.MutableTreeNode;
+import javax.swing.tree.TreeNode;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
 
 public class LazyMutableTreeNode extends DefaultMutableTreeNode  {
     public static interface ChangeListener {
         void onChildAdded(LazyMutableTreeNode source, Object child, int index);
         void onChildRemoved(LazyMutableTreeNode source, Object child, int index);
         void onChildrensRemoved(LazyMutableTreeNode source);
+        void onChildChanged(LazyMutableTreeNode source, Object child, int index);
     }
 
+    public static final String LOADING_LABEL = "Loading...";
+
     protected boolean loaded = false;
     private final transient List<ChangeListener> listeners = new ArrayList<>();
+    private transient volatile List<MutableTreeNode> staging;
+    private transient volatile Thread stagingThread;
+    private transient Future<?> loading;
+    private transient MutableTreeNode placeholder;
+    private transient int generation = 0;
 
     public LazyMutableTreeNode() {
     }
@@ -41,14 +55,175 @@ public class LazyMutableTreeNode extends DefaultMutableTreeNode  {
     }
 
     public void load() {
-        loaded = true;
+        //a background load must not flag the node if it was reloaded in the meantime
+        if (!isStaging()) {
+            loaded = true;
+        }
     }
 
     public void reload() {
+        cancelLoading();
         loaded = false;
         removeAllChildren();
     }
 
+    /**
+     * Load the children in background. A placeholder child is displayed immediately and replaced
+     * by the loaded children once {@link #load()} completes. A load superseded by another one or
+     * by {@link #reload()} is cancelled and its result is discarded.
+     */
+    public synchronized void loadAsync() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        placeholder = new DefaultMutableTreeNode(LOADING_LABEL, false);
+        super.insert(placeholder, 0);
+        startLoading();
+    }
+
+    public synchronized boolean isLoading() {
+        return loading != null;
+    }
+
+    private synchronized void startLoading() {
+        int current = ++generation;
+        MutableTreeNode target = placeholder;
+        CompletableFuture<List<MutableTreeNode>> children = TaskScheduler.supplyAsync(TaskScheduler.Pool.API, this::collectChildren);
+        //a cancelled load is never completed so its children are not spliced
+        children.thenAcceptAsync(nodes -> splice(current, target, nodes), TaskScheduler.getExecutor(TaskScheduler.Pool.UI));
+        loading = children;
+    }
+
+    private synchronized void splice(int current, MutableTreeNode target, List<MutableTreeNode> children) {
+        if (current != generation || target.getParent() != this) {
+            return;
+        }
+        loading = null;
+        placeholder = null;
+        remove(target);
+        children.forEach(this::add);
+    }
+
+    private synchronized void cancelLoading() {
+        if (loading != null) {
+            ++generation;
+            loading.cancel(true);
+            loading = null;
+            placeholder = null;
+        }
+    }
+
+    /**
+     * Key used to match a child against its reloaded counterpart during {@link #reconcile()}.
+     */
+    protected Object getKey() {
+        return toString();
+    }
+
+    private static boolean isSameNode(TreeNode node1, TreeNode node2) {
+        if (node1.getClass() != node2.getClass()) {
+            return false;
+        }
+        if (node1 instanceof LazyMutableTreeNode) {
+            return Objects.equals(((LazyMutableTreeNode) node1).getKey(), ((LazyMutableTreeNode) node2).getKey());
+        }
+        return Objects.equals(node1.toString(), node2.toString());
+    }
+
+    /**
+     * Run {@link #load()} but collect the children it adds instead of attaching them to this node.
+     */
+    protected List<MutableTreeNode> collectChildren() {
+        List<MutableTreeNode> children = new ArrayList<>();
+        synchronized (this) {
+            while (staging != null) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return children;
+                }
+            }
+            staging = children;
+            stagingThread = Thread.currentThread();
+        }
+        try {
+            load();
+            return children;
+        } finally {
+            synchronized (this) {
+                staging = null;
+                stagingThread = null;
+                notifyAll();
+            }
+        }
+    }
+
+    private boolean isStaging() {
+        return staging != null && stagingThread == Thread.currentThread();
+    }
+
+    /**
+     * Reload the children of this node and merge them into the current ones. Children that are still
+     * present are kept, so their expansion state and loaded subtree survive, and are reconciled
+     * recursively. Other children are removed and new ones are inserted, with fine grained events.
+     * The children are reloaded in background and only the merge is run on the event dispatch thread,
+     * so that the caller is never blocked.
+     *
+     * @return the completion of the reconciliation of this node and of its kept children
+     */
+    public CompletableFuture<Void> reconcile() {
+        if (!loaded) {
+            return CompletableFuture.completedFuture(null);
+        }
+        synchronized (this) {
+            if (loading != null) {
+                //supersede the pending load so that it does not display outdated children
+                loading.cancel(true);
+                startLoading();
+                return CompletableFuture.completedFuture(null);
+            }
+        }
+        return TaskScheduler.supplyAsync(TaskScheduler.Pool.API, this::collectChildren)
+                .thenComposeAsync(fresh -> {
+                    List<LazyMutableTreeNode> kept = new ArrayList<>();
+                    merge(fresh, kept);
+                    return CompletableFuture.allOf(kept.stream().map(LazyMutableTreeNode::reconcile).toArray(CompletableFuture[]::new));
+                }, TaskScheduler.getExecutor(TaskScheduler.Pool.UI));
+    }
+
+    private void merge(List<MutableTreeNode> fresh, List<LazyMutableTreeNode> kept) {
+        for(int i = getChildCount() - 1; i >= 0; --i) {
+            TreeNode child = getChildAt(i);
+            if (fresh.stream().noneMatch(node -> isSameNode(child, node))) {
+                remove((MutableTreeNode) child);
+            }
+        }
+        for(int i = 0; i < fresh.size(); ++i) {
+            MutableTreeNode node = fresh.get(i);
+            DefaultMutableTreeNode existing = null;
+            for(int j = i; j < getChildCount() && existing == null; ++j) {
+                if (isSameNode(getChildAt(j), node)) {
+                    existing = (DefaultMutableTreeNode) getChildAt(j);
+                }
+            }
+            if (existing == null) {
+                insert(node, i);
+            } else {
+                if (getIndex(existing) != i) {
+                    remove(existing);
+                    insert(existing, i);
+                }
+                existing.setUserObject(((DefaultMutableTreeNode) node).getUserObject());
+                notifyChildChanged(existing, i);
+                if (existing instanceof LazyMutableTreeNode) {
+                    kept.add((LazyMutableTreeNode) existing);
+                }
+            }
+        }
+    }
+
     public void addChangeListener(ChangeListener listener) {
         listeners.add(listener);
     }
@@ -69,14 +244,33 @@ public class LazyMutableTreeNode extends DefaultMutableTreeNode  {
         }
     }
 
+    protected void notifyChildChanged(Object child, int index) {
+        for(ChangeListener listener : listeners) {
+            listener.onChildChanged(this, child, index);
+        }
+    }
+
     protected void notifyChildrensRemoved() {
         for(ChangeListener listener : listeners) {
             listener.onChildrensRemoved(this);
         }
     }
 
+    @Override
+    public void add(MutableTreeNode newChild) {
+        if (isStaging()) {
+            staging.add(newChild);
+        } else {
+            super.add(newChild);
+        }
+    }
+
     @Override
     public void insert(MutableTreeNode newChild, int childIndex) {
+        if (isStaging()) {
+            staging.add(Math.min(childIndex, staging.size()), newChild);
+            return;
+        }
         super.insert(newChild, childIndex);
         notifyChildAdded(newChild, childIndex);
     }
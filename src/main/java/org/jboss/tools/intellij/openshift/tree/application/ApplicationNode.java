@@ -32,7 +32,11 @@ public class ApplicationNode extends LazyMutableTreeNode implements IconTreeNode
       ApplicationsRootNode rootNode = (ApplicationsRootNode) getRoot();
       Odo odo = rootNode.getOdo();
       try {
-        odo.getComponents(((ApplicationsRootNode)getParent().getParent()).getClient(), getParent().toString(), toString()).forEach(dc -> add(new ComponentNode(dc)));
+        odo.getComponents(((ApplicationsRootNode)getParent().getParent()).getClient(), getParent().toString(), toString()).forEach(dc -> {
+          ComponentNode node = new ComponentNode(dc);
+          add(node);
+          node.checkModified(rootNode.getModel());
+        });
       } catch (KubernetesClientException e) {
         add(new DefaultMutableTreeNode("Failed to load application deployment configs"));
       }
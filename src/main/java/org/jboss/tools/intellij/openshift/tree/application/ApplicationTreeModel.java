@@ -12,11 +12,14 @@ package org.jboss.tools.intellij.openshift.tree.application;
 
 import com.intellij.ProjectTopics;
 import com.intellij.openapi.module.Module;
-import com.intellij.openapi.module.ModuleManager;
 import com.intellij.openapi.project.ModuleListener;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Disposer;
 import com.intellij.openapi.vfs.LocalFileSystem;
 import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.openapi.vfs.newvfs.BulkFileListener;
+import com.intellij.openapi.vfs.newvfs.events.VFileEvent;
 import com.intellij.ui.tree.BaseTreeModel;
 import com.intellij.util.messages.MessageBusConnection;
 import io.fabric8.kubernetes.api.model.Config;
@@ -27,112 +30,93 @@ import org.jboss.tools.intellij.openshift.tree.LazyMutableTreeNode;
 import org.jboss.tools.intellij.openshift.tree.RefreshableTreeModel;
 import org.jboss.tools.intellij.openshift.utils.ConfigHelper;
 import org.jboss.tools.intellij.openshift.utils.ConfigWatcher;
-import org.jboss.tools.intellij.openshift.utils.ExecHelper;
-import org.jboss.tools.intellij.openshift.utils.odo.LocalConfig;
+import org.jboss.tools.intellij.openshift.utils.KubeConfigWatchService;
+import org.jboss.tools.intellij.openshift.utils.TaskScheduler;
+import org.jboss.tools.intellij.openshift.utils.odo.Component;
+import org.jboss.tools.intellij.openshift.utils.odo.ComponentRegistry;
+import org.jboss.tools.intellij.openshift.utils.odo.ContextScanner;
+import org.jboss.tools.intellij.openshift.utils.odo.OperationQueue;
+import org.jboss.tools.intellij.openshift.utils.odo.PushFingerprint;
+import org.jboss.tools.intellij.openshift.utils.odo.ResourceCache;
 import org.jetbrains.annotations.NotNull;
 
 import javax.swing.tree.MutableTreeNode;
 import javax.swing.tree.TreePath;
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.Paths;
 import java.util.Collections;
 import java.util.Enumeration;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 
 import static org.jboss.tools.intellij.openshift.Constants.ODO_CONFIG_YAML;
 
 public class ApplicationTreeModel extends BaseTreeModel<Object>
-        implements ConfigWatcher.Listener, RefreshableTreeModel, LazyMutableTreeNode.ChangeListener, ModuleListener {
-    private ApplicationsRootNode ROOT;
+        implements ConfigWatcher.Listener, RefreshableTreeModel, LazyMutableTreeNode.ChangeListener, ModuleListener, OperationQueue.Listener {
+    private final ApplicationsRootNode ROOT;
     private final Project project;
     private Config config;
 
-    public static class ComponentDescriptor {
-        private final String path;
-        private final String project;
-        private final String application;
-        private final String name;
-
-        ComponentDescriptor(String project, String application, String path, String name) {
-            this.project = project;
-            this.application = application;
-            this.path = path;
-            this.name = name;
-        }
-
-        public String getProject() {
-            return project;
-        }
-
-        public String getApplication() {
-            return application;
-        }
-
-        public String getName() {
-            return name;
-        }
-
-        public LocalConfig.ComponentSettings getSettings() throws IOException {
-            return LocalConfig.load(new File(path, ODO_CONFIG_YAML).toURI().toURL()).getComponentSettings();
-        }
-    }
-
-    private final Map<String, ComponentDescriptor> components = new HashMap();
+    private final ComponentRegistry components = new ComponentRegistry(this::scheduleRefresh);
+    private final ContextScanner scanner;
+    private final AtomicBoolean refreshScheduled = new AtomicBoolean();
 
     public ApplicationTreeModel(Project project) {
+        this.project = project;
+        this.scanner = new ContextScanner(project, components, this::scheduleRefresh);
         initConfigWatcher();
         ROOT = new ApplicationsRootNode(this);
         ROOT.addChangeListener(this);
-        this.project = project;
+        initOperationQueue();
         loadProjectModel(project);
         registerProjectListener(project);
         this.config = loadConfig();
     }
 
     protected void initConfigWatcher() {
-        ExecHelper.submit(new ConfigWatcher(Paths.get(ConfigHelper.getKubeConfigPath()), this));
+        KubeConfigWatchService.getInstance().addListener(this, project);
+    }
+
+    protected void initOperationQueue() {
+        OperationQueue.get().addListener(this);
+        Disposer.register(project, () -> OperationQueue.get().removeListener(this));
     }
 
     protected Config loadConfig() {
-        return ConfigHelper.safeLoadKubeConfig();
+        return ConfigHelper.safeGetKubeConfigSnapshot();
     }
 
     public static VirtualFile getModuleRoot(Module module) {
         return LocalFileSystem.getInstance().findFileByPath(new File(module.getModuleFilePath()).getParent());
     }
 
+    /**
+     * Start the discovery of the component contexts in background, the tree is refreshed as they are
+     * found.
+     */
     protected void loadProjectModel(Project project) {
-        for(Module module : project.getComponent(ModuleManager.class).getModules()) {
-            addContext(getModuleRoot(module));
-        }
+        scanner.scan();
     }
 
     @Override
     public void moduleAdded(@NotNull Project project, @NotNull Module module) {
-        addContext(getModuleRoot(module));
+        scanner.scan();
     }
 
     @Override
     public void moduleRemoved(@NotNull Project project, @NotNull Module module) {
-        removeContext(getModuleRoot(module));
-    }
-
-    private void addContextToSettings(String path, LocalConfig.ComponentSettings componentSettings) {
-        if (!components.containsKey(path)) {
-            components.put(path, new ComponentDescriptor(componentSettings.getProject(), componentSettings.getApplication(), path, componentSettings.getName()));
-            refresh();
+        VirtualFile root = getModuleRoot(module);
+        if (root != null) {
+            removeContexts(root.getPath());
         }
     }
 
     private void addContext(VirtualFile modulePathFile) {
         try {
             VirtualFile file = modulePathFile.findFileByRelativePath(ODO_CONFIG_YAML);
-            if (file != null && file.isValid()) {
-                LocalConfig config = LocalConfig.load(new File(file.getPath()).toPath().toUri().toURL());
-                addContextToSettings(modulePathFile.getPath(), config.getComponentSettings());
+            if (file != null && file.isValid() && components.add(modulePathFile.getPath())) {
+                refresh();
             }
         } catch (IOException e) { }
     }
@@ -141,31 +125,39 @@ public class ApplicationTreeModel extends BaseTreeModel<Object>
         addContext(LocalFileSystem.getInstance().findFileByPath(modulePath));
     }
 
-    private void removeContextFromSettings(String modulePath) {
-        if (components.containsKey(modulePath)) {
-            components.remove(modulePath);
-            refresh();
+    /**
+     * Remove the contexts of a folder and of its sub folders.
+     */
+    private void removeContexts(String folder) {
+        String normalizedFolder = folder.replace('\\', '/');
+        boolean removed = false;
+        for (String path : components.getComponents().keySet()) {
+            String normalized = path.replace('\\', '/');
+            if (normalized.equals(normalizedFolder) || normalized.startsWith(normalizedFolder + '/')) {
+                removed |= components.remove(path);
+            }
         }
-    }
-    private void removeContext(File file) {
-        if (file.exists()) {
-            removeContextFromSettings(file.getPath());
+        if (removed) {
+            refresh();
         }
     }
 
-    private void removeContext(VirtualFile modulePathFile) {
-            VirtualFile file = modulePathFile.findFileByRelativePath(ODO_CONFIG_YAML);
-            if (file != null && file.isValid()) {
-                removeContextFromSettings(modulePathFile.getPath());
-            }
-    }
-
     protected void registerProjectListener(Project project) {
         MessageBusConnection connection = project.getMessageBus().connect(project);
         connection.subscribe(ProjectTopics.MODULES, this);
+        connection.subscribe(VirtualFileManager.VFS_CHANGES, components);
+        connection.subscribe(VirtualFileManager.VFS_CHANGES, scanner);
+        connection.subscribe(VirtualFileManager.VFS_CHANGES, new BulkFileListener() {
+            @Override
+            public void after(@NotNull List<? extends VFileEvent> events) {
+                List<String> paths = events.stream().map(VFileEvent::getPath).collect(Collectors.toList());
+                TaskScheduler.runAsync(TaskScheduler.Pool.FILES, () -> checkModified(paths));
+            }
+        });
+        Disposer.register(project, () -> ResourceCache.release(ROOT.getClient()));
     }
 
-    public Map<String, ComponentDescriptor> getComponents() {
+    public ComponentRegistry getComponentRegistry() {
         return components;
     }
 
@@ -178,7 +170,7 @@ public class ApplicationTreeModel extends BaseTreeModel<Object>
         if (o instanceof LazyMutableTreeNode) {
             LazyMutableTreeNode node = (LazyMutableTreeNode) o;
             if (!node.isLoaded()) {
-                node.load();
+                node.loadAsync();
             }
             return Collections.list((Enumeration) ((MutableTreeNode)o).children());
 
@@ -230,17 +222,29 @@ public class ApplicationTreeModel extends BaseTreeModel<Object>
         return !StringUtils.equals(newToken, currentToken);
   }
 
-  @Override
-    public synchronized  void refresh() {
-        TreePath path = new TreePath(ROOT);
-        try {
-            ROOT = new ApplicationsRootNode(this);
-            ROOT.addChangeListener(this);
-            this.treeStructureChanged(path, new int[0], new Object[0]);
-        } catch (Exception e) {
+    /**
+     * Refresh the tree once for all the changes of the registry received until the refresh starts,
+     * the refresh is started from the API pool so that the event dispatch thread is left alone.
+     */
+    private void scheduleRefresh() {
+        if (refreshScheduled.compareAndSet(false, true)) {
+            TaskScheduler.runAsync(TaskScheduler.Pool.API, () -> {
+                refreshScheduled.set(false);
+                refresh();
+            });
         }
     }
 
+    /**
+     * Reconcile the tree in background, the nodes are updated on the event dispatch thread so the
+     * caller is neither blocked nor required to hold a lock.
+     */
+    @Override
+    public void refresh() {
+        ROOT.reconcile().whenCompleteAsync((result, error) -> this.treeNodesChanged(new TreePath(ROOT), null, null),
+                TaskScheduler.getExecutor(TaskScheduler.Pool.UI));
+    }
+
     @Override
     public void onChildAdded(LazyMutableTreeNode source, Object child, int index) {
         if (child instanceof LazyMutableTreeNode) {
@@ -257,8 +261,50 @@ public class ApplicationTreeModel extends BaseTreeModel<Object>
         treeNodesRemoved(new TreePath(source.getPath()), new int[] { index }, new Object[] { child });
     }
 
+    @Override
+    public void onChildChanged(LazyMutableTreeNode source, Object child, int index) {
+        treeNodesChanged(new TreePath(source.getPath()), new int[] { index }, new Object[] { child });
+    }
+
     @Override
     public void onChildrensRemoved(LazyMutableTreeNode source) {
         treeStructureChanged(new TreePath(source.getPath()), new int[0], new Object[0]);
     }
+
+    /**
+     * Check again the checked contexts that contain one of the changed paths, so that the modified
+     * marker of their component follows the local changes.
+     */
+    private void checkModified(List<String> paths) {
+        for (String context : components.getComponents().keySet()) {
+            if (PushFingerprint.isChecked(context)) {
+                String prefix = context.replace('\\', '/') + '/';
+                if (paths.stream().map(path -> path.replace('\\', '/'))
+                        .anyMatch(path -> path.startsWith(prefix) && !path.equals(prefix + PushFingerprint.FILE))) {
+                    PushFingerprint.checkAsync(context, () -> onComponentChanged(context));
+                }
+            }
+        }
+    }
+
+    @Override
+    public void onDepthChanged(String context, int depth) {
+        onComponentChanged(context);
+    }
+
+    /**
+     * Update the label of the nodes of the component with the given context.
+     */
+    public void onComponentChanged(String context) {
+        TaskScheduler.runAsync(TaskScheduler.Pool.UI, () -> {
+            Enumeration<?> nodes = ROOT.depthFirstEnumeration();
+            while (nodes.hasMoreElements()) {
+                Object node = nodes.nextElement();
+                if (node instanceof ComponentNode && context.equals(((Component) ((ComponentNode) node).getUserObject()).getPath())) {
+                    LazyMutableTreeNode parent = (LazyMutableTreeNode) ((ComponentNode) node).getParent();
+                    onChildChanged(parent, node, parent.getIndex((ComponentNode) node));
+                }
+            }
+        });
+    }
 }
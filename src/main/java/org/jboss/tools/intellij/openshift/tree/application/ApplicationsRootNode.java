@@ -15,6 +15,7 @@ import com.intellij.openapi.progress.ProgressIndicator;
 import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.progress.Task;
 import com.intellij.openapi.ui.Messages;
+import io.fabric8.kubernetes.client.Config;
 import io.fabric8.kubernetes.client.ConfigBuilder;
 import io.fabric8.openshift.api.model.Project;
 import io.fabric8.openshift.client.DefaultOpenShiftClient;
@@ -22,14 +23,19 @@ import io.fabric8.openshift.client.OpenShiftClient;
 import org.jboss.tools.intellij.openshift.Constants;
 import org.jboss.tools.intellij.openshift.tree.IconTreeNode;
 import org.jboss.tools.intellij.openshift.tree.LazyMutableTreeNode;
+import org.jboss.tools.intellij.openshift.utils.UIHelper;
 import org.jboss.tools.intellij.openshift.utils.odo.Odo;
 import org.jboss.tools.intellij.openshift.utils.odo.OdoCli;
+import org.jboss.tools.intellij.openshift.utils.odo.OdoNativeDecorator;
 import org.jboss.tools.intellij.openshift.utils.odo.OdoProjectDecorator;
+import org.jboss.tools.intellij.openshift.utils.odo.ResourceCache;
 import org.jetbrains.annotations.NotNull;
 
 import javax.swing.tree.DefaultMutableTreeNode;
 import java.io.IOException;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 import static com.intellij.openapi.ui.Messages.CANCEL_BUTTON;
 import static com.intellij.openapi.ui.Messages.getWarningIcon;
@@ -60,6 +66,23 @@ public class ApplicationsRootNode extends LazyMutableTreeNode implements IconTre
     return new DefaultOpenShiftClient(new ConfigBuilder().build());
   }
 
+  /**
+   * Keep the current client, and the caches and watches bound to it, unless the kubeconfig now
+   * points to another server or holds other credentials.
+   */
+  private OpenShiftClient reloadClient() {
+    Config config = new ConfigBuilder().build();
+    Config current = client.getConfiguration();
+    if (current != null
+            && Objects.equals(current.getMasterUrl(), config.getMasterUrl())
+            && Objects.equals(current.getUsername(), config.getUsername())
+            && Objects.equals(current.getOauthToken(), config.getOauthToken())
+            && Objects.equals(current.getNamespace(), config.getNamespace())) {
+      return client;
+    }
+    return new DefaultOpenShiftClient(config);
+  }
+
   public boolean isLogged() {
     return logged;
   }
@@ -70,7 +93,7 @@ public class ApplicationsRootNode extends LazyMutableTreeNode implements IconTre
 
   public Odo getOdo() throws IOException {
     if (odo == null) {
-        odo = new OdoProjectDecorator(OdoCli.get(), model);
+        odo = new OdoProjectDecorator(new OdoNativeDecorator(OdoCli.get(), model.getComponentRegistry()), model);
     }
     return odo;
   }
@@ -85,9 +108,11 @@ public class ApplicationsRootNode extends LazyMutableTreeNode implements IconTre
     try {
       Odo odo = getOdo();
       odo.getProjects(client).stream().forEach(p -> add(new ProjectNode(p)));
-      checkMigrate(odo, odo.getPreOdo10Projects(client));
+      List<Project> preOdo10Projects = odo.getPreOdo10Projects(client);
+      UIHelper.executeInUI(() -> checkMigrate(odo, preOdo10Projects));
       setLogged(true);
     } catch (Exception e) {
+      setLogged(false);
       add(new DefaultMutableTreeNode(ERROR));
     }
   }
@@ -99,13 +124,12 @@ public class ApplicationsRootNode extends LazyMutableTreeNode implements IconTre
         try {
           List<Exception> exceptions = ProgressManager.getInstance().run(
                   new Task.WithResult<List<Exception>, Exception>(getModel().getProject(), CLUSTER_MIGRATION_TITLE, false) {
-                    private int counter = 0;
-
                     @Override
                     protected List<Exception> compute(@NotNull ProgressIndicator indicator) throws Exception {
-                      return odo.migrateProjects(client, preOdo10Projects, (project, kind) -> {
+                      return odo.migrateProjects(client, preOdo10Projects, (project, kind, name, done, total) -> {
                         indicator.setText("Migrating " + kind + " for project " + project);
-                        indicator.setFraction(counter++ / (preOdo10Projects.size() * 8));
+                        indicator.setText2(name);
+                        indicator.setFraction((double) done / total);
                       });
                     }
                   }
@@ -122,12 +146,36 @@ public class ApplicationsRootNode extends LazyMutableTreeNode implements IconTre
     }
   }
 
+  /**
+   * The root node may prompt for the odo download or the cluster migration so it is loaded synchronously.
+   */
+  @Override
+  public void loadAsync() {
+    if (!isLoaded()) {
+      load();
+    }
+  }
+
+  private void setClient(OpenShiftClient client) {
+    if (client != this.client) {
+      ResourceCache.release(this.client);
+      this.client = client;
+    }
+  }
+
   @Override
   public void reload() {
-    client = loadClient();
+    setClient(loadClient());
     super.reload();
   }
 
+  @Override
+  public CompletableFuture<Void> reconcile() {
+    setClient(reloadClient());
+    setUserObject(client.getMasterUrl());
+    return super.reconcile();
+  }
+
   @Override
   public String getIconName() {
     return "/images/cluster.png";
@@ -14,7 +14,11 @@ import io.fabric8.kubernetes.client.KubernetesClientException;
 import org.jboss.tools.intellij.openshift.tree.IconTreeNode;
 import org.jboss.tools.intellij.openshift.tree.LazyMutableTreeNode;
 import org.jboss.tools.intellij.openshift.utils.odo.Component;
+import org.jboss.tools.intellij.openshift.utils.odo.ComponentState;
+import org.jboss.tools.intellij.openshift.utils.odo.ComponentWatchService;
 import org.jboss.tools.intellij.openshift.utils.odo.Odo;
+import org.jboss.tools.intellij.openshift.utils.odo.OperationQueue;
+import org.jboss.tools.intellij.openshift.utils.odo.PushFingerprint;
 
 import java.io.IOException;
 
@@ -34,15 +38,35 @@ public class ComponentNode extends LazyMutableTreeNode implements IconTreeNode {
             odo.getStorages(clusterNode.getClient(), getParent().getParent().toString(), getParent().toString(), component.getName()).forEach(storage -> add(new PersistentVolumeClaimNode(storage)));
           } catch (KubernetesClientException e) {}
           try {
-            odo.listURLs(getParent().getParent().toString(), getParent().toString(), component.getPath(), component.getName()).forEach(url -> add(new URLNode(url)));
+            odo.listURLs(clusterNode.getClient(), getParent().getParent().toString(), getParent().toString(), component.getPath(), component.getName()).forEach(url -> add(new URLNode(url)));
           } catch (IOException e) {}
       } catch (IOException e) {}
   }
 
+    /**
+     * Check in background whether a pushed component changed since, once per context as the state
+     * is then kept up to date by the file events, so that the label never walks the context.
+     */
+    public void checkModified(ApplicationTreeModel model) {
+      Component component = (Component) getUserObject();
+      if (component.hasContext() && component.getState() == ComponentState.PUSHED && !PushFingerprint.isChecked(component.getPath())) {
+        PushFingerprint.checkAsync(component.getPath(), () -> model.onComponentChanged(component.getPath()));
+      }
+    }
+
+    @Override
+    protected Object getKey() {
+      return ((Component) getUserObject()).getName();
+    }
+
     @Override
     public String toString() {
       Component component = (Component) getUserObject();
-        return component.getName() + ' ' + component.getState();
+      int depth = OperationQueue.get().getDepth(component.getPath());
+      boolean modified = component.getState() == ComponentState.PUSHED && PushFingerprint.isKnownDirty(component.getPath());
+      boolean watched = ComponentWatchService.getInstance().isWatched(component.getPath());
+      return component.getName() + ' ' + component.getState() + (modified ? " (modified)" : "") + (watched ? " (watching)" : "")
+        + (depth > 0 ? " (" + depth + " pending)" : "");
     }
 
     @Override
@@ -25,7 +25,8 @@ public class ProjectNode extends KubernetesResourceMutableTreeNode {
   public void load() {
     super.load();
     try {
-      ((ApplicationsRootNode)getParent()).getOdo().getApplications(toString()).forEach(a -> add(new ApplicationNode(a)));
+      ApplicationsRootNode root = (ApplicationsRootNode) getParent();
+      root.getOdo().getApplications(root.getClient(), toString()).forEach(a -> add(new ApplicationNode(a)));
     } catch (IOException e) {
       add(new DefaultMutableTreeNode("Failed to load applications"));
     }
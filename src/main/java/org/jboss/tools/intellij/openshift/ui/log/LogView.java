@@ -0,0 +1,206 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.ui.log;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.wm.ToolWindow;
+import com.intellij.openapi.wm.ToolWindowAnchor;
+import com.intellij.openapi.wm.ToolWindowManager;
+import com.intellij.ui.components.JBCheckBox;
+import com.intellij.ui.components.JBPanel;
+import com.intellij.ui.components.JBScrollPane;
+import com.intellij.ui.components.JBTextArea;
+import com.intellij.ui.components.JBTextField;
+import com.intellij.ui.content.Content;
+import com.intellij.ui.content.ContentFactory;
+import org.jboss.tools.intellij.openshift.utils.TaskScheduler;
+import org.jboss.tools.intellij.openshift.utils.log.LogBuffer;
+import org.jboss.tools.intellij.openshift.utils.log.LogReader;
+import org.jboss.tools.intellij.openshift.utils.log.LogStore;
+
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import javax.swing.text.Element;
+import java.awt.BorderLayout;
+import java.awt.Font;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Display a log stream in the OpenShift logs tool window. The lines are read in background into a
+ * {@link LogBuffer} and the view is refreshed at most once per event dispatch with all the lines
+ * appended since the previous refresh. The view keeps no more lines than the buffer, so that memory
+ * stays flat on long tails.
+ * The whole log is also kept in a {@link LogStore}, the search field filters the view with the
+ * latest matching lines of the store and then with the matching appended lines.
+ */
+public class LogView extends JBPanel<LogView> implements Disposable, LogBuffer.Listener {
+  public static final String TOOL_WINDOW_ID = "OpenShift Logs";
+
+  private final LogBuffer buffer;
+  private final Closeable source;
+  private final LogStore store = new LogStore();
+  private final JBTextArea text = new JBTextArea();
+  private final JBTextField query = new JBTextField();
+  private final JBCheckBox regex = new JBCheckBox("Regex");
+  private final AtomicBoolean scheduled = new AtomicBoolean();
+  private long next;
+  private Pattern filter;
+  private int searches;
+
+  public LogView(LogBuffer buffer, Closeable source) {
+    super(new BorderLayout());
+    this.buffer = buffer;
+    this.source = source;
+    text.setEditable(false);
+    text.setFont(new Font(Font.MONOSPACED, Font.PLAIN, text.getFont().getSize()));
+    add(new JBScrollPane(text), BorderLayout.CENTER);
+    JBPanel<?> search = new JBPanel<>(new BorderLayout());
+    query.getEmptyText().setText("Search the log");
+    query.addActionListener(e -> search());
+    regex.addActionListener(e -> search());
+    search.add(query, BorderLayout.CENTER);
+    search.add(regex, BorderLayout.EAST);
+    add(search, BorderLayout.NORTH);
+    //the store reads the appended lines before they can be overwritten in the buffer
+    buffer.addListener(store);
+    buffer.addListener(this);
+  }
+
+  public LogView(InputStream stream, String name) {
+    this(new LogBuffer(), stream, name);
+  }
+
+  private LogView(LogBuffer buffer, InputStream stream, String name) {
+    this(buffer, new LogReader(stream, buffer));
+    ((LogReader) source).start(name + " log reader");
+  }
+
+  @Override
+  public void onAppended(LogBuffer buffer) {
+    if (scheduled.compareAndSet(false, true)) {
+      TaskScheduler.runAsync(TaskScheduler.Pool.UI, this::refresh);
+    }
+  }
+
+  private void refresh() {
+    scheduled.set(false);
+    long first = buffer.getFirst();
+    if (next < first && filter == null) {
+      text.setText("");
+    }
+    List<String> lines = buffer.getLines(next);
+    next = Math.max(next, first) + lines.size();
+    if (filter != null) {
+      lines = lines.stream().filter(line -> filter.matcher(line).find()).collect(Collectors.toList());
+    }
+    if (!lines.isEmpty()) {
+      StringBuilder builder = new StringBuilder();
+      lines.forEach(line -> builder.append(line).append('\n'));
+      text.append(builder.toString());
+      trim();
+      text.setCaretPosition(text.getDocument().getLength());
+    }
+  }
+
+  private void search() {
+    int search = ++searches;
+    String value = query.getText();
+    query.setToolTipText(null);
+    if (value.isEmpty()) {
+      show(null, Collections.emptyList(), buffer.getFirst());
+      return;
+    }
+    boolean regex = this.regex.isSelected();
+    TaskScheduler.supplyAsync(TaskScheduler.Pool.LOG, () -> store.search(value, regex, buffer.getCapacity()))
+      .whenCompleteAsync((result, error) -> {
+        if (search != searches) {
+          return;
+        }
+        if (error != null) {
+          Throwable cause = error.getCause() != null ? error.getCause() : error;
+          query.setToolTipText(cause.getLocalizedMessage());
+        } else {
+          show(result.getPattern(), result.getMatches().stream().map(LogStore.Match::getText).collect(Collectors.toList()), result.getEnd());
+        }
+      }, TaskScheduler.getExecutor(TaskScheduler.Pool.UI));
+  }
+
+  /**
+   * Replace the displayed lines and display the lines appended from the given one.
+   */
+  private void show(Pattern filter, List<String> lines, long next) {
+    this.filter = filter;
+    this.next = next;
+    StringBuilder builder = new StringBuilder();
+    lines.forEach(line -> builder.append(line).append('\n'));
+    text.setText(builder.toString());
+    refresh();
+  }
+
+  private void trim() {
+    Document document = text.getDocument();
+    Element root = document.getDefaultRootElement();
+    //the document ends with a line end so its last element is empty
+    int excess = root.getElementCount() - 1 - buffer.getCapacity();
+    if (excess > 0) {
+      try {
+        document.remove(0, root.getElement(excess - 1).getEndOffset());
+      } catch (BadLocationException e) {}
+    }
+  }
+
+  @Override
+  public void dispose() {
+    buffer.removeListener(this);
+    buffer.removeListener(store);
+    store.close();
+    try {
+      source.close();
+    } catch (IOException e) {}
+  }
+
+  /**
+   * Open a view on a log stream in a new tab of the logs tool window, the stream is closed when the
+   * tab is closed.
+   */
+  public static void open(Project project, String title, InputStream stream) {
+    open(project, title, new LogView(stream, title));
+  }
+
+  /**
+   * Open a view on a buffer filled by a source in a new tab of the logs tool window, the source is
+   * closed when the tab is closed.
+   */
+  public static void open(Project project, String title, LogBuffer buffer, Closeable source) {
+    open(project, title, new LogView(buffer, source));
+  }
+
+  private static void open(Project project, String title, LogView view) {
+    ToolWindowManager manager = ToolWindowManager.getInstance(project);
+    ToolWindow window = manager.getToolWindow(TOOL_WINDOW_ID);
+    if (window == null) {
+      window = manager.registerToolWindow(TOOL_WINDOW_ID, true, ToolWindowAnchor.BOTTOM, project, true);
+    }
+    Content content = ContentFactory.SERVICE.getInstance().createContent(view, title, false);
+    content.setDisposer(view);
+    window.getContentManager().addContent(content);
+    window.getContentManager().setSelectedContent(content);
+    window.activate(null);
+  }
+}
@@ -20,16 +20,60 @@ import io.fabric8.kubernetes.client.internal.KubeConfigUtils;
 import java.io.File;
 import java.io.IOException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
 
 public class ConfigHelper {
     private static final ObjectMapper mapper = new ObjectMapper(new YAMLFactory());
 
+    /**
+     * Coarsest modification time resolution of the supported file systems. A file rewritten with the
+     * same size within that delay may keep its modification time, so it is only trusted for a file
+     * that was older than that when it was last read.
+     */
+    static final long MODIFICATION_TIME_GRANULARITY = 2000;
+
+    /**
+     * Last parsed kubeconfig with the modification time, size and content hash of the file it was
+     * parsed from.
+     */
+    private static class Snapshot {
+        private final long modified;
+        private final long size;
+        private final long checked;
+        private final byte[] digest;
+        private final Config config;
+        private final IOException error;
+
+        private Snapshot(long modified, long size, long checked, byte[] digest, Config config, IOException error) {
+            this.modified = modified;
+            this.size = size;
+            this.checked = checked;
+            this.digest = digest;
+            this.config = config;
+            this.error = error;
+        }
+
+        private boolean isCurrent(File f) {
+            return checked - modified >= MODIFICATION_TIME_GRANULARITY && modified == f.lastModified() && size == f.length();
+        }
+    }
+
+    private static volatile Snapshot snapshot;
+
     public static String getKubeConfigPath() {
         return System.getProperty("user.home") + "/.kube/config";
     }
 
     public static void saveKubeConfig(Config config) throws IOException {
-        mapper.writeValue(new File(getKubeConfigPath()), config);
+        try {
+            mapper.writeValue(new File(getKubeConfigPath()), config);
+        } finally {
+            snapshot = null;
+        }
     }
 
     public static Config safeLoadKubeConfig() {
@@ -40,17 +84,71 @@ public class ConfigHelper {
         }
     }
 
+    /**
+     * Return a copy of the kubeconfig that the caller may modify and save.
+     */
     public static Config loadKubeConfig() throws IOException {
+        return mapper.readValue(mapper.writeValueAsBytes(getKubeConfigSnapshot()), Config.class);
+    }
+
+    static byte[] digest(byte[] content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Return the kubeconfig shared by all callers. It is parsed again only when the file content
+     * changes, so it must not be modified: use {@link #loadKubeConfig()} to get a copy. The content
+     * is hashed when the modification time or size changed or cannot be trusted.
+     */
+    public static Config getKubeConfigSnapshot() throws IOException {
         File f = new File(getKubeConfigPath());
-        if (f.exists()) {
-            return KubeConfigUtils.parseConfig(f);
-        } else {
+        if (!f.exists()) {
             return new ConfigBuilder().build();
         }
+        Snapshot current = snapshot;
+        if (current == null || !current.isCurrent(f)) {
+            synchronized (ConfigHelper.class) {
+                current = snapshot;
+                if (current == null || !current.isCurrent(f)) {
+                    long checked = System.currentTimeMillis();
+                    long modified = f.lastModified();
+                    long size = f.length();
+                    byte[] content = Files.readAllBytes(f.toPath());
+                    byte[] digest = digest(content);
+                    if (current != null && Arrays.equals(digest, current.digest)) {
+                        current = new Snapshot(modified, size, checked, digest, current.config, current.error);
+                    } else {
+                        try {
+                            current = new Snapshot(modified, size, checked, digest,
+                                    KubeConfigUtils.parseConfigFromString(new String(content, StandardCharsets.UTF_8)), null);
+                        } catch (IOException e) {
+                            current = new Snapshot(modified, size, checked, digest, null, e);
+                        }
+                    }
+                    snapshot = current;
+                }
+            }
+        }
+        if (current.error != null) {
+            throw current.error;
+        }
+        return current.config;
+    }
+
+    public static Config safeGetKubeConfigSnapshot() {
+        try {
+            return getKubeConfigSnapshot();
+        } catch (IOException e) {
+            return null;
+        }
     }
 
     public static boolean isKubeConfigParsable() {
-        return isKubeConfigParsable(new File(getKubeConfigPath()));
+        return safeGetKubeConfigSnapshot() != null;
     }
 
     public static boolean isKubeConfigParsable(File kubeConfig) {
@@ -72,7 +170,7 @@ public class ConfigHelper {
 
     public static Context getCurrentContext() {
         try {
-            Config config = loadKubeConfig();
+            Config config = getKubeConfigSnapshot();
             return KubeConfigUtils.getCurrentContext(config);
         } catch (IOException e) {
             return null;
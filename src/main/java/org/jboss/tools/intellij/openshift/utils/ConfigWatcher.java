@@ -15,15 +15,34 @@ import org.jetbrains.annotations.NotNull;
 
 import java.io.IOException;
 import java.nio.file.FileSystems;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardWatchEventKinds;
 import java.nio.file.WatchEvent;
 import java.nio.file.WatchKey;
 import java.nio.file.WatchService;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+/**
+ * Watch the kubeconfig file and notify the listener with the new content. Bursts of events, as
+ * produced by <code>oc login</code> or odo writing the file several times, are coalesced for
+ * {@link #DEBOUNCE_DELAY} milliseconds, and the file is only parsed again if its content changed.
+ * The listener is notified on the {@link TaskScheduler.Pool#FILES} pool, not on the watching thread,
+ * and the notifications are run one after the other.
+ */
 public class ConfigWatcher implements Runnable {
+    public static final long DEBOUNCE_DELAY = 300;
+
     private final Path config;
     protected Listener listener;
+    private long lastModified = -1;
+    private long lastSize = -1;
+    private long lastChecked = -1;
+    private byte[] lastDigest;
 
     public interface Listener {
         void onUpdate(ConfigWatcher source, Config config);
@@ -37,9 +56,11 @@ public class ConfigWatcher implements Runnable {
     @Override
     public void run() {
         runOnConfigChange(() -> {
-            Config config = loadConfig();
-            if (config != null) {
-                listener.onUpdate(this, config);
+            if (hasContentChanged()) {
+                Config config = loadConfig();
+                if (config != null) {
+                    listener.onUpdate(this, config);
+                }
             }
         });
     }
@@ -52,19 +73,70 @@ public class ConfigWatcher implements Runnable {
         }
     }
 
+    /**
+     * Check the modification time and size of the file then, if they changed, its content hash.
+     * The content is also hashed if the file was rewritten within the modification time resolution
+     * when it was last checked, as a rewrite of the same size, such as a token refresh, may then
+     * keep the same modification time. If the file cannot be read it is considered as changed.
+     */
+    protected boolean hasContentChanged() {
+        try {
+            long checked = System.currentTimeMillis();
+            long modified = Files.getLastModifiedTime(config).toMillis();
+            long size = Files.size(config);
+            if (modified == lastModified && size == lastSize && lastChecked - modified >= ConfigHelper.MODIFICATION_TIME_GRANULARITY) {
+                return false;
+            }
+            lastModified = modified;
+            lastSize = size;
+            lastChecked = checked;
+            byte[] digest = ConfigHelper.digest(Files.readAllBytes(config));
+            boolean changed = !Arrays.equals(digest, lastDigest);
+            lastDigest = digest;
+            return changed;
+        } catch (IOException e) {
+            lastModified = lastSize = lastChecked = -1;
+            lastDigest = null;
+            return true;
+        }
+    }
+
+    private boolean hasConfigEvent(WatchKey key) {
+        boolean found = key.pollEvents().stream().anyMatch(this::isConfigPath);
+        key.reset();
+        return found;
+    }
+
     private void runOnConfigChange(Runnable runnable) {
+        CompletableFuture<Void> dispatch = CompletableFuture.completedFuture(null);
+        AtomicBoolean queued = new AtomicBoolean();
         try (WatchService service = newWatchService()) {
             registerWatchService(service);
             WatchKey key;
             while ((key = service.take()) != null) {
-                key.pollEvents().stream()
-                        .filter(this::isConfigPath)
-                        .forEach((Void) -> runnable.run());
-                key.reset();
+                boolean changed = hasConfigEvent(key);
+                //coalesce the events of a burst
+                while ((key = service.poll(DEBOUNCE_DELAY, TimeUnit.MILLISECONDS)) != null) {
+                    changed |= hasConfigEvent(key);
+                }
+                //a notification that has not started yet will read the latest content
+                if (changed && queued.compareAndSet(false, true)) {
+                    dispatch = dispatch.exceptionally(e -> null).thenCompose(result -> TaskScheduler.runAsync(TaskScheduler.Pool.FILES, () -> {
+                        queued.set(false);
+                        runnable.run();
+                    }));
+                }
             }
         } catch (IOException | InterruptedException e) {
             e.printStackTrace();
         }
+        try {
+            dispatch.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            e.printStackTrace();
+        }
     }
 
     protected WatchService newWatchService() throws IOException {
@@ -28,31 +28,212 @@ import org.jetbrains.plugins.terminal.AbstractTerminalRunner;
 import org.jetbrains.plugins.terminal.TerminalOptionsProvider;
 import org.jetbrains.plugins.terminal.TerminalView;
 
+import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
+import java.io.Reader;
 import java.io.StringWriter;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.jboss.tools.intellij.openshift.Constants.HOME_FOLDER;
 
 public class ExecHelper {
-  private static final ScheduledExecutorService SERVICE = Executors.newScheduledThreadPool(Runtime.getRuntime().availableProcessors());
+  public static void submit(Runnable runnable) {
+    TaskScheduler.runAsync(TaskScheduler.Pool.CLI, runnable);
+  }
 
-  public static void executeAfter(Runnable runnable, long delay, TimeUnit unit) {
-    SERVICE.schedule(runnable, delay, unit);
+  /**
+   * How read-only invocations issued through {@link #query(String, boolean, File, String...)} are run.
+   */
+  public enum Mode {
+    /**
+     * A new process is forked and waited for on the calling thread.
+     */
+    FORK,
+    /**
+     * Invocations are queued and run concurrently on the {@link TaskScheduler.Pool#QUERY} pool, so that
+     * they never wait behind the commands run on the {@link TaskScheduler.Pool#CLI} pool. Identical
+     * invocations that are already in flight are not forked again but share the pending result.
+     */
+    BATCH
   }
 
-  public static void submit(Runnable runnable) {
-    SERVICE.submit(runnable);
+  public static final String MODE_PROPERTY = ExecHelper.class.getName() + ".mode";
+
+  /**
+   * Maximum time in seconds a caller waits for a batched invocation.
+   */
+  public static final String QUERY_TIMEOUT_PROPERTY = ExecHelper.class.getName() + ".queryTimeout";
+
+  private static volatile Mode mode = getDefaultMode();
+
+  private static final Map<List<Object>, Pending<?>> PENDING = new ConcurrentHashMap<>();
+
+  private static Mode getDefaultMode() {
+    try {
+      return Mode.valueOf(System.getProperty(MODE_PROPERTY, Mode.BATCH.name()).toUpperCase());
+    } catch (IllegalArgumentException e) {
+      return Mode.BATCH;
+    }
+  }
+
+  public static Mode getMode() {
+    return mode;
+  }
+
+  public static void setMode(Mode mode) {
+    ExecHelper.mode = mode;
+  }
+
+  /**
+   * Consumes the standard output of a process while it is running.
+   */
+  @FunctionalInterface
+  public interface OutputParser<T> {
+    T parse(InputStream output) throws IOException;
+  }
+
+  @FunctionalInterface
+  private interface Execution<T> {
+    T run() throws IOException;
+  }
+
+  private static List<Object> getKey(String executable, Object flavor, File workingDirectory, String... arguments) {
+    List<Object> key = new ArrayList<>(arguments.length + 3);
+    key.add(executable);
+    key.add(flavor);
+    key.add(workingDirectory.getAbsolutePath());
+    key.addAll(Arrays.asList(arguments));
+    return key;
+  }
+
+  /**
+   * An invocation shared by identical callers, run by whoever claims it first. It is removed from
+   * the in flight invocations whatever the way it completes, so that the next caller forks again.
+   */
+  private static class Pending<T> {
+    private final CompletableFuture<T> future = new CompletableFuture<>();
+    private final AtomicBoolean claimed = new AtomicBoolean();
+    private final List<Object> key;
+    private final Execution<T> execution;
+
+    private Pending(List<Object> key, Execution<T> execution) {
+      this.key = key;
+      this.execution = execution;
+    }
+
+    private void run() {
+      if (claimed.compareAndSet(false, true)) {
+        try {
+          complete(execution.run(), null);
+        } catch (Throwable e) {
+          complete(null, e);
+        }
+      }
+    }
+
+    /**
+     * Release the callers of an invocation whose task was cancelled or rejected, even if the process
+     * is still running as it may not react to the interruption.
+     */
+    private void abort(Throwable error) {
+      claimed.set(true);
+      complete(null, error);
+    }
+
+    private void complete(T output, Throwable error) {
+      PENDING.remove(key, this);
+      if (error == null) {
+        future.complete(output);
+      } else {
+        future.completeExceptionally(error);
+      }
+    }
+  }
+
+  private static <T> T batch(List<Object> key, Execution<T> execution) throws IOException {
+    if (mode == Mode.FORK) {
+      return execution.run();
+    }
+    boolean[] created = new boolean[1];
+    Pending<T> pending = (Pending<T>) PENDING.computeIfAbsent(key, k -> {
+      created[0] = true;
+      return new Pending<>(k, execution);
+    });
+    if (TaskScheduler.isPoolThread(TaskScheduler.Pool.QUERY)) {
+      //waiting for a queued invocation from a query thread could exhaust the pool, run it in place instead
+      pending.run();
+    } else if (created[0]) {
+      TaskScheduler.runAsync(TaskScheduler.Pool.QUERY, pending::run).whenComplete((result, e) -> {
+        if (e != null) {
+          pending.abort(e);
+        }
+      });
+    }
+    CompletableFuture<T> result = pending.future;
+    long timeout = Long.getLong(QUERY_TIMEOUT_PROPERTY, 300);
+    try {
+      return result.get(timeout, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException(e.getLocalizedMessage());
+    } catch (TimeoutException e) {
+      throw new IOException("No result after " + timeout + " seconds for " + key);
+    } catch (CancellationException e) {
+      throw new IOException("Cancelled " + key, e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw new IOException(e.getCause());
+    }
+  }
+
+  /**
+   * Run a command that does not modify any state, so that it can be run concurrently with
+   * others and its result shared with identical invocations. Commands with side effects must
+   * go through {@link #execute(String, boolean, File, String...)}.
+   */
+  public static String query(String executable, boolean checkExitCode, File workingDirectory, String... arguments) throws IOException {
+    return batch(getKey(executable, checkExitCode, workingDirectory, arguments), () -> execute(executable, checkExitCode, workingDirectory, arguments));
+  }
+
+  /**
+   * Streaming variant of {@link #query(String, boolean, File, String...)}. Identical invocations
+   * are only shared if they use the same parser instance, so parsers should be constants.
+   */
+  public static <T> T query(String executable, File workingDirectory, OutputParser<T> parser, String... arguments) throws IOException {
+    return batch(getKey(executable, parser, workingDirectory, arguments), () -> execute(executable, workingDirectory, parser, arguments));
+  }
+
+  public static String query(String executable, File workingDirectory, String... arguments) throws IOException {
+    return query(executable, true, workingDirectory, arguments);
+  }
+
+  public static String query(String executable, boolean checkExitCode, String... arguments) throws IOException {
+    return query(executable, checkExitCode, new File(HOME_FOLDER), arguments);
+  }
+
+  public static String query(String executable, String... arguments) throws IOException {
+    return query(executable, true, new File(HOME_FOLDER), arguments);
   }
 
   public static String execute(String executable, boolean checkExitCode, File workingDirectory, String... arguments) throws IOException {
@@ -79,6 +260,67 @@ public class ExecHelper {
     }
   }
 
+  /**
+   * Run a command and hand its standard output to the parser as it is produced, so that it is
+   * never buffered as a whole. The error output is only kept to report a failed exit code.
+   */
+  public static <T> T execute(String executable, File workingDirectory, OutputParser<T> parser, String... arguments) throws IOException {
+    List<String> command = new ArrayList<>(arguments.length + 1);
+    command.add(executable);
+    command.addAll(Arrays.asList(arguments));
+    Process process = new ProcessBuilder(command).directory(workingDirectory).start();
+    StringBuilder errors = new StringBuilder();
+    Thread errorPump = new Thread(() -> {
+      try (Reader reader = new InputStreamReader(process.getErrorStream(), StandardCharsets.UTF_8)) {
+        char[] buffer = new char[1024];
+        int lg;
+        while ((lg = reader.read(buffer)) != -1) {
+          errors.append(buffer, 0, lg);
+        }
+      } catch (IOException e) {}
+    }, executable + " error pump");
+    errorPump.setDaemon(true);
+    errorPump.start();
+    try (InputStream output = new BufferedInputStream(process.getInputStream())) {
+      process.getOutputStream().close();
+      //the parsers may close their input, such as the JSON mapper, but the rest must still be consumed
+      T result = parser.parse(new FilterInputStream(output) {
+        @Override
+        public void close() {}
+      });
+      //consume what the parser left so that the process is not blocked on a full pipe
+      byte[] buffer = new byte[1024];
+      while (output.read(buffer) != -1) {}
+      int exitValue = process.waitFor();
+      errorPump.join();
+      if (exitValue != 0) {
+        throw new IOException("Process exited with an error: " + exitValue + " " + errors);
+      }
+      return result;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException(e.getLocalizedMessage());
+    } finally {
+      process.destroy();
+    }
+  }
+
+  /**
+   * Start a long running command, such as a log tail, and return its merged standard and error
+   * output as it is produced. Closing the stream terminates the process.
+   */
+  public static InputStream stream(File workingDirectory, String... command) throws IOException {
+    Process process = new ProcessBuilder(command).directory(workingDirectory).redirectErrorStream(true).start();
+    process.getOutputStream().close();
+    return new FilterInputStream(process.getInputStream()) {
+      @Override
+      public void close() throws IOException {
+        process.destroy();
+        super.close();
+      }
+    };
+  }
+
   public static String execute(String executable, String... arguments) throws IOException {
     return execute(executable, true, new File(HOME_FOLDER), arguments);
   }
@@ -91,12 +333,20 @@ public class ExecHelper {
     return execute(executable, checkExitCode, new File(HOME_FOLDER), arguments);
   }
 
-  private static class RedirectedStream extends FilterInputStream {
+  /**
+   * Process output for the terminal, which expects CRLF line ends. The output is read in bulk into
+   * a buffer and copied by runs between line ends, so that chatty processes are not read one byte
+   * at a time.
+   */
+  static class RedirectedStream extends FilterInputStream {
+    private final byte[] buffer = new byte[8192];
+    private int position;
+    private int limit;
     private boolean emitLF = false;
     private final boolean redirect;
     private final boolean delay;
 
-    private RedirectedStream(InputStream delegate, boolean redirect, boolean delay) {
+    RedirectedStream(InputStream delegate, boolean redirect, boolean delay) {
       super(delegate);
       this.redirect = redirect;
       this.delay = delay;
@@ -104,17 +354,8 @@ public class ExecHelper {
 
     @Override
     public synchronized int read() throws IOException {
-      if (emitLF) {
-        emitLF = false;
-        return '\n';
-      } else {
-        int c = super.read();
-        if (redirect && c == '\n') {
-          emitLF = true;
-          c = '\r';
-        }
-        return c;
-      }
+      byte[] b = new byte[1];
+      return read(b, 0, 1) == -1 ? -1 : b[0] & 0xFF;
     }
 
     @Override
@@ -132,30 +373,76 @@ public class ExecHelper {
         return 0;
       }
 
-      int c = read();
-      if (c == -1) {
-        if (delay) {
-          try {
-            Thread.sleep(60000L);
-          } catch (InterruptedException e) {}
+      if (!emitLF && position == limit) {
+        int lg = in.read(buffer, 0, buffer.length);
+        if (lg == -1) {
+          if (delay) {
+            try {
+              Thread.sleep(60000L);
+            } catch (InterruptedException e) {}
+          }
+          return -1;
         }
-        return -1;
+        position = 0;
+        limit = lg;
       }
-      b[off] = (byte)c;
-
-      int i = 1;
-      try {
-        for (; i < len  && available() > 0; i++) {
-          c = read();
-          if (c == -1) {
-            break;
+      int count = 0;
+      while (count < len) {
+        if (emitLF) {
+          b[off + count++] = '\n';
+          emitLF = false;
+        } else if (position == limit) {
+          break;
+        } else {
+          int end = redirect ? indexOfLF(position, limit) : limit;
+          int lg = Math.min(end - position, len - count);
+          System.arraycopy(buffer, position, b, off + count, lg);
+          position += lg;
+          count += lg;
+          if (count < len && position == end && end < limit) {
+            b[off + count++] = '\r';
+            ++position;
+            emitLF = true;
           }
-          b[off + i] = (byte)c;
         }
-      } catch (IOException ee) {}
-      return i;
+      }
+      return count;
+    }
+
+    private int indexOfLF(int from, int to) {
+      for (int i = from; i < to; ++i) {
+        if (buffer[i] == '\n') {
+          return i;
+        }
+      }
+      return to;
+    }
+
+    @Override
+    public synchronized int available() throws IOException {
+      return (emitLF ? 1 : 0) + limit - position + in.available();
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+      if (n <= 0) {
+        return 0;
+      }
+      byte[] b = new byte[(int) Math.min(n, buffer.length)];
+      long skipped = 0;
+      int lg;
+      while (skipped < n && (lg = read(b, 0, (int) Math.min(n - skipped, b.length))) != -1) {
+        skipped += lg;
+      }
+      return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+      return false;
     }
   }
+
   private static class RedirectedProcess extends Process {
     private final Process delegate;
     private final InputStream inputStream;
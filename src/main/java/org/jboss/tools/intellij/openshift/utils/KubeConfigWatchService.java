@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.util.Disposer;
+import io.fabric8.kubernetes.api.model.Config;
+
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Application wide watch of the kubeconfig file. A single {@link ConfigWatcher} runs on its own
+ * thread, started with the first subscriber, and forwards the updates to all the subscribers.
+ * Subscribers are removed when their parent {@link Disposable}, usually the project, is disposed.
+ */
+public class KubeConfigWatchService implements ConfigWatcher.Listener, Disposable {
+    private final List<ConfigWatcher.Listener> listeners = new CopyOnWriteArrayList<>();
+    private Thread thread;
+
+    public static KubeConfigWatchService getInstance() {
+        return ServiceManager.getService(KubeConfigWatchService.class);
+    }
+
+    public void addListener(ConfigWatcher.Listener listener, Disposable parent) {
+        listeners.add(listener);
+        Disposer.register(parent, () -> removeListener(listener));
+        start();
+    }
+
+    public void removeListener(ConfigWatcher.Listener listener) {
+        listeners.remove(listener);
+    }
+
+    protected ConfigWatcher createWatcher() {
+        return new ConfigWatcher(Paths.get(ConfigHelper.getKubeConfigPath()), this);
+    }
+
+    private synchronized void start() {
+        if (thread == null) {
+            thread = new Thread(createWatcher(), "Kubeconfig watcher");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    @Override
+    public void onUpdate(ConfigWatcher source, Config config) {
+        listeners.forEach(listener -> listener.onUpdate(source, config));
+    }
+
+    @Override
+    public synchronized void dispose() {
+        listeners.clear();
+        if (thread != null) {
+            thread.interrupt();
+            thread = null;
+        }
+    }
+}
@@ -0,0 +1,362 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils;
+
+import com.intellij.openapi.application.Application;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.util.Disposer;
+
+import javax.swing.SwingUtilities;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Executors of the plugin background work, so that blocking process or network I/O never runs on
+ * the common fork/join pool shared with the IDE. Each {@link Pool} is bounded, its size can be set
+ * through a system property, and it keeps {@link Metrics}. Tasks are returned as futures that
+ * interrupt the running thread when cancelled, and all tasks of a pool can be cancelled at once, as
+ * done when the IDE exits. Delayed tasks wait on a single timer thread then run on their pool.
+ */
+public class TaskScheduler {
+  public enum Pool {
+    /**
+     * Blocking odo invocations.
+     */
+    CLI("OpenShift CLI", 4),
+    /**
+     * Read-only odo invocations shared by identical callers, see {@link ExecHelper.Mode#BATCH}.
+     */
+    QUERY("OpenShift CLI Query", 4),
+    /**
+     * Calls to the cluster API, such as the application tree loads.
+     */
+    API("OpenShift API", 8),
+    /**
+     * Searches of the stored component logs.
+     */
+    LOG("OpenShift Log Search", 2),
+    /**
+     * Scans and parses of the local files, such as the discovery of the component contexts.
+     */
+    FILES("OpenShift Files", 4),
+    /**
+     * Continuations that update the UI, they are run on the event dispatch thread through the IDE
+     * application so that they respect its modality state.
+     */
+    UI("OpenShift UI", 1);
+
+    private final String threadName;
+    private final int defaultParallelism;
+
+    Pool(String threadName, int defaultParallelism) {
+      this.threadName = threadName;
+      this.defaultParallelism = defaultParallelism;
+    }
+
+    public String getParallelismProperty() {
+      return TaskScheduler.class.getName() + '.' + name().toLowerCase() + ".parallelism";
+    }
+  }
+
+  /**
+   * Counters of a pool since the IDE started, except the gauges {@link #getQueued()} and
+   * {@link #getActive()}.
+   */
+  public static class Metrics {
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong cancelled = new AtomicLong();
+    private final AtomicInteger active = new AtomicInteger();
+
+    public long getSubmitted() {
+      return submitted.get();
+    }
+
+    public long getCompleted() {
+      return completed.get();
+    }
+
+    public long getFailed() {
+      return failed.get();
+    }
+
+    public long getCancelled() {
+      return cancelled.get();
+    }
+
+    public int getActive() {
+      return active.get();
+    }
+
+    public long getQueued() {
+      return Math.max(0, submitted.get() - completed.get() - failed.get() - cancelled.get() - active.get());
+    }
+
+    @Override
+    public String toString() {
+      return "submitted=" + getSubmitted() + " queued=" + getQueued() + " active=" + getActive() +
+        " completed=" + getCompleted() + " failed=" + getFailed() + " cancelled=" + getCancelled();
+    }
+  }
+
+  private static class Task<T> extends CompletableFuture<T> implements Runnable {
+    private final Pool pool;
+    private final Callable<T> callable;
+    private Thread runner;
+    private boolean started;
+
+    private Task(Pool pool, Callable<T> callable) {
+      this.pool = pool;
+      this.callable = callable;
+    }
+
+    @Override
+    public void run() {
+      Metrics metrics = METRICS.get(pool);
+      synchronized (this) {
+        if (started || isDone()) {
+          return;
+        }
+        started = true;
+        runner = Thread.currentThread();
+      }
+      metrics.active.incrementAndGet();
+      T result = null;
+      Throwable error = null;
+      try {
+        result = callable.call();
+      } catch (Throwable e) {
+        error = e;
+      } finally {
+        synchronized (this) {
+          runner = null;
+        }
+        //do not leak a late cancellation to the next task run by this thread
+        Thread.interrupted();
+        TASKS.remove(this);
+        metrics.active.decrementAndGet();
+      }
+      //update the metrics before the waiters are released
+      if (!isDone()) {
+        (error == null ? metrics.completed : metrics.failed).incrementAndGet();
+      }
+      if (error == null) {
+        complete(result);
+      } else {
+        completeExceptionally(error);
+      }
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+      boolean cancelled = super.cancel(mayInterruptIfRunning);
+      if (cancelled) {
+        METRICS.get(pool).cancelled.incrementAndGet();
+        TASKS.remove(this);
+        synchronized (this) {
+          if (mayInterruptIfRunning && runner != null) {
+            runner.interrupt();
+          }
+        }
+      }
+      return cancelled;
+    }
+  }
+
+  private static final Map<Pool, Executor> EXECUTORS = new ConcurrentHashMap<>();
+
+  private static final Map<Pool, Metrics> METRICS = new ConcurrentHashMap<>();
+
+  private static final Set<Task<?>> TASKS = ConcurrentHashMap.newKeySet();
+
+  private static final ThreadLocal<Pool> CURRENT = new ThreadLocal<>();
+
+  private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "OpenShift Timer");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  private static final AtomicBoolean DISPOSAL_REGISTERED = new AtomicBoolean();
+
+  static {
+    for (Pool pool : Pool.values()) {
+      METRICS.put(pool, new Metrics());
+    }
+  }
+
+  /**
+   * Post to the IDE application, or directly to the event queue outside of the IDE as in the unit
+   * tests.
+   */
+  private static void invokeLater(Runnable runnable) {
+    Application application = ApplicationManager.getApplication();
+    if (application != null) {
+      application.invokeLater(runnable);
+    } else {
+      SwingUtilities.invokeLater(runnable);
+    }
+  }
+
+  private static Executor createExecutor(Pool pool) {
+    Application application = ApplicationManager.getApplication();
+    if (application != null && DISPOSAL_REGISTERED.compareAndSet(false, true)) {
+      Disposer.register(application, TaskScheduler::dispose);
+    }
+    if (pool == Pool.UI) {
+      return TaskScheduler::invokeLater;
+    }
+    int parallelism = Math.max(1, Integer.getInteger(pool.getParallelismProperty(), pool.defaultParallelism));
+    AtomicInteger count = new AtomicInteger();
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(parallelism, parallelism, 60L, TimeUnit.SECONDS,
+      new LinkedBlockingQueue<>(), runnable -> {
+      Thread thread = new Thread(() -> {
+        CURRENT.set(pool);
+        runnable.run();
+      }, pool.threadName + ' ' + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  /**
+   * Return the executor of a pool, for use with the asynchronous {@link CompletableFuture} methods.
+   * Tasks submitted directly to it are not tracked by the {@link Metrics}.
+   */
+  public static Executor getExecutor(Pool pool) {
+    return EXECUTORS.computeIfAbsent(pool, TaskScheduler::createExecutor);
+  }
+
+  public static Metrics getMetrics(Pool pool) {
+    return METRICS.get(pool);
+  }
+
+  /**
+   * @return true if the calling thread belongs to the pool
+   */
+  public static boolean isPoolThread(Pool pool) {
+    if (pool == Pool.UI) {
+      Application application = ApplicationManager.getApplication();
+      return application != null ? application.isDispatchThread() : SwingUtilities.isEventDispatchThread();
+    }
+    return CURRENT.get() == pool;
+  }
+
+  private static <T> Task<T> createTask(Pool pool, Callable<T> callable) {
+    Task<T> task = new Task<>(pool, callable);
+    TASKS.add(task);
+    METRICS.get(pool).submitted.incrementAndGet();
+    return task;
+  }
+
+  private static void execute(Task<?> task) {
+    try {
+      getExecutor(task.pool).execute(task);
+    } catch (RejectedExecutionException e) {
+      TASKS.remove(task);
+      METRICS.get(task.pool).failed.incrementAndGet();
+      task.completeExceptionally(e);
+    }
+  }
+
+  public static <T> CompletableFuture<T> supplyAsync(Pool pool, Callable<T> callable) {
+    Task<T> task = createTask(pool, callable);
+    execute(task);
+    return task;
+  }
+
+  public static CompletableFuture<Void> runAsync(Pool pool, Runnable runnable) {
+    return supplyAsync(pool, () -> {
+      runnable.run();
+      return null;
+    });
+  }
+
+  /**
+   * Run a task on a pool after a delay, it is counted as queued until then. Cancelling the returned
+   * future before the delay expires prevents the task from running.
+   */
+  public static CompletableFuture<Void> runAfter(Pool pool, Runnable runnable, long delay, TimeUnit unit) {
+    Task<Void> task = createTask(pool, () -> {
+      runnable.run();
+      return null;
+    });
+    try {
+      TIMER.schedule(() -> {
+        if (!task.isDone()) {
+          execute(task);
+        }
+      }, delay, unit);
+    } catch (RejectedExecutionException e) {
+      TASKS.remove(task);
+      METRICS.get(pool).failed.incrementAndGet();
+      task.completeExceptionally(e);
+    }
+    return task;
+  }
+
+  /**
+   * Wait for the completion of tasks, the tasks that did not start yet are run by the calling thread.
+   * So a thread of a pool can wait for tasks submitted to the same pool without exhausting it.
+   */
+  public static void join(Collection<? extends CompletableFuture<?>> tasks) {
+    for (CompletableFuture<?> task : tasks) {
+      if (task instanceof Task) {
+        ((Task<?>) task).run();
+      }
+    }
+    tasks.forEach(CompletableFuture::join);
+  }
+
+  /**
+   * Cancel the queued and running tasks of a pool, running tasks are interrupted.
+   *
+   * @return the number of cancelled tasks
+   */
+  public static int cancelAll(Pool pool) {
+    int count = 0;
+    for (Task<?> task : TASKS) {
+      if (task.pool == pool && task.cancel(true)) {
+        ++count;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Cancel the tasks of all the pools and stop their threads, once the IDE application is disposed.
+   */
+  private static void dispose() {
+    for (Pool pool : Pool.values()) {
+      cancelAll(pool);
+    }
+    TIMER.shutdownNow();
+    EXECUTORS.values().stream().filter(ExecutorService.class::isInstance).map(ExecutorService.class::cast).forEach(ExecutorService::shutdownNow);
+  }
+}
@@ -0,0 +1,96 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils.log;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Ring buffer of the last {@link #CAPACITY_PROPERTY} lines of a log, so that the memory used by a
+ * log view does not grow with the length of the tail. Lines are numbered from 0 in append order,
+ * readers keep the number of the next line they expect and catch up from the oldest line still
+ * buffered if they fell behind.
+ */
+public class LogBuffer {
+  public static final String CAPACITY_PROPERTY = LogBuffer.class.getName() + ".capacity";
+
+  public interface Listener {
+    /**
+     * Called from the appending thread after each batch of lines.
+     */
+    void onAppended(LogBuffer buffer);
+  }
+
+  private final String[] lines;
+  private long count;
+  private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+  public LogBuffer() {
+    this(Math.max(1, Integer.getInteger(CAPACITY_PROPERTY, 10000)));
+  }
+
+  public LogBuffer(int capacity) {
+    lines = new String[capacity];
+  }
+
+  public int getCapacity() {
+    return lines.length;
+  }
+
+  public void addListener(Listener listener) {
+    listeners.add(listener);
+  }
+
+  public void removeListener(Listener listener) {
+    listeners.remove(listener);
+  }
+
+  /**
+   * @return the number of the next appended line
+   */
+  public synchronized long getCount() {
+    return count;
+  }
+
+  /**
+   * @return the number of the oldest buffered line
+   */
+  public synchronized long getFirst() {
+    return Math.max(0, count - lines.length);
+  }
+
+  public void append(Collection<String> batch) {
+    if (batch.isEmpty()) {
+      return;
+    }
+    synchronized (this) {
+      for (String line : batch) {
+        lines[(int) (count++ % lines.length)] = line;
+      }
+    }
+    listeners.forEach(listener -> listener.onAppended(this));
+  }
+
+  /**
+   * @param from the number of the first expected line
+   * @return the buffered lines from the expected one or from the oldest buffered one if it was overwritten
+   */
+  public synchronized List<String> getLines(long from) {
+    long start = Math.max(from, getFirst());
+    List<String> result = new ArrayList<>((int) Math.max(0, count - start));
+    for (long i = start; i < count; ++i) {
+      result.add(lines[(int) (i % lines.length)]);
+    }
+    return result;
+  }
+}
@@ -0,0 +1,201 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils.log;
+
+import java.io.Closeable;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Merge the logs of several components into a single {@link LogBuffer}, each line being prefixed
+ * with the name of its component. Every log is read on its own thread into a queue of at most
+ * {@link #SOURCE_CAPACITY_PROPERTY} lines, a reader blocks while its queue is full so that a noisy
+ * component is slowed down at the connection level instead of filling the heap, without delaying
+ * the other components.
+ * Lines are stamped with their arrival time and merged in time order: the oldest queued line is
+ * written once every other running log has a newer line queued or after {@link #WINDOW_PROPERTY}
+ * milliseconds, so that a quiet component does not hold the others back.
+ */
+public class LogMerger implements Closeable {
+  public static final String SOURCE_CAPACITY_PROPERTY = LogMerger.class.getName() + ".sourceCapacity";
+
+  public static final String WINDOW_PROPERTY = LogMerger.class.getName() + ".window";
+
+  static final int MAX_BATCH = 1024;
+
+  private static class Line {
+    private final long time;
+    private final String text;
+
+    private Line(long time, String text) {
+      this.time = time;
+      this.text = text;
+    }
+  }
+
+  class Source {
+    private final String prefix;
+    private final ArrayDeque<Line> lines = new ArrayDeque<>();
+    private LogReader reader;
+    private long last;
+    private boolean ended;
+
+    private Source(String name) {
+      this.prefix = '[' + name + "] ";
+    }
+
+    /**
+     * Queue lines received at the given time, blocking while the queue is full.
+     */
+    void offer(long time, List<String> batch) throws InterruptedException {
+      synchronized (LogMerger.this) {
+        //keep the times of a log ordered even if the clock goes back
+        last = Math.max(last, time);
+        for (String text : batch) {
+          while (lines.size() >= capacity && !closed) {
+            LogMerger.this.wait();
+          }
+          if (closed) {
+            throw new InterruptedException();
+          }
+          lines.add(new Line(last, text));
+          LogMerger.this.notifyAll();
+        }
+      }
+    }
+
+    void end() {
+      synchronized (LogMerger.this) {
+        ended = true;
+        LogMerger.this.notifyAll();
+      }
+    }
+  }
+
+  private final LogBuffer output;
+  private final int capacity;
+  private final long window;
+  private final List<Source> sources = new ArrayList<>();
+  private final List<Thread> threads = new ArrayList<>();
+  private boolean closed;
+
+  public LogMerger(LogBuffer output) {
+    this(output, Math.max(1, Integer.getInteger(SOURCE_CAPACITY_PROPERTY, 1000)), Long.getLong(WINDOW_PROPERTY, 200));
+  }
+
+  public LogMerger(LogBuffer output, int capacity, long window) {
+    this.output = output;
+    this.capacity = capacity;
+    this.window = window;
+  }
+
+  synchronized Source addSource(String name) {
+    Source source = new Source(name);
+    sources.add(source);
+    return source;
+  }
+
+  /**
+   * Add the log of a component, it is read once the merger is started.
+   */
+  public void add(String name, InputStream stream) {
+    Source source = addSource(name);
+    source.reader = new LogReader(stream, lines -> source.offer(System.currentTimeMillis(), lines));
+    Thread thread = new Thread(() -> {
+      try {
+        source.reader.run();
+      } finally {
+        source.end();
+      }
+    }, name + " log reader");
+    thread.setDaemon(true);
+    synchronized (this) {
+      threads.add(thread);
+    }
+  }
+
+  public synchronized void start(String name) {
+    threads.forEach(Thread::start);
+    Thread merger = new Thread(this::run, name + " log merger");
+    merger.setDaemon(true);
+    threads.add(merger);
+    merger.start();
+  }
+
+  private void run() {
+    try {
+      while (true) {
+        List<String> batch;
+        synchronized (this) {
+          while ((batch = poll(System.currentTimeMillis())).isEmpty()) {
+            if (closed || isEnded()) {
+              return;
+            }
+            wait(window);
+          }
+        }
+        output.append(batch);
+      }
+    } catch (InterruptedException e) {
+      //closed
+    }
+  }
+
+  private boolean isEnded() {
+    return sources.stream().allMatch(source -> source.ended && source.lines.isEmpty());
+  }
+
+  /**
+   * Remove the lines that can be written at the given time, in time order. On equal times, the
+   * lines of the first added log come first.
+   */
+  synchronized List<String> poll(long now) {
+    List<String> batch = Collections.emptyList();
+    while (batch.size() < MAX_BATCH) {
+      Source oldest = null;
+      boolean complete = true;
+      for (Source source : sources) {
+        Line head = source.lines.peek();
+        if (head == null) {
+          complete &= source.ended;
+        } else if (oldest == null || head.time < oldest.lines.peek().time) {
+          oldest = source;
+        }
+      }
+      if (oldest == null || (!complete && oldest.lines.peek().time > now - window)) {
+        break;
+      }
+      if (batch.isEmpty()) {
+        batch = new ArrayList<>();
+      }
+      batch.add(oldest.prefix + oldest.lines.poll().text);
+    }
+    if (!batch.isEmpty()) {
+      notifyAll();
+    }
+    return batch;
+  }
+
+  @Override
+  public void close() {
+    List<Source> sources;
+    synchronized (this) {
+      closed = true;
+      notifyAll();
+      sources = new ArrayList<>(this.sources);
+      threads.forEach(Thread::interrupt);
+    }
+    sources.stream().filter(source -> source.reader != null).forEach(source -> source.reader.close());
+  }
+}
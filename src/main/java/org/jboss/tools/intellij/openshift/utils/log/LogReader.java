@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils.log;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Split a log stream into lines on its own thread and hand them to a {@link Sink}, usually a
+ * {@link LogBuffer}. The stream is read in bulk and all the lines of a read are handed as a single
+ * batch, so that the sink and its views are updated once per read rather than once per line. A sink
+ * that blocks stops the reading of the stream. Carriage returns before line ends are removed and a
+ * line longer than {@link #MAX_LINE_LENGTH} bytes is split.
+ */
+public class LogReader implements Closeable {
+  public static final int MAX_LINE_LENGTH = 64 * 1024;
+
+  @FunctionalInterface
+  public interface Sink {
+    void accept(List<String> lines) throws InterruptedException;
+  }
+
+  private final InputStream stream;
+  private final Sink sink;
+  private byte[] partial = new byte[256];
+  private int partialLength;
+  private volatile boolean closed;
+  private Thread thread;
+
+  public LogReader(InputStream stream, LogBuffer buffer) {
+    this(stream, buffer::append);
+  }
+
+  public LogReader(InputStream stream, Sink sink) {
+    this.stream = stream;
+    this.sink = sink;
+  }
+
+  public synchronized void start(String name) {
+    if (thread == null) {
+      thread = new Thread(this::run, name);
+      thread.setDaemon(true);
+      thread.start();
+    }
+  }
+
+  /**
+   * Read the stream until its end on the calling thread.
+   */
+  public void run() {
+    byte[] chunk = new byte[8192];
+    try {
+      int lg;
+      while (!closed && (lg = stream.read(chunk)) != -1) {
+        List<String> lines = split(chunk, lg);
+        if (!lines.isEmpty()) {
+          sink.accept(lines);
+        }
+      }
+      if (partialLength > 0) {
+        List<String> last = new ArrayList<>(1);
+        flush(last);
+        sink.accept(last);
+      }
+    } catch (IOException e) {
+      if (!closed) {
+        try {
+          sink.accept(Arrays.asList("Log stream failed: " + e.getLocalizedMessage()));
+        } catch (InterruptedException e1) {}
+      }
+    } catch (InterruptedException e) {
+      //closed while the sink was full
+    } finally {
+      try {
+        stream.close();
+      } catch (IOException e) {}
+    }
+  }
+
+  List<String> split(byte[] chunk, int length) {
+    List<String> lines = new ArrayList<>();
+    int start = 0;
+    for (int i = 0; i < length; ++i) {
+      if (chunk[i] == '\n') {
+        if (partialLength == 0) {
+          int end = i > start && chunk[i - 1] == '\r' ? i - 1 : i;
+          lines.add(new String(chunk, start, end - start, StandardCharsets.UTF_8));
+        } else {
+          addPartial(chunk, start, i - start);
+          flush(lines);
+        }
+        start = i + 1;
+      } else if (i - start + partialLength >= MAX_LINE_LENGTH) {
+        addPartial(chunk, start, i - start);
+        flush(lines);
+        start = i;
+      }
+    }
+    addPartial(chunk, start, length - start);
+    return lines;
+  }
+
+  private void addPartial(byte[] chunk, int start, int length) {
+    if (partialLength + length > partial.length) {
+      partial = Arrays.copyOf(partial, Math.max(partial.length * 2, partialLength + length));
+    }
+    System.arraycopy(chunk, start, partial, partialLength, length);
+    partialLength += length;
+  }
+
+  private void flush(List<String> lines) {
+    int end = partialLength > 0 && partial[partialLength - 1] == '\r' ? partialLength - 1 : partialLength;
+    lines.add(new String(partial, 0, end, StandardCharsets.UTF_8));
+    partialLength = 0;
+    if (partial.length > MAX_LINE_LENGTH) {
+      partial = new byte[256];
+    }
+  }
+
+  @Override
+  public void close() {
+    closed = true;
+    try {
+      stream.close();
+    } catch (IOException e) {}
+    synchronized (this) {
+      if (thread != null) {
+        thread.interrupt();
+      }
+    }
+  }
+}
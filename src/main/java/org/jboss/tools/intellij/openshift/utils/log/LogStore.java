@@ -0,0 +1,471 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils.log;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Searchable history of a log, kept beyond the lines of its {@link LogBuffer}. Lines are grouped in
+ * segments of {@link #SEGMENT_LINES_PROPERTY} lines that are deflated once full, each with an index
+ * of the lower case trigrams of its lines, so that a search only inflates the segments that may
+ * contain the searched text or the literal part of the searched regular expression.
+ * The segments and indexes use at most {@link #MEMORY_PROPERTY} bytes of heap, older segments are
+ * spilled to a temporary folder up to {@link #DISK_PROPERTY} bytes and the oldest ones are then
+ * dropped.
+ */
+public class LogStore implements LogBuffer.Listener, Closeable {
+  public static final String SEGMENT_LINES_PROPERTY = LogStore.class.getName() + ".segmentLines";
+
+  public static final String MEMORY_PROPERTY = LogStore.class.getName() + ".memory";
+
+  public static final String DISK_PROPERTY = LogStore.class.getName() + ".disk";
+
+  private static final int INDEX_BITS = 14;
+
+  private static final int INDEX_BYTES = (1 << INDEX_BITS) / 8;
+
+  public static class Match {
+    private final long line;
+    private final String text;
+
+    private Match(long line, String text) {
+      this.line = line;
+      this.text = text;
+    }
+
+    public long getLine() {
+      return line;
+    }
+
+    public String getText() {
+      return text;
+    }
+  }
+
+  public static class Result {
+    private final Pattern pattern;
+    private final List<Match> matches;
+    private final long end;
+
+    private Result(Pattern pattern, List<Match> matches, long end) {
+      this.pattern = pattern;
+      this.matches = matches;
+      this.end = end;
+    }
+
+    public Pattern getPattern() {
+      return pattern;
+    }
+
+    /**
+     * @return the matching lines in log order
+     */
+    public List<Match> getMatches() {
+      return matches;
+    }
+
+    /**
+     * @return the number of the line following the searched ones
+     */
+    public long getEnd() {
+      return end;
+    }
+  }
+
+  private static class Segment {
+    private final long first;
+    private final int count;
+    private final int length;
+    private final int size;
+    private final long[] index;
+    private volatile byte[] data;
+    private volatile Path file;
+
+    private Segment(long first, int count, int length, long[] index, byte[] data) {
+      this.first = first;
+      this.count = count;
+      this.length = length;
+      this.size = data.length;
+      this.index = index;
+      this.data = data;
+    }
+  }
+
+  private final int segmentLines;
+  private final long maxMemory;
+  private final long maxDisk;
+  private final Deque<Segment> segments = new ArrayDeque<>();
+  private List<String> current = new ArrayList<>();
+  private long currentFirst;
+  private long memory;
+  private long disk;
+  private Path folder;
+  private boolean closed;
+
+  public LogStore() {
+    this(Math.max(1, Integer.getInteger(SEGMENT_LINES_PROPERTY, 4096)), Long.getLong(MEMORY_PROPERTY, 16L * 1024 * 1024),
+      Long.getLong(DISK_PROPERTY, 256L * 1024 * 1024));
+  }
+
+  public LogStore(int segmentLines, long maxMemory, long maxDisk) {
+    this.segmentLines = segmentLines;
+    this.maxMemory = maxMemory;
+    this.maxDisk = maxDisk;
+  }
+
+  @Override
+  public void onAppended(LogBuffer buffer) {
+    long next;
+    synchronized (this) {
+      next = getEnd();
+    }
+    long first = Math.max(next, buffer.getFirst());
+    append(first, buffer.getLines(first));
+  }
+
+  /**
+   * @param first the number of the first line, lines missed since the previous append are skipped
+   */
+  public synchronized void append(long first, List<String> lines) {
+    if (closed || lines.isEmpty()) {
+      return;
+    }
+    if (first != getEnd()) {
+      seal();
+      currentFirst = first;
+    }
+    for (String line : lines) {
+      current.add(line);
+      if (current.size() >= segmentLines) {
+        seal();
+      }
+    }
+  }
+
+  /**
+   * @return the number of the oldest stored line
+   */
+  public synchronized long getFirst() {
+    return segments.isEmpty() ? currentFirst : segments.getFirst().first;
+  }
+
+  /**
+   * @return the number of the next appended line
+   */
+  public synchronized long getEnd() {
+    return currentFirst + current.size();
+  }
+
+  synchronized long getMemory() {
+    return memory;
+  }
+
+  synchronized long getDisk() {
+    return disk;
+  }
+
+  private void seal() {
+    if (current.isEmpty()) {
+      return;
+    }
+    long[] index = new long[INDEX_BYTES / 8];
+    StringBuilder builder = new StringBuilder();
+    for (String line : current) {
+      index(line, index);
+      builder.append(line.replace('\n', ' ')).append('\n');
+    }
+    byte[] raw = builder.toString().getBytes(StandardCharsets.UTF_8);
+    Segment segment = new Segment(currentFirst, current.size(), raw.length, index, deflate(raw));
+    segments.add(segment);
+    memory += segment.size + INDEX_BYTES;
+    currentFirst += current.size();
+    current = new ArrayList<>();
+    evict();
+  }
+
+  private void evict() {
+    Iterator<Segment> iterator = segments.iterator();
+    while (memory > maxMemory && iterator.hasNext()) {
+      Segment segment = iterator.next();
+      if (segment.data != null && maxDisk > 0 && spill(segment)) {
+        memory -= segment.size;
+        disk += segment.size;
+        segment.data = null;
+      }
+    }
+    while ((memory > maxMemory || disk > maxDisk) && segments.size() > 1) {
+      Segment segment = segments.removeFirst();
+      memory -= INDEX_BYTES;
+      if (segment.data != null) {
+        memory -= segment.size;
+      } else {
+        disk -= segment.size;
+        delete(segment.file);
+      }
+    }
+  }
+
+  private boolean spill(Segment segment) {
+    try {
+      if (folder == null) {
+        folder = Files.createTempDirectory("openshift-log");
+      }
+      Path file = folder.resolve("segment-" + segment.first);
+      Files.write(file, segment.data);
+      segment.file = file;
+      return true;
+    } catch (IOException e) {
+      return false;
+    }
+  }
+
+  private static void delete(Path file) {
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {}
+  }
+
+  /**
+   * Search the stored lines.
+   *
+   * @param query the searched text, or regular expression if regex is true, case is ignored
+   * @param max the maximum number of matches, the latest ones are returned
+   * @throws java.util.regex.PatternSyntaxException if the regular expression is invalid
+   */
+  public Result search(String query, boolean regex, int max) {
+    return search(compile(query, regex), regex ? literal(query) : query, max);
+  }
+
+  public static Pattern compile(String query, boolean regex) {
+    return Pattern.compile(regex ? query : Pattern.quote(query), Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+  }
+
+  private Result search(Pattern pattern, String literal, int max) {
+    List<Segment> sealed;
+    List<String> lines;
+    long first;
+    synchronized (this) {
+      sealed = new ArrayList<>(segments);
+      lines = new ArrayList<>(current);
+      first = currentFirst;
+    }
+    long[] grams = literal != null ? grams(literal) : null;
+    List<Match> matches = new ArrayList<>();
+    match(pattern, first, lines, matches, max);
+    for (int i = sealed.size() - 1; i >= 0 && matches.size() < max; --i) {
+      Segment segment = sealed.get(i);
+      if (grams == null || contains(segment.index, grams)) {
+        List<String> segmentLines = read(segment);
+        if (segmentLines != null) {
+          match(pattern, segment.first, segmentLines, matches, max);
+        }
+      }
+    }
+    Collections.reverse(matches);
+    return new Result(pattern, matches, first + lines.size());
+  }
+
+  private static void match(Pattern pattern, long first, List<String> lines, List<Match> matches, int max) {
+    for (int i = lines.size() - 1; i >= 0 && matches.size() < max; --i) {
+      if (pattern.matcher(lines.get(i)).find()) {
+        matches.add(new Match(first + i, lines.get(i)));
+      }
+    }
+  }
+
+  private static List<String> read(Segment segment) {
+    byte[] data = segment.data;
+    try {
+      if (data == null) {
+        data = Files.readAllBytes(segment.file);
+      }
+      String text = new String(inflate(data, segment.length), StandardCharsets.UTF_8);
+      List<String> lines = new ArrayList<>(segment.count);
+      int start = 0;
+      for (int end = text.indexOf('\n'); end != -1; end = text.indexOf('\n', start)) {
+        lines.add(text.substring(start, end));
+        start = end + 1;
+      }
+      return lines;
+    } catch (IOException | DataFormatException e) {
+      //evicted while searched
+      return null;
+    }
+  }
+
+  private static byte[] deflate(byte[] raw) {
+    Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    try {
+      deflater.setInput(raw);
+      deflater.finish();
+      ByteArrayOutputStream output = new ByteArrayOutputStream(raw.length / 4 + 64);
+      byte[] chunk = new byte[8192];
+      while (!deflater.finished()) {
+        output.write(chunk, 0, deflater.deflate(chunk));
+      }
+      return output.toByteArray();
+    } finally {
+      deflater.end();
+    }
+  }
+
+  private static byte[] inflate(byte[] data, int length) throws DataFormatException {
+    Inflater inflater = new Inflater();
+    try {
+      inflater.setInput(data);
+      byte[] raw = new byte[length];
+      int offset = 0;
+      while (offset < length && !inflater.finished()) {
+        int lg = inflater.inflate(raw, offset, length - offset);
+        if (lg == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+          throw new DataFormatException("Truncated log segment");
+        }
+        offset += lg;
+      }
+      return raw;
+    } finally {
+      inflater.end();
+    }
+  }
+
+  private static int gram(char c1, char c2, char c3) {
+    int hash = ((Character.toLowerCase(c1) * 31) + Character.toLowerCase(c2)) * 31 + Character.toLowerCase(c3);
+    return (hash * 0x9E3779B1) >>> (32 - INDEX_BITS);
+  }
+
+  private static void index(String line, long[] index) {
+    for (int i = 2; i < line.length(); ++i) {
+      int gram = gram(line.charAt(i - 2), line.charAt(i - 1), line.charAt(i));
+      index[gram >>> 6] |= 1L << gram;
+    }
+  }
+
+  private static long[] grams(String literal) {
+    if (literal.length() < 3) {
+      return null;
+    }
+    long[] grams = new long[INDEX_BYTES / 8];
+    index(literal, grams);
+    return grams;
+  }
+
+  private static boolean contains(long[] index, long[] grams) {
+    for (int i = 0; i < grams.length; ++i) {
+      if ((index[i] & grams[i]) != grams[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Return the longest text that any match of a regular expression must contain, or null if it has
+   * no such text of at least 3 characters.
+   */
+  static String literal(String regex) {
+    if (regex.indexOf('|') != -1) {
+      return null;
+    }
+    String longest = "";
+    StringBuilder run = new StringBuilder();
+    int depth = 0;
+    for (int i = 0; i < regex.length(); ++i) {
+      char c = regex.charAt(i);
+      char literal = 0;
+      if (c == '\\' && i + 1 < regex.length()) {
+        char escaped = regex.charAt(++i);
+        if (!Character.isLetterOrDigit(escaped)) {
+          literal = escaped;
+        }
+      } else if (c == '[') {
+        i = skipClass(regex, i);
+      } else if (c == '{') {
+        //skip the quantifier bounds
+        int end = regex.indexOf('}', i);
+        i = end == -1 ? regex.length() : end;
+      } else if (c == '(') {
+        ++depth;
+      } else if (c == ')') {
+        --depth;
+      } else if (".*+?^$".indexOf(c) == -1) {
+        literal = c;
+      }
+      //a group may be optional or repeated so only the top level text is required
+      boolean optional = i + 1 < regex.length() && "*?{".indexOf(regex.charAt(i + 1)) != -1;
+      if (literal != 0 && depth == 0 && !optional) {
+        run.append(literal);
+      } else {
+        longest = longest(longest, run);
+      }
+    }
+    longest = longest(longest, run);
+    return longest.length() >= 3 ? longest : null;
+  }
+
+  private static int skipClass(String regex, int start) {
+    int i = start + 1;
+    if (i < regex.length() && regex.charAt(i) == '^') {
+      ++i;
+    }
+    //a leading bracket is part of the class
+    if (i < regex.length() && regex.charAt(i) == ']') {
+      ++i;
+    }
+    for (; i < regex.length() && regex.charAt(i) != ']'; ++i) {
+      if (regex.charAt(i) == '\\') {
+        ++i;
+      }
+    }
+    return i;
+  }
+
+  private static String longest(String longest, StringBuilder run) {
+    String result = run.length() > longest.length() ? run.toString() : longest;
+    run.setLength(0);
+    return result;
+  }
+
+  @Override
+  public void close() {
+    Path folder;
+    synchronized (this) {
+      closed = true;
+      segments.clear();
+      current = new ArrayList<>();
+      memory = 0;
+      disk = 0;
+      folder = this.folder;
+      this.folder = null;
+    }
+    if (folder != null) {
+      try (Stream<Path> files = Files.list(folder)) {
+        files.forEach(LogStore::delete);
+      } catch (IOException e) {}
+      delete(folder);
+    }
+  }
+}
@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils.odo;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Push several components concurrently, so that redeploying an application takes about as long as
+ * its slowest component. At most {@link #PARALLELISM_PROPERTY} pushes run at the same time. Each
+ * push goes through the {@link OperationQueue} of its context, so it is still serialized with the
+ * other operations on the component and coalesced with a push that is already queued. A pushed
+ * component whose context did not change since its last push is not pushed again.
+ */
+public class BatchPush {
+  public static final String PARALLELISM_PROPERTY = BatchPush.class.getName() + ".parallelism";
+
+  /**
+   * Receives the outcome of each push, from the thread that ran it.
+   */
+  public interface Reporter {
+    /**
+     * @param error the failure of the push or null if it succeeded
+     */
+    void report(Component component, IOException error, int done, int total);
+  }
+
+  private final Odo odo;
+  private final OperationQueue queue;
+  private final int parallelism;
+
+  public BatchPush(Odo odo) {
+    this(odo, OperationQueue.get(), Math.max(1, Integer.getInteger(PARALLELISM_PROPERTY, 4)));
+  }
+
+  public BatchPush(Odo odo, OperationQueue queue, int parallelism) {
+    this.odo = odo;
+    this.queue = queue;
+    this.parallelism = parallelism;
+  }
+
+  /**
+   * Push the components and wait for all pushes to complete.
+   *
+   * @param cancelled checked before each push is started, the pushes already started are completed
+   * @return the failed pushes, in the order of the components
+   */
+  public Map<Component, IOException> push(String project, String application, List<Component> components, Reporter reporter, BooleanSupplier cancelled) throws InterruptedException {
+    Map<Component, IOException> errors = new LinkedHashMap<>();
+    Semaphore permits = new Semaphore(parallelism);
+    AtomicInteger done = new AtomicInteger();
+    List<CompletableFuture<Void>> pushes = new ArrayList<>(components.size());
+    for (Component component : components) {
+      permits.acquire();
+      if (cancelled.getAsBoolean()) {
+        permits.release();
+        break;
+      }
+      pushes.add(queue.submit(component.getPath(), OperationQueue.PUSH, () -> {
+          if (isPushNeeded(component)) {
+            odo.pushInBackground(project, application, component.getPath(), component.getName());
+          }
+        })
+        .handle((result, e) -> {
+          try {
+            IOException error = getError(e);
+            if (error == null) {
+              component.setState(ComponentState.PUSHED);
+            } else {
+              synchronized (errors) {
+                errors.put(component, error);
+              }
+            }
+            reporter.report(component, error, done.incrementAndGet(), components.size());
+          } finally {
+            permits.release();
+          }
+          return null;
+        }));
+    }
+    CompletableFuture.allOf(pushes.toArray(new CompletableFuture[0])).join();
+    Map<Component, IOException> result = new LinkedHashMap<>();
+    components.stream().filter(errors::containsKey).forEach(component -> result.put(component, errors.get(component)));
+    return result;
+  }
+
+  /**
+   * @return false if the component is pushed and its context is unchanged since its last push
+   */
+  protected boolean isPushNeeded(Component component) {
+    return component.getState() != ComponentState.PUSHED || PushFingerprint.isDirty(Paths.get(component.getPath()));
+  }
+
+  private static IOException getError(Throwable e) {
+    if (e instanceof CompletionException && e.getCause() != null) {
+      e = e.getCause();
+    }
+    if (e == null || e instanceof IOException) {
+      return (IOException) e;
+    }
+    return new IOException(e.getLocalizedMessage(), e);
+  }
+}
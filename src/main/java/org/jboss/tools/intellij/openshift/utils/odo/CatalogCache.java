@@ -0,0 +1,153 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils.odo;
+
+import io.fabric8.kubernetes.api.model.Cluster;
+import io.fabric8.kubernetes.api.model.Config;
+import io.fabric8.kubernetes.api.model.Context;
+import io.fabric8.kubernetes.client.internal.KubeConfigUtils;
+import org.jboss.tools.intellij.openshift.utils.ConfigHelper;
+import org.jboss.tools.intellij.openshift.utils.ExecHelper;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Cache of the odo catalog (component types, service templates) per cluster and user, as
+ * defined by the current kubeconfig context. Entries expire after a TTL that can be set in
+ * seconds through the {@link #TTL_PROPERTY} system property. An entry that is read after
+ * {@link #REFRESH_AHEAD_RATIO} of its TTL is still returned but refreshed in background, so
+ * that callers rarely wait for odo. A {@link Store} can keep entries across IDE restarts: a stored
+ * entry is served on first access and revalidated in background.
+ */
+public class CatalogCache {
+  public static final String TTL_PROPERTY = CatalogCache.class.getName() + ".ttl";
+
+  public static final double REFRESH_AHEAD_RATIO = 0.75;
+
+  private static final long DEFAULT_TTL = TimeUnit.MINUTES.toSeconds(10);
+
+  @FunctionalInterface
+  public interface Loader<T> {
+    T load() throws IOException;
+  }
+
+  /**
+   * Persistent storage of the entries of a kind, per cluster.
+   */
+  public interface Store<T> {
+    /**
+     * @return the stored value or null if there is none or it cannot be read
+     */
+    T read(String cluster);
+
+    void write(String cluster, T value);
+  }
+
+  private static class Entry<T> {
+    private final T value;
+    private final long timestamp;
+    private final boolean stale;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    private Entry(T value, long timestamp, boolean stale) {
+      this.value = value;
+      this.timestamp = timestamp;
+      this.stale = stale;
+    }
+  }
+
+  private final Map<String, Entry<?>> entries = new ConcurrentHashMap<>();
+  private final long ttl;
+
+  public CatalogCache() {
+    this(TimeUnit.SECONDS.toMillis(Long.getLong(TTL_PROPERTY, DEFAULT_TTL)));
+  }
+
+  public CatalogCache(long ttl) {
+    this.ttl = ttl;
+  }
+
+  protected long now() {
+    return System.currentTimeMillis();
+  }
+
+  /**
+   * Identify the cluster and user the catalog is read for, so that switching context does not
+   * serve the catalog of another cluster.
+   */
+  protected String getCluster() {
+    Config config = ConfigHelper.safeGetKubeConfigSnapshot();
+    if (config != null) {
+      Context context = KubeConfigUtils.getCurrentContext(config);
+      if (context != null) {
+        Cluster cluster = KubeConfigUtils.getCluster(config, context);
+        return (cluster != null ? cluster.getServer() : context.getCluster()) + '|' + context.getUser();
+      }
+    }
+    return "";
+  }
+
+  protected void refresh(Runnable runnable) {
+    ExecHelper.submit(runnable);
+  }
+
+  public <T> T get(String kind, Loader<T> loader) throws IOException {
+    return get(kind, loader, null);
+  }
+
+  public <T> T get(String kind, Loader<T> loader, Store<T> store) throws IOException {
+    String cluster = getCluster();
+    String key = cluster + '|' + kind;
+    Entry<T> entry = (Entry<T>) entries.get(key);
+    if (entry == null && store != null) {
+      T value = store.read(cluster);
+      if (value != null) {
+        entry = new Entry<>(value, now(), true);
+        entries.putIfAbsent(key, entry);
+      }
+    }
+    long age = entry != null ? now() - entry.timestamp : Long.MAX_VALUE;
+    if (age >= ttl) {
+      return load(cluster, key, loader, store);
+    }
+    if ((entry.stale || age >= ttl * REFRESH_AHEAD_RATIO) && entry.refreshing.compareAndSet(false, true)) {
+      Entry<T> refreshed = entry;
+      refresh(() -> {
+        try {
+          load(cluster, key, loader, store);
+        } catch (IOException e) {
+          refreshed.refreshing.set(false);
+        }
+      });
+    }
+    return entry.value;
+  }
+
+  private <T> T load(String cluster, String key, Loader<T> loader, Store<T> store) throws IOException {
+    T value = loader.load();
+    entries.put(key, new Entry<>(value, now(), false));
+    if (store != null) {
+      store.write(cluster, value);
+    }
+    return value;
+  }
+
+  /**
+   * Drop all the entries, for instance after a login or logout as the catalog depends on the user.
+   */
+  public void invalidate() {
+    entries.clear();
+  }
+}
@@ -0,0 +1,247 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils.odo;
+
+import com.intellij.openapi.vfs.newvfs.BulkFileListener;
+import com.intellij.openapi.vfs.newvfs.events.VFileContentChangeEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileEvent;
+import org.jboss.tools.intellij.openshift.utils.TaskScheduler;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import static org.jboss.tools.intellij.openshift.Constants.ODO_CONFIG_YAML;
+
+/**
+ * Local components of an IDE project, indexed by their context and by their project, application
+ * and name, with the parsed {@link LocalConfig} of each context. A config is parsed when its context
+ * is added and again only after a file event on it, the events are handled in background and the
+ * re-parse is done on the next lookup so that the file events are not slowed down, and the
+ * component is re-indexed or removed if the config was changed or deleted.
+ */
+public class ComponentRegistry implements BulkFileListener {
+  public static class ComponentDescriptor {
+    private final String path;
+    private final LocalConfig config;
+
+    private ComponentDescriptor(String path, LocalConfig config) {
+      this.path = path;
+      this.config = config;
+    }
+
+    public String getPath() {
+      return path;
+    }
+
+    public String getProject() {
+      return config.getComponentSettings().getProject();
+    }
+
+    public String getApplication() {
+      return config.getComponentSettings().getApplication();
+    }
+
+    public String getName() {
+      return config.getComponentSettings().getName();
+    }
+
+    public LocalConfig.ComponentSettings getSettings() {
+      return config.getComponentSettings();
+    }
+  }
+
+  private static class Key {
+    private final String project;
+    private final String application;
+    private final String name;
+
+    private Key(String project, String application, String name) {
+      this.project = project;
+      this.application = application;
+      this.name = name;
+    }
+
+    private Key(ComponentDescriptor descriptor) {
+      this(descriptor.getProject(), descriptor.getApplication(), descriptor.getName());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key key = (Key) o;
+      return Objects.equals(project, key.project) && Objects.equals(application, key.application) && Objects.equals(name, key.name);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(project, application, name);
+    }
+  }
+
+  private final Map<String, ComponentDescriptor> byPath = new LinkedHashMap<>();
+  private final Map<Key, ComponentDescriptor> byKey = new HashMap<>();
+  private final Map<String, String> stale = new HashMap<>();
+  private final Runnable listener;
+
+  /**
+   * @param listener called when a file event invalidated a registered config
+   */
+  public ComponentRegistry(Runnable listener) {
+    this.listener = listener;
+  }
+
+  private static String normalize(String path) {
+    return path.replace('\\', '/');
+  }
+
+  protected LocalConfig load(String path) throws IOException {
+    return LocalConfig.load(new File(path, ODO_CONFIG_YAML).toURI().toURL());
+  }
+
+  private LocalConfig read(String path) throws IOException {
+    LocalConfig config = load(path);
+    if (config.getComponentSettings() == null) {
+      throw new IOException("No component settings in " + path);
+    }
+    return config;
+  }
+
+  /**
+   * Register the context of a component.
+   *
+   * @return true if the context was not registered
+   */
+  public boolean add(String path) throws IOException {
+    LocalConfig config = read(path);
+    synchronized (this) {
+      stale.remove(normalize(path));
+      return index(path, config) == null;
+    }
+  }
+
+  /**
+   * @return true if the context was registered
+   */
+  public synchronized boolean remove(String path) {
+    stale.remove(normalize(path));
+    return unindex(path) != null;
+  }
+
+  private ComponentDescriptor index(String path, LocalConfig config) {
+    ComponentDescriptor descriptor = new ComponentDescriptor(path, config);
+    ComponentDescriptor previous = byPath.put(path, descriptor);
+    if (previous != null) {
+      byKey.remove(new Key(previous), previous);
+    }
+    byKey.put(new Key(descriptor), descriptor);
+    return previous;
+  }
+
+  private ComponentDescriptor unindex(String path) {
+    ComponentDescriptor previous = byPath.remove(path);
+    if (previous != null) {
+      byKey.remove(new Key(previous), previous);
+    }
+    return previous;
+  }
+
+  /**
+   * Parse again the invalidated configs.
+   */
+  private void reload() {
+    for (Iterator<String> iterator = stale.values().iterator(); iterator.hasNext(); ) {
+      String path = iterator.next();
+      iterator.remove();
+      try {
+        index(path, read(path));
+      } catch (IOException e) {
+        unindex(path);
+      }
+    }
+  }
+
+  public synchronized boolean contains(String path) {
+    return byPath.containsKey(path);
+  }
+
+  /**
+   * @return the component of the given context, or null
+   */
+  public synchronized ComponentDescriptor get(String path) {
+    reload();
+    return byPath.get(path);
+  }
+
+  /**
+   * @return the component with the given project, application and name, or null
+   */
+  public synchronized ComponentDescriptor get(String project, String application, String component) {
+    reload();
+    return byKey.get(new Key(project, application, component));
+  }
+
+  /**
+   * @return the components indexed by their context
+   */
+  public synchronized Map<String, ComponentDescriptor> getComponents() {
+    reload();
+    return Collections.unmodifiableMap(new LinkedHashMap<>(byPath));
+  }
+
+  @Override
+  public void after(List<? extends VFileEvent> events) {
+    //only the content changes of the configs matter, other events may move or delete a context
+    List<String> paths = events.stream()
+      .filter(event -> !(event instanceof VFileContentChangeEvent) || normalize(event.getPath()).endsWith('/' + ODO_CONFIG_YAML))
+      .map(VFileEvent::getPath).collect(Collectors.toList());
+    if (!paths.isEmpty()) {
+      //the events are received on the event dispatch thread and the listener may reload the tree
+      TaskScheduler.runAsync(TaskScheduler.Pool.FILES, () -> onChanged(paths));
+    }
+  }
+
+  /**
+   * Invalidate the configs of the registered contexts that are or are below one of the changed
+   * paths.
+   */
+  protected void onChanged(Collection<String> paths) {
+    boolean invalidated = false;
+    synchronized (this) {
+      for (String path : byPath.keySet()) {
+        String config = normalize(path) + '/' + ODO_CONFIG_YAML;
+        for (String changed : paths) {
+          changed = normalize(changed);
+          if (config.equals(changed) || config.startsWith(changed + '/')) {
+            invalidated |= stale.put(normalize(path), path) == null;
+            break;
+          }
+        }
+      }
+    }
+    if (invalidated) {
+      listener.run();
+    }
+  }
+}
@@ -13,4 +13,18 @@ package org.jboss.tools.intellij.openshift.utils.odo;
 public interface ComponentType {
   String getName();
   String[] getVersions();
+
+  static ComponentType of(String name, String[] versions) {
+    return new ComponentType() {
+      @Override
+      public String getName() {
+        return name;
+      }
+
+      @Override
+      public String[] getVersions() {
+        return versions;
+      }
+    };
+  }
 }
@@ -34,18 +34,7 @@ public class ComponentTypesDeserializer extends StdNodeBasedDeserializer<List<Co
                 String name = item.get("metadata").get("name").asText();
                 List<String> versions = new ArrayList<>();
                 item.get("spec").get("nonHiddenTags").forEach(node -> versions.add(node.textValue()));
-                result.add(new ComponentType() {
-
-                    @Override
-                    public String getName() {
-                        return name;
-                    }
-
-                    @Override
-                    public String[] getVersions() {
-                        return versions.toArray(new String[versions.size()]);
-                    }
-                });
+                result.add(ComponentType.of(name, versions.toArray(new String[versions.size()])));
             }
         }
         return result;
@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils.odo;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.jboss.tools.intellij.openshift.Constants.HOME_FOLDER;
+import static org.jboss.tools.intellij.openshift.utils.odo.OdoCli.PLUGIN_FOLDER;
+
+/**
+ * Copy of the component types of a cluster saved under the plugin folder, so that the catalog
+ * can be displayed before odo has been run after the IDE is started. The file records the
+ * format version and is ignored if it does not match {@link #VERSION}.
+ */
+public class ComponentTypesSnapshot implements CatalogCache.Store<List<ComponentType>> {
+  public static final int VERSION = 1;
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private final Path folder;
+
+  public ComponentTypesSnapshot() {
+    this(Paths.get(HOME_FOLDER, PLUGIN_FOLDER, "cache", "catalog"));
+  }
+
+  public ComponentTypesSnapshot(Path folder) {
+    this.folder = folder;
+  }
+
+  private Path getPath(String cluster) {
+    try {
+      StringBuilder builder = new StringBuilder();
+      for(byte b : MessageDigest.getInstance("SHA-256").digest(cluster.getBytes(StandardCharsets.UTF_8))) {
+        builder.append(String.format("%02x", b));
+      }
+      return folder.resolve("components-" + builder + ".json");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  @Override
+  public List<ComponentType> read(String cluster) {
+    Path path = getPath(cluster);
+    if (Files.exists(path)) {
+      try {
+        JsonNode root = MAPPER.readTree(path.toFile());
+        if (root != null && root.path("version").asInt() == VERSION && cluster.equals(root.path("cluster").asText())) {
+          List<ComponentType> types = new ArrayList<>();
+          for(JsonNode type : root.path("componentTypes")) {
+            List<String> versions = new ArrayList<>();
+            type.path("versions").forEach(version -> versions.add(version.asText()));
+            types.add(ComponentType.of(type.path("name").asText(), versions.toArray(new String[versions.size()])));
+          }
+          return types;
+        }
+      } catch (IOException e) {}
+    }
+    return null;
+  }
+
+  @Override
+  public void write(String cluster, List<ComponentType> types) {
+    ObjectNode root = MAPPER.createObjectNode();
+    root.put("version", VERSION);
+    root.put("cluster", cluster);
+    ArrayNode array = root.putArray("componentTypes");
+    types.forEach(type -> {
+      ObjectNode node = array.addObject();
+      node.put("name", type.getName());
+      ArrayNode versions = node.putArray("versions");
+      for(String version : type.getVersions()) {
+        versions.add(version);
+      }
+    });
+    Path path = getPath(cluster);
+    try {
+      Files.createDirectories(folder);
+      Path temp = Files.createTempFile(folder, "components", ".tmp");
+      try (OutputStream stream = Files.newOutputStream(temp)) {
+        MAPPER.writeValue(stream, root);
+      }
+      //readers never see a partially written snapshot
+      Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {}
+  }
+}
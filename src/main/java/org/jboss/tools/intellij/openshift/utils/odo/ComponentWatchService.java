@@ -0,0 +1,211 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils.odo;
+
+import com.intellij.notification.Notification;
+import com.intellij.notification.NotificationType;
+import com.intellij.notification.Notifications;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.util.Disposer;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.openapi.vfs.newvfs.BulkFileListener;
+import com.intellij.openapi.vfs.newvfs.events.VFileEvent;
+import com.intellij.util.messages.MessageBusConnection;
+import org.jboss.tools.intellij.openshift.Constants;
+import org.jboss.tools.intellij.openshift.utils.TaskScheduler;
+
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Application wide watch of the component contexts, driven by the file events of the IDE instead of
+ * an {@code odo watch} process per component. The changes of a watched context are debounced for
+ * {@link #DELAY_PROPERTY} milliseconds so that a burst of saves results in a single push, which goes
+ * through the {@link OperationQueue} of the context and is skipped if the content did not change
+ * since the last push, e.g. when only ignored files were written. A context is watched on behalf of an
+ * IDE project, whose {@link Odo} it uses, and is unwatched when that project is disposed.
+ */
+public class ComponentWatchService implements BulkFileListener, Disposable {
+  public static final String DELAY_PROPERTY = ComponentWatchService.class.getName() + ".delay";
+
+  private static class Watched {
+    private final Disposable parent;
+    private final Odo odo;
+    private final String project;
+    private final String application;
+    private final String context;
+    private final String component;
+    private CompletableFuture<?> pending;
+
+    private Watched(Disposable parent, Odo odo, String project, String application, String context, String component) {
+      this.parent = parent;
+      this.odo = odo;
+      this.project = project;
+      this.application = application;
+      this.context = context;
+      this.component = component;
+    }
+  }
+
+  private final Map<String, Watched> watched = new ConcurrentHashMap<>();
+  private final Set<Disposable> parents = ConcurrentHashMap.newKeySet();
+  private final OperationQueue queue;
+  private final long delay;
+  private MessageBusConnection connection;
+
+  public ComponentWatchService() {
+    this(OperationQueue.get(), Long.getLong(DELAY_PROPERTY, 1000));
+  }
+
+  protected ComponentWatchService(OperationQueue queue, long delay) {
+    this.queue = queue;
+    this.delay = delay;
+  }
+
+  public static ComponentWatchService getInstance() {
+    return ServiceManager.getService(ComponentWatchService.class);
+  }
+
+  private static String normalize(String path) {
+    return path.replace('\\', '/');
+  }
+
+  /**
+   * Start pushing the changes of a component context until it is unwatched or the parent is disposed,
+   * the IDE file events are listened to as long as one context is watched.
+   */
+  public synchronized void watch(Disposable parent, Odo odo, String project, String application, String context, String component) {
+    if (parents.add(parent)) {
+      Disposer.register(parent, () -> unwatchAll(parent));
+    }
+    watched.put(normalize(context), new Watched(parent, odo, project, application, context, component));
+    connect();
+  }
+
+  public synchronized void unwatch(String context) {
+    if (context == null) {
+      return;
+    }
+    Watched entry = watched.remove(normalize(context));
+    if (entry != null) {
+      synchronized (entry) {
+        if (entry.pending != null) {
+          entry.pending.cancel(false);
+        }
+      }
+    }
+    if (watched.isEmpty()) {
+      disconnect();
+    }
+  }
+
+  /**
+   * Stop watching the contexts watched on behalf of a disposed parent.
+   */
+  protected synchronized void unwatchAll(Disposable parent) {
+    parents.remove(parent);
+    watched.values().stream().filter(entry -> entry.parent == parent).map(entry -> entry.context)
+      .collect(Collectors.toList()).forEach(this::unwatch);
+  }
+
+  public boolean isWatched(String context) {
+    return context != null && watched.containsKey(normalize(context));
+  }
+
+  protected void connect() {
+    if (connection == null) {
+      connection = ApplicationManager.getApplication().getMessageBus().connect(this);
+      connection.subscribe(VirtualFileManager.VFS_CHANGES, this);
+    }
+  }
+
+  protected void disconnect() {
+    if (connection != null) {
+      connection.disconnect();
+      connection = null;
+    }
+  }
+
+  @Override
+  public void after(List<? extends VFileEvent> events) {
+    if (!watched.isEmpty()) {
+      onChanged(events.stream().map(VFileEvent::getPath).collect(Collectors.toList()));
+    }
+  }
+
+  /**
+   * Schedule a push of the watched contexts that contain one of the changed paths. The odo and git
+   * metadata are not part of the pushed content, and are written by the push itself, except the odo
+   * local configuration whose URLs and storages are created by a push.
+   */
+  protected void onChanged(Collection<String> paths) {
+    for (Watched entry : watched.values()) {
+      String prefix = normalize(entry.context) + '/';
+      boolean changed = paths.stream().map(ComponentWatchService::normalize)
+        .filter(path -> path.startsWith(prefix))
+        .map(path -> path.substring(prefix.length()))
+        .anyMatch(path -> path.equals(Constants.ODO_CONFIG_YAML) || (!path.startsWith(".odo/") && !path.startsWith(".git/")));
+      if (changed) {
+        schedule(entry);
+      }
+    }
+  }
+
+  private void schedule(Watched entry) {
+    synchronized (entry) {
+      if (entry.pending != null) {
+        entry.pending.cancel(false);
+      }
+      entry.pending = TaskScheduler.runAfter(TaskScheduler.Pool.FILES, () -> push(entry), delay, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  private void push(Watched entry) {
+    queue.submit(entry.context, OperationQueue.PUSH, () -> {
+      if (watched.get(normalize(entry.context)) == entry && PushFingerprint.isDirty(Paths.get(entry.context))) {
+        entry.odo.pushInBackground(entry.project, entry.application, entry.context, entry.component);
+      }
+    }).whenComplete((result, e) -> {
+      if (e != null) {
+        onError(entry.component, e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+      }
+    });
+  }
+
+  protected void onError(String component, Throwable error) {
+    Notifications.Bus.notify(new Notification(Constants.GROUP_DISPLAY_ID, "Watch " + component,
+      "Push failed: " + error.getLocalizedMessage(), NotificationType.ERROR));
+  }
+
+  @Override
+  public synchronized void dispose() {
+    watched.values().forEach(entry -> {
+      synchronized (entry) {
+        if (entry.pending != null) {
+          entry.pending.cancel(false);
+        }
+      }
+    });
+    watched.clear();
+    parents.clear();
+    disconnect();
+  }
+}
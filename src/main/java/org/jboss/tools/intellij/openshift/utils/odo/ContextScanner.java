@@ -0,0 +1,267 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils.odo;
+
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleManager;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ModuleRootManager;
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.util.Computable;
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.newvfs.BulkFileListener;
+import com.intellij.openapi.vfs.newvfs.events.VFileCopyEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileCreateEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileMoveEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFilePropertyChangeEvent;
+import com.intellij.psi.search.FilenameIndex;
+import com.intellij.psi.search.GlobalSearchScope;
+import org.jboss.tools.intellij.openshift.utils.TaskScheduler;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.jboss.tools.intellij.openshift.Constants.ODO_CONFIG_YAML;
+
+/**
+ * Background discovery of the component contexts of an IDE project. The odo configs are looked up
+ * in the file name index, so that the components nested below the content roots are found, and
+ * directly below the module and content roots in case the odo folder is excluded. The index is
+ * queried once it is ready and the configs are parsed in parallel, each component being added to the
+ * {@link ComponentRegistry} as soon as it is parsed.
+ * The scanner is then kept current from the file events: a created config is added at once, and a
+ * folder moved or copied into the project, or created with an odo folder, is checked for a config
+ * and triggers a new lookup in the index. The excluded folders, such as the build outputs, are
+ * ignored and the lookups triggered by a burst of events are merged.
+ */
+public class ContextScanner implements BulkFileListener {
+  private static final String CONFIG_NAME = new File(ODO_CONFIG_YAML).getName();
+
+  private static final String CONFIG_SUFFIX = '/' + ODO_CONFIG_YAML;
+
+  public static final String RESCAN_DELAY_PROPERTY = ContextScanner.class.getName() + ".rescan.delay";
+
+  private static final long DEFAULT_RESCAN_DELAY = 1000;
+
+  private final Project project;
+  private final ComponentRegistry registry;
+  private final Runnable listener;
+  private final AtomicBoolean scanScheduled = new AtomicBoolean();
+  private final AtomicBoolean rescanScheduled = new AtomicBoolean();
+
+  /**
+   * @param listener called when components were added to the registry
+   */
+  public ContextScanner(Project project, ComponentRegistry registry, Runnable listener) {
+    this.project = project;
+    this.registry = registry;
+    this.listener = listener;
+  }
+
+  private static String normalize(String path) {
+    return path.replace('\\', '/');
+  }
+
+  /**
+   * @return the context of a config path or null if the path is not a config
+   */
+  static String getContext(String path) {
+    String normalized = normalize(path);
+    return normalized.endsWith(CONFIG_SUFFIX) ? path.substring(0, path.length() - CONFIG_SUFFIX.length()) : null;
+  }
+
+  /**
+   * Scan the project once the file index is ready, a scan requested while another one is pending is
+   * merged with it.
+   *
+   * @return the completion of the scan after all the found contexts were added, or a completed future
+   * if a scan was already pending
+   */
+  public CompletableFuture<Void> scan() {
+    CompletableFuture<Void> result = new CompletableFuture<>();
+    if (!scanScheduled.compareAndSet(false, true)) {
+      result.complete(null);
+      return result;
+    }
+    whenSmart(() -> {
+      scanScheduled.set(false);
+      TaskScheduler.supplyAsync(TaskScheduler.Pool.FILES, this::findConfigs)
+        .thenCompose(this::addAll)
+        .whenComplete((r, e) -> {
+          if (e != null) {
+            result.completeExceptionally(e);
+          } else {
+            result.complete(null);
+          }
+        });
+    });
+    return result;
+  }
+
+  protected void whenSmart(Runnable runnable) {
+    DumbService.getInstance(project).runWhenSmart(runnable);
+  }
+
+  /**
+   * @return the paths of the odo configs of the project
+   */
+  protected Collection<String> findConfigs() {
+    return ApplicationManager.getApplication().runReadAction((Computable<Collection<String>>) () -> {
+      Set<String> paths = new LinkedHashSet<>();
+      if (project.isDisposed()) {
+        return paths;
+      }
+      FilenameIndex.getVirtualFilesByName(project, CONFIG_NAME, GlobalSearchScope.projectScope(project))
+        .forEach(file -> paths.add(file.getPath()));
+      for (Module module : ModuleManager.getInstance(project).getModules()) {
+        addConfig(LocalFileSystem.getInstance().findFileByPath(new File(module.getModuleFilePath()).getParent()), paths);
+        for (VirtualFile root : ModuleRootManager.getInstance(module).getContentRoots()) {
+          addConfig(root, paths);
+        }
+      }
+      return paths;
+    });
+  }
+
+  private static void addConfig(VirtualFile root, Set<String> paths) {
+    VirtualFile config = root != null ? root.findFileByRelativePath(ODO_CONFIG_YAML) : null;
+    if (config != null && config.isValid()) {
+      paths.add(config.getPath());
+    }
+  }
+
+  private CompletableFuture<Void> addAll(Collection<String> configs) {
+    return CompletableFuture.allOf(configs.stream().map(ContextScanner::getContext).filter(context -> context != null)
+      .map(context -> TaskScheduler.runAsync(TaskScheduler.Pool.FILES, () -> add(context)))
+      .toArray(CompletableFuture[]::new));
+  }
+
+  private void add(String context) {
+    try {
+      if (!registry.contains(context) && registry.add(context)) {
+        listener.run();
+      }
+    } catch (IOException e) {}
+  }
+
+  /**
+   * @return the delay in milliseconds before a scan triggered by file events
+   */
+  protected long getRescanDelay() {
+    return Long.getLong(RESCAN_DELAY_PROPERTY, DEFAULT_RESCAN_DELAY);
+  }
+
+  /**
+   * Scan the project after the rescan delay, the requests received until then are merged.
+   */
+  private void scheduleScan() {
+    if (rescanScheduled.compareAndSet(false, true)) {
+      TaskScheduler.runAfter(TaskScheduler.Pool.FILES, () -> {
+        rescanScheduled.set(false);
+        scan();
+      }, getRescanDelay(), TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /**
+   * @return true if the path is excluded from the project, such as a build output
+   */
+  protected boolean isExcluded(String path) {
+    return ApplicationManager.getApplication().runReadAction((Computable<Boolean>) () -> {
+      VirtualFile file = LocalFileSystem.getInstance().findFileByPath(path);
+      return file != null && !project.isDisposed() && ProjectRootManager.getInstance(project).getFileIndex().isExcluded(file);
+    });
+  }
+
+  @Override
+  public void after(List<? extends VFileEvent> events) {
+    //deletions and config changes are handled by the registry
+    List<String> created = new ArrayList<>();
+    List<String> moved = new ArrayList<>();
+    for (VFileEvent event : events) {
+      if (event instanceof VFileCreateEvent) {
+        created.add(event.getPath());
+      } else if (event instanceof VFileCopyEvent) {
+        VFileCopyEvent copy = (VFileCopyEvent) event;
+        moved.add(copy.getNewParent().getPath() + '/' + copy.getNewChildName());
+      } else if (event instanceof VFileMoveEvent) {
+        moved.add(((VFileMoveEvent) event).getNewParent().getPath() + '/' + event.getFile().getName());
+      } else if (event instanceof VFilePropertyChangeEvent && VirtualFile.PROP_NAME.equals(((VFilePropertyChangeEvent) event).getPropertyName())) {
+        moved.add(event.getFile().getPath());
+      }
+    }
+    if (!created.isEmpty() || !moved.isEmpty()) {
+      TaskScheduler.runAsync(TaskScheduler.Pool.FILES, () -> onChanged(created, moved));
+    }
+  }
+
+  /**
+   * Add the contexts of the created configs and of the created or moved folders. The project is
+   * scanned again if a folder was moved or copied, or was created with an odo folder, as it may
+   * contain nested contexts.
+   *
+   * @param created the created files and folders
+   * @param moved the new paths of the moved, copied or renamed files and folders
+   * @return true if a scan was requested
+   */
+  protected boolean onChanged(Collection<String> created, Collection<String> moved) {
+    boolean rescan = false;
+    for (String path : created) {
+      String normalized = normalize(path);
+      String context = getContext(path);
+      if (context != null) {
+        add(context);
+      } else if (normalized.endsWith("/.odo")) {
+        //the config may be written with its folder
+        String parent = new File(path).getParent();
+        if (new File(parent, ODO_CONFIG_YAML).isFile()) {
+          add(parent);
+        }
+      } else if (isFolder(path, normalized) && new File(path, ".odo").isDirectory()) {
+        addFolder(path);
+        rescan = true;
+      }
+    }
+    for (String path : moved) {
+      if (isFolder(path, normalize(path))) {
+        addFolder(path);
+        rescan = true;
+      }
+    }
+    if (rescan) {
+      scheduleScan();
+    }
+    return rescan;
+  }
+
+  private boolean isFolder(String path, String normalized) {
+    return !normalized.contains("/.git/") && !normalized.contains("/.odo/") && !normalized.endsWith("/.git")
+      && new File(path).isDirectory() && !isExcluded(path);
+  }
+
+  private void addFolder(String path) {
+    if (new File(path, ODO_CONFIG_YAML).isFile()) {
+      add(path);
+    }
+  }
+}
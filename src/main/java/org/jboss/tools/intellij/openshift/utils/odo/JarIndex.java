@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils.odo;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Entries of a JAR file, read from its central directory. Only the end of the file and the central
+ * directory are read, through a file channel, so indexing a fat JAR of a binary component does not
+ * depend on its size. The CRC and size of each entry identify its content, so that a JAR rebuilt
+ * from the same classes and resources, which differs only by the entry timestamps, has the same
+ * entries.
+ */
+public class JarIndex {
+  private static final int END_SIGNATURE = 0x06054b50;
+  private static final int END_SIZE = 22;
+  private static final int ZIP64_LOCATOR_SIGNATURE = 0x07064b50;
+  private static final int ZIP64_LOCATOR_SIZE = 20;
+  private static final int ZIP64_END_SIGNATURE = 0x06064b50;
+  private static final int ZIP64_END_SIZE = 56;
+  private static final int ENTRY_SIGNATURE = 0x02014b50;
+  private static final int ENTRY_SIZE = 46;
+  private static final int MAX_COMMENT_SIZE = 0xFFFF;
+
+  /**
+   * Identity of the content of an entry.
+   */
+  public static class Entry {
+    private final long crc;
+    private final long size;
+
+    private Entry(long crc, long size) {
+      this.crc = crc;
+      this.size = size;
+    }
+
+    public long getCrc() {
+      return crc;
+    }
+
+    public long getSize() {
+      return size;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof Entry && ((Entry) o).crc == crc && ((Entry) o).size == size;
+    }
+
+    @Override
+    public int hashCode() {
+      return Long.hashCode(crc) * 31 + Long.hashCode(size);
+    }
+  }
+
+  private final SortedMap<String, Entry> entries;
+
+  private JarIndex(SortedMap<String, Entry> entries) {
+    this.entries = entries;
+  }
+
+  public SortedMap<String, Entry> getEntries() {
+    return Collections.unmodifiableSortedMap(entries);
+  }
+
+  public static JarIndex read(Path jar) throws IOException {
+    try (FileChannel channel = FileChannel.open(jar, StandardOpenOption.READ)) {
+      long length = channel.size();
+      int tailLength = (int) Math.min(length, END_SIZE + MAX_COMMENT_SIZE);
+      ByteBuffer tail = read(channel, length - tailLength, tailLength);
+      int end = tailLength - END_SIZE;
+      while (end >= 0 && tail.getInt(end) != END_SIGNATURE) {
+        --end;
+      }
+      if (end < 0) {
+        throw new IOException(jar + " is not a JAR file");
+      }
+      long count = tail.getShort(end + 10) & 0xFFFF;
+      long directorySize = tail.getInt(end + 12) & 0xFFFFFFFFL;
+      long directoryOffset = tail.getInt(end + 16) & 0xFFFFFFFFL;
+      long locator = length - tailLength + end - ZIP64_LOCATOR_SIZE;
+      if (locator >= 0 && read(channel, locator, 4).getInt(0) == ZIP64_LOCATOR_SIGNATURE) {
+        ByteBuffer zip64End = read(channel, read(channel, locator, ZIP64_LOCATOR_SIZE).getLong(8), ZIP64_END_SIZE);
+        if (zip64End.getInt(0) != ZIP64_END_SIGNATURE) {
+          throw new IOException(jar + " has an invalid ZIP64 end of central directory");
+        }
+        count = zip64End.getLong(32);
+        directorySize = zip64End.getLong(40);
+        directoryOffset = zip64End.getLong(48);
+      }
+      if (directoryOffset + directorySize > length || directorySize > Integer.MAX_VALUE) {
+        throw new IOException(jar + " has an invalid central directory");
+      }
+      //the directory is read rather than mapped, a mapping would lock the file on Windows until it is collected
+      return new JarIndex(readEntries(jar, read(channel, directoryOffset, (int) directorySize), count));
+    }
+  }
+
+  private static SortedMap<String, Entry> readEntries(Path jar, ByteBuffer directory, long count) throws IOException {
+    SortedMap<String, Entry> entries = new TreeMap<>();
+    int offset = 0;
+    for (long i = 0; i < count; ++i) {
+      if (offset + ENTRY_SIZE > directory.limit() || directory.getInt(offset) != ENTRY_SIGNATURE) {
+        throw new IOException(jar + " has an invalid central directory entry");
+      }
+      long crc = directory.getInt(offset + 16) & 0xFFFFFFFFL;
+      long size = directory.getInt(offset + 24) & 0xFFFFFFFFL;
+      int nameLength = directory.getShort(offset + 28) & 0xFFFF;
+      int extraLength = directory.getShort(offset + 30) & 0xFFFF;
+      int commentLength = directory.getShort(offset + 32) & 0xFFFF;
+      byte[] name = new byte[nameLength];
+      directory.position(offset + ENTRY_SIZE);
+      directory.get(name);
+      if (size == 0xFFFFFFFFL) {
+        size = readZip64Size(directory, offset + ENTRY_SIZE + nameLength, extraLength, size);
+      }
+      entries.put(new String(name, StandardCharsets.UTF_8), new Entry(crc, size));
+      offset += ENTRY_SIZE + nameLength + extraLength + commentLength;
+    }
+    return entries;
+  }
+
+  /**
+   * The uncompressed size is the first field of the ZIP64 extra field when it overflows.
+   */
+  private static long readZip64Size(ByteBuffer directory, int offset, int length, long size) {
+    int end = offset + length;
+    while (offset + 4 <= end) {
+      int id = directory.getShort(offset) & 0xFFFF;
+      int dataLength = directory.getShort(offset + 2) & 0xFFFF;
+      if (id == 0x0001 && dataLength >= 8) {
+        return directory.getLong(offset + 4);
+      }
+      offset += 4 + dataLength;
+    }
+    return size;
+  }
+
+  private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, position + buffer.position()) < 0) {
+        throw new IOException("Unexpected end of file");
+      }
+    }
+    buffer.flip();
+    return buffer;
+  }
+}
@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils.odo;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+
+/**
+ * odo may append a notification block (for instance about a new version being available) after
+ * the command output. The block starts with a line beginning with <code>---</code>. This stream
+ * ends where that line starts so that the output can be parsed as it is read.
+ */
+public class NotificationFilterInputStream extends PushbackInputStream {
+  private static final byte[] MARKER = "---".getBytes();
+
+  private boolean lineStart = true;
+  private boolean eof = false;
+
+  public NotificationFilterInputStream(InputStream in) {
+    super(in, MARKER.length);
+  }
+
+  private boolean isMarker() throws IOException {
+    byte[] buffer = new byte[MARKER.length];
+    int lg = 0;
+    int count;
+    while (lg < buffer.length && (count = super.read(buffer, lg, buffer.length - lg)) != -1) {
+      lg += count;
+    }
+    if (lg == buffer.length && buffer[0] == MARKER[0] && buffer[1] == MARKER[1] && buffer[2] == MARKER[2]) {
+      return true;
+    }
+    unread(buffer, 0, lg);
+    return false;
+  }
+
+  @Override
+  public int read() throws IOException {
+    if (eof) {
+      return -1;
+    }
+    if (lineStart && isMarker()) {
+      eof = true;
+      return -1;
+    }
+    int c = super.read();
+    lineStart = c == '\n';
+    return c;
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    if (len == 0) {
+      return 0;
+    }
+    int count = 0;
+    int c;
+    //stop at the end of a line so that the next one is checked for the marker
+    while (count < len && (c = read()) != -1) {
+      b[off + count++] = (byte) c;
+      if (c == '\n') {
+        break;
+      }
+    }
+    return count == 0 ? -1 : count;
+  }
+
+  @Override
+  public long skip(long n) throws IOException {
+    long skipped = 0;
+    while (skipped < n && read() != -1) {
+      ++skipped;
+    }
+    return skipped;
+  }
+
+  @Override
+  public int available() throws IOException {
+    return eof ? 0 : super.available();
+  }
+}
@@ -15,15 +15,15 @@ import io.fabric8.openshift.client.OpenShiftClient;
 import me.snowdrop.servicecatalog.api.model.ServiceInstance;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
-import java.util.function.BiConsumer;
 
 public interface Odo {
     List<Project> getProjects(OpenShiftClient client);
 
     List<Project> getPreOdo10Projects(OpenShiftClient client);
 
-    List<Exception> migrateProjects(OpenShiftClient client, List<Project> projects, BiConsumer<String, String> reporter);
+    List<Exception> migrateProjects(OpenShiftClient client, List<Project> projects, ProjectMigration.Reporter reporter);
 
     void describeApplication(String project, String application) throws IOException;
 
@@ -31,9 +31,13 @@ public interface Odo {
 
     void push(String project, String application, String context, String component) throws IOException;
 
-    void describeComponent(String project, String application, String context, String component) throws IOException;
+    /**
+     * Push a component without a terminal and return once the push is complete, so that several
+     * components can be pushed concurrently and the outcome of each push is known.
+     */
+    void pushInBackground(String project, String application, String context, String component) throws IOException;
 
-    void watch(String project, String application, String context, String component) throws IOException;
+    void describeComponent(String project, String application, String context, String component) throws IOException;
 
     void createComponentLocal(String project, String application, String componentType, String componentVersion, String component, String source, boolean push) throws IOException;
 
@@ -55,7 +59,7 @@ public interface Odo {
 
     List<Integer> getServicePorts(OpenShiftClient client, String project, String application, String component);
 
-    List<URL> listURLs(String project, String application, String context, String component) throws IOException;
+    List<URL> listURLs(OpenShiftClient client, String project, String application, String context, String component) throws IOException;
 
     ComponentInfo getComponentInfo(OpenShiftClient client, String project, String application, String component) throws IOException;
 
@@ -67,9 +71,9 @@ public interface Odo {
 
     void deleteComponent(String project, String application, String context, String component, boolean undeploy) throws IOException;
 
-    void follow(String project, String application, String context, String component) throws IOException;
+    InputStream follow(OpenShiftClient client, String project, String application, String context, String component) throws IOException;
 
-    void log(String project, String application, String context, String component) throws IOException;
+    InputStream log(OpenShiftClient client, String project, String application, String context, String component) throws IOException;
 
     void createProject(String project) throws IOException;
 
@@ -79,7 +83,7 @@ public interface Odo {
 
     void logout() throws IOException;
 
-    List<Application> getApplications(String project) throws IOException;
+    List<Application> getApplications(OpenShiftClient client, String project) throws IOException;
 
     List<Component> getComponents(OpenShiftClient client, String project, String application);
 
@@ -15,58 +15,23 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.progress.ProgressIndicator;
 import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.progress.Task;
 import com.intellij.openapi.ui.Messages;
 import com.twelvemonkeys.lang.Platform;
 import io.fabric8.kubernetes.api.model.ConfigMap;
-import io.fabric8.kubernetes.api.model.DoneablePersistentVolumeClaim;
-import io.fabric8.kubernetes.api.model.DoneableSecret;
-import io.fabric8.kubernetes.api.model.DoneableService;
 import io.fabric8.kubernetes.api.model.HasMetadata;
-import io.fabric8.kubernetes.api.model.LabelSelector;
-import io.fabric8.kubernetes.api.model.LabelSelectorBuilder;
-import io.fabric8.kubernetes.api.model.PersistentVolumeClaim;
-import io.fabric8.kubernetes.api.model.PersistentVolumeClaimFluent;
-import io.fabric8.kubernetes.api.model.PersistentVolumeClaimList;
-import io.fabric8.kubernetes.api.model.Secret;
-import io.fabric8.kubernetes.api.model.SecretFluent;
-import io.fabric8.kubernetes.api.model.SecretList;
 import io.fabric8.kubernetes.api.model.Service;
-import io.fabric8.kubernetes.api.model.ServiceFluent;
-import io.fabric8.kubernetes.api.model.ServiceList;
 import io.fabric8.kubernetes.api.model.ServicePort;
 import io.fabric8.kubernetes.client.KubernetesClientException;
-import io.fabric8.kubernetes.client.dsl.NonNamespaceOperation;
-import io.fabric8.kubernetes.client.dsl.Resource;
-import io.fabric8.openshift.api.model.Build;
 import io.fabric8.openshift.api.model.BuildConfig;
-import io.fabric8.openshift.api.model.BuildConfigFluent;
-import io.fabric8.openshift.api.model.BuildConfigList;
 import io.fabric8.openshift.api.model.DeploymentConfig;
-import io.fabric8.openshift.api.model.DeploymentConfigFluent;
-import io.fabric8.openshift.api.model.DeploymentConfigList;
-import io.fabric8.openshift.api.model.DoneableBuildConfig;
-import io.fabric8.openshift.api.model.DoneableDeploymentConfig;
-import io.fabric8.openshift.api.model.DoneableImageStream;
-import io.fabric8.openshift.api.model.DoneableRoute;
-import io.fabric8.openshift.api.model.ImageStream;
-import io.fabric8.openshift.api.model.ImageStreamFluent;
-import io.fabric8.openshift.api.model.ImageStreamList;
 import io.fabric8.openshift.api.model.Project;
-import io.fabric8.openshift.api.model.Route;
-import io.fabric8.openshift.api.model.RouteFluent;
-import io.fabric8.openshift.api.model.RouteList;
 import io.fabric8.openshift.client.OpenShiftClient;
-import io.fabric8.openshift.client.dsl.BuildConfigResource;
-import io.fabric8.openshift.client.dsl.DeployableScalableResource;
 import me.snowdrop.servicecatalog.api.client.ServiceCatalogClient;
-import me.snowdrop.servicecatalog.api.client.internal.ServiceInstanceResource;
-import me.snowdrop.servicecatalog.api.model.DoneableServiceInstance;
 import me.snowdrop.servicecatalog.api.model.ServiceInstance;
-import me.snowdrop.servicecatalog.api.model.ServiceInstanceFluent;
-import me.snowdrop.servicecatalog.api.model.ServiceInstanceList;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.Response;
@@ -90,16 +55,19 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.function.BiConsumer;
-import java.util.function.BinaryOperator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -121,6 +89,8 @@ import static org.jboss.tools.intellij.openshift.KubernetesLabels.VCS_URI_ANNOTA
 public class OdoCli implements Odo {
   public static final String ODO_DOWNLOAD_FLAG = OdoCli.class.getName() + ".download";
 
+  private static final Logger LOGGER = Logger.getInstance(OdoCli.class);
+
   private static final ObjectMapper JSON_MAPPER = new ObjectMapper(new JsonFactory());
 
   static {
@@ -129,6 +99,14 @@ public class OdoCli implements Odo {
     JSON_MAPPER.registerModule(module);
   }
 
+  private static final ExecHelper.OutputParser<List<ComponentType>> COMPONENT_TYPES_PARSER = withoutNotification(output -> JSON_MAPPER.readValue(output, new TypeReference<List<ComponentType>>() {}));
+
+  private static final ExecHelper.OutputParser<List<ServiceTemplate>> SERVICE_TEMPLATES_PARSER = withoutNotification(output -> loadList(output, OdoCli::toServiceTemplate));
+
+  private static final ExecHelper.OutputParser<List<URL>> URLS_PARSER = withoutNotification(OdoCli::parseURLs);
+
+  private static final ExecHelper.OutputParser<List<Application>> APPLICATIONS_PARSER = withoutNotification(OdoCli::parseApplications);
+
   /**
    * Home sub folder for the plugin
    */
@@ -136,6 +114,16 @@ public class OdoCli implements Odo {
 
   private String command;
 
+  private final CatalogCache catalog = new CatalogCache();
+
+  private final ComponentTypesSnapshot componentTypesSnapshot = new ComponentTypesSnapshot();
+
+  /**
+   * Namespaces with resources to migrate, per cluster, so that they are only searched once.
+   */
+  private final Map<String, Set<String>> legacyNamespaces = new ConcurrentHashMap<>();
+
+
   private OdoCli() throws IOException {
     command = getCommand();
   }
@@ -160,7 +148,7 @@ public class OdoCli implements Odo {
     String version = "";
     try {
       Pattern pattern = Pattern.compile(tool + " v(\\d+[\\.\\d+]*(-.*)?)\\s.*");
-      String output = ExecHelper.execute(command, false, "version");
+      String output = ExecHelper.query(command, false, "version");
       try (BufferedReader reader = new BufferedReader(new StringReader(output))) {
         version = reader.lines().
                 map(line -> pattern.matcher(line)).
@@ -254,28 +242,46 @@ public class OdoCli implements Odo {
     return client.projects().list().getItems();
   }
 
-  private static String execute(File workingDirectory, String command, String ...args) throws IOException {
-    String output = ExecHelper.execute(command, workingDirectory, args);
-    try (BufferedReader reader = new BufferedReader(new StringReader(output))) {
-      BinaryOperator<String> reducer = new BinaryOperator<String>() {
-        private boolean notificationFound = false;
+  private static ResourceCache getCache(OpenShiftClient client) {
+    return ResourceCache.get(client);
+  }
 
-        @Override
-        public String apply(String s, String s2) {
-          if (s2.startsWith("---")) {
-            notificationFound = true;
-          }
-          return notificationFound?s:s+s2+"\n";
-        }
-      };
-      return reader.lines().reduce("", reducer);
-    }
+  private static boolean hasLabel(HasMetadata resource, String label, String value) {
+    Map<String, String> labels = resource.getMetadata().getLabels();
+    return labels != null && value.equals(labels.get(label));
+  }
+
+  private static String execute(File workingDirectory, String command, String ...args) throws IOException {
+    return stripNotification(ExecHelper.execute(command, workingDirectory, args));
   }
 
   private static String execute(String command, String ...args) throws IOException {
     return execute(new File(HOME_FOLDER), command, args);
   }
 
+  private static <T> T query(File workingDirectory, String command, ExecHelper.OutputParser<T> parser, String ...args) throws IOException {
+    return ExecHelper.query(command, workingDirectory, parser, args);
+  }
+
+  private static <T> T query(String command, ExecHelper.OutputParser<T> parser, String ...args) throws IOException {
+    return query(new File(HOME_FOLDER), command, parser, args);
+  }
+
+  private static <T> ExecHelper.OutputParser<T> withoutNotification(ExecHelper.OutputParser<T> parser) {
+    return output -> parser.parse(new NotificationFilterInputStream(output));
+  }
+
+  private static String stripNotification(String output) throws IOException {
+    StringBuilder builder = new StringBuilder(output.length());
+    try (BufferedReader reader = new BufferedReader(new StringReader(output))) {
+      String line;
+      while ((line = reader.readLine()) != null && !line.startsWith("---")) {
+        builder.append(line).append('\n');
+      }
+    }
+    return builder.toString();
+  }
+
   @Override
   public void describeApplication(String project, String application) throws IOException {
     ExecHelper.executeWithTerminal(command, "app", "describe", application, "--project", project);
@@ -288,7 +294,16 @@ public class OdoCli implements Odo {
 
   @Override
   public void push(String project, String application, String context, String component) throws IOException {
+    PushFingerprint fingerprint = PushFingerprint.compute(Paths.get(context));
     ExecHelper.executeWithTerminal(new File(context), command, "push");
+    fingerprint.save();
+  }
+
+  @Override
+  public void pushInBackground(String project, String application, String context, String component) throws IOException {
+    PushFingerprint fingerprint = PushFingerprint.compute(Paths.get(context));
+    execute(new File(context), command, "push");
+    fingerprint.save();
   }
 
   @Override
@@ -301,11 +316,6 @@ public class OdoCli implements Odo {
 
   }
 
-  @Override
-  public void watch(String project, String application, String context, String component) throws IOException {
-    ExecHelper.executeWithTerminal(new File(context), command, "watch");
-  }
-
   @Override
   public void createComponentLocal(String project, String application, String componentType, String componentVersion, String component, String source, boolean push) throws IOException {
     if (push) {
@@ -384,11 +394,11 @@ public class OdoCli implements Odo {
 
   @Override
   public List<ComponentType> getComponentTypes() throws IOException {
-    return JSON_MAPPER.readValue(execute(command, "catalog", "list", "components", "-o", "json"), new TypeReference<List<ComponentType>>() {});
+    return new ArrayList<>(catalog.get("components", () -> query(command, COMPONENT_TYPES_PARSER, "catalog", "list", "components", "-o", "json"), componentTypesSnapshot));
   }
 
-  private <T> List<T> loadList(String output, Function<String[], T> mapper) throws IOException {
-    try (BufferedReader reader = new BufferedReader(new StringReader(output))) {
+  private static <T> List<T> loadList(InputStream output, Function<String[], T> mapper) throws IOException {
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(output, StandardCharsets.UTF_8))) {
       return reader.lines().skip(1).map(s -> s.replaceAll("\\s{1,}", "|"))
         .map(s -> s.split("\\|"))
         .map(mapper)
@@ -396,7 +406,7 @@ public class OdoCli implements Odo {
     }
   }
 
-  private ServiceTemplate toServiceTemplate(String[] line) {
+  private static ServiceTemplate toServiceTemplate(String[] line) {
     return new ServiceTemplate() {
       @Override
       public String getName() {
@@ -412,7 +422,7 @@ public class OdoCli implements Odo {
 
   @Override
   public List<ServiceTemplate> getServiceTemplates() throws IOException {
-    return loadList(execute(command, "catalog", "list", "services"), this::toServiceTemplate);
+    return new ArrayList<>(catalog.get("services", () -> query(command, SERVICE_TEMPLATES_PARSER, "catalog", "list", "services")));
   }
 
   @Override
@@ -423,40 +433,40 @@ public class OdoCli implements Odo {
 
   @Override
   public List<Integer> getServicePorts(OpenShiftClient client, String project, String application, String component) {
-    Service service = client.services().inNamespace(project).withName(component + '-' + application).get();
+    String name = component + '-' + application;
+    Service service = getCache(client).getServices(project).stream().filter(s -> s.getMetadata().getName().equals(name)).findFirst().orElse(null);
     return service.getSpec().getPorts().stream().map(ServicePort::getPort).collect(Collectors.toList());
   }
 
-  private static List<URL> parseURLs(String json) {
+  private static List<URL> parseURLs(InputStream json) {
     List<URL> result = new ArrayList<>();
     try {
       JsonNode root = JSON_MAPPER.readTree(json);
-      root.get("items").forEach(item -> result.add(URL.of(item.get("metadata").get("name").asText(), item.get("spec").has("protocol")?item.get("spec").get("protocol").asText():"", item.get("spec").has("host")?item.get("spec").get("host").asText():"", item.get("spec").get("port").asText(), item.get("status").get("state").asText())));
+      if (root != null && root.has("items")) {
+        root.get("items").forEach(item -> result.add(URL.of(item.get("metadata").get("name").asText(), item.get("spec").has("protocol")?item.get("spec").get("protocol").asText():"", item.get("spec").has("host")?item.get("spec").get("host").asText():"", item.get("spec").get("port").asText(), item.get("status").get("state").asText())));
+      }
     } catch (IOException e) {
     }
     return result;
   }
 
   @Override
-  public List<URL> listURLs(String project, String application, String context, String component) throws IOException {
-    String output;
+  public List<URL> listURLs(OpenShiftClient client, String project, String application, String context, String component) throws IOException {
     try {
       if (context != null) {
-        output = execute(new File(context), command, "url", "list", "-o", "json");
+        return query(new File(context), command, URLS_PARSER, "url", "list", "-o", "json");
       } else {
         ensureDefaultOdoConfigFileExists();
-        output = execute(command, "url", "list", "--project", project, "--app", application, "--component", component, "-o", "json");
+        return query(command, URLS_PARSER, "url", "list", "--project", project, "--app", application, "--component", component, "-o", "json");
       }
-
     } catch (IOException e) {
-      output = "";
+      return new ArrayList<>();
     }
-    return parseURLs(output);
   }
 
   @Override
   public ComponentInfo getComponentInfo(OpenShiftClient client, String project, String application, String component) throws IOException {
-    List<DeploymentConfig> DCs = client.deploymentConfigs().inNamespace(project).withLabel(COMPONENT_NAME_LABEL, component).withLabel(APP_LABEL, application).list().getItems();
+    List<DeploymentConfig> DCs = getCache(client).getDeploymentConfigs(project).stream().filter(dc -> hasLabel(dc, COMPONENT_NAME_LABEL, component) && hasLabel(dc, APP_LABEL, application)).collect(Collectors.toList());
     if (DCs.size() == 1) {
       DeploymentConfig deploymentConfig = DCs.get(0);
       ComponentSourceType sourceType = ComponentSourceType.fromAnnotation(deploymentConfig.getMetadata().getAnnotations().get(COMPONENT_SOURCE_TYPE_ANNOTATION));
@@ -508,13 +518,13 @@ public class OdoCli implements Odo {
   }
 
   @Override
-  public void follow(String project, String application, String context, String component) throws IOException {
-    ExecHelper.executeWithTerminal(new File(context), command, "log", "-f");
+  public InputStream follow(OpenShiftClient client, String project, String application, String context, String component) throws IOException {
+    return ExecHelper.stream(new File(context), command, "log", "-f");
   }
 
   @Override
-  public void log(String project, String application, String context, String component) throws IOException {
-    ExecHelper.executeWithTerminal(new File(context), command, "log");
+  public InputStream log(OpenShiftClient client, String project, String application, String context, String component) throws IOException {
+    return ExecHelper.stream(new File(context), command, "log");
   }
 
 
@@ -535,49 +545,47 @@ public class OdoCli implements Odo {
     } else {
       execute(command, "login", url, "-t", token, " --insecure-skip-tls-verify");
     }
+    catalog.invalidate();
+    legacyNamespaces.clear();
   }
 
   @Override
   public void logout() throws IOException {
     execute(command, "logout");
+    catalog.invalidate();
+    legacyNamespaces.clear();
   }
 
-  private static List<Application> parseApplications(String json) {
+  private static List<Application> parseApplications(InputStream json) {
     List<Application> result = new ArrayList<>();
     try {
       JsonNode root = JSON_MAPPER.readTree(json);
-      root.get("items").forEach(item -> result.add(Application.of(item.get("metadata").get("name").asText())));
+      if (root != null && root.has("items")) {
+        root.get("items").forEach(item -> result.add(Application.of(item.get("metadata").get("name").asText())));
+      }
     } catch (IOException e) {}
     return result;
   }
 
   @Override
-  public List<Application> getApplications(String project) throws IOException {
-    return parseApplications(execute(command, "app", "list", "--project", project, "-o", "json"));
+  public List<Application> getApplications(OpenShiftClient client, String project) throws IOException {
+    return query(command, APPLICATIONS_PARSER, "app", "list", "--project", project, "-o", "json");
   }
 
   @Override
   public List<Component> getComponents(OpenShiftClient client, String project, String application) {
-    return client.deploymentConfigs().inNamespace(project).withLabelSelector(new LabelSelectorBuilder().addToMatchLabels(KubernetesLabels.APP_LABEL, application).build()).list().getItems().stream().map(dc -> Component.of(KubernetesLabels.getComponentName(dc))).collect(Collectors.toList());
+    return getCache(client).getDeploymentConfigs(project).stream().filter(dc -> hasLabel(dc, APP_LABEL, application)).map(dc -> Component.of(KubernetesLabels.getComponentName(dc))).collect(Collectors.toList());
   }
 
   @Override
   public List<ServiceInstance> getServices(OpenShiftClient client, String project, String application) {
-    ServiceCatalogClient sc = client.adapt(ServiceCatalogClient.class);
-    return sc.serviceInstances().inNamespace(project).withLabelSelector(new LabelSelectorBuilder().addToMatchLabels(KubernetesLabels.APP_LABEL, application).build()).list().getItems();
+    return getCache(client).getServiceInstances(project).stream().filter(si -> hasLabel(si, APP_LABEL, application)).collect(Collectors.toList());
   }
 
-  protected LabelSelector getLabelSelector(String application, String component) {
-    return new LabelSelectorBuilder().addToMatchLabels(KubernetesLabels.APP_LABEL, application)
-      .addToMatchLabels(KubernetesLabels.COMPONENT_NAME_LABEL, component)
-      .build();
-  }
-
-
   @Override
   public List<Storage> getStorages(OpenShiftClient client, String project, String application, String component) {
-    return client.persistentVolumeClaims().inNamespace(project).withLabelSelector(getLabelSelector(application, component)).list().getItems()
-            .stream().filter(pvc -> pvc.getMetadata().getLabels().containsKey(KubernetesLabels.STORAGE_NAME_LABEL)).
+    return getCache(client).getPersistentVolumeClaims(project)
+            .stream().filter(pvc -> hasLabel(pvc, APP_LABEL, application) && hasLabel(pvc, COMPONENT_NAME_LABEL, component) && pvc.getMetadata().getLabels().containsKey(KubernetesLabels.STORAGE_NAME_LABEL)).
                     map(pvc -> Storage.of(Storage.getStorageName(pvc))).collect(Collectors.toList());
 
   }
@@ -618,195 +626,28 @@ public class OdoCli implements Odo {
 
   @Override
   public List<Project> getPreOdo10Projects(OpenShiftClient client) {
-    return getProjects(client).stream().filter(project -> isLegacyProject(client, project)).collect(Collectors.toList());
-
-  }
-
-  private boolean isLegacyProject(OpenShiftClient client, Project project) {
-    boolean hasLegacyResources = !client.deploymentConfigs().inNamespace(project.getMetadata().getName()).withLabel(KubernetesLabels.COMPONENT_NAME_LABEL_PRE10).list().getItems().isEmpty();
-    if (!hasLegacyResources) {
-      try {
-        hasLegacyResources = !client.adapt(ServiceCatalogClient.class).serviceInstances().inNamespace(project.getMetadata().getName()).withLabel(KubernetesLabels.COMPONENT_NAME_LABEL_PRE10).list().getItems().isEmpty();
-      } catch (Exception e) {}
-    }
-    return hasLegacyResources;
-  }
-
-  @Override
-  public List<Exception> migrateProjects(OpenShiftClient client, List<Project> projects, BiConsumer<String, String> reporter) {
-    List<Exception> exceptions = new ArrayList<>();
-    for(Project project : projects) {
-      reporter.accept(project.getMetadata().getName(), "deployment configs");
-      migrateDCs(client.deploymentConfigs().inNamespace(project.getMetadata().getName()), exceptions);
-      reporter.accept(project.getMetadata().getName(), "routes");
-      migrateRoutes(client.routes().inNamespace(project.getMetadata().getName()), exceptions);
-      reporter.accept(project.getMetadata().getName(), "build configs");
-      migrateBuildConfigs(client.buildConfigs().inNamespace(project.getMetadata().getName()), exceptions);
-      reporter.accept(project.getMetadata().getName(), "image streams");
-      migrateImageStreams(client.imageStreams().inNamespace(project.getMetadata().getName()), exceptions);
-      reporter.accept(project.getMetadata().getName(), "services");
-      migrateServices(client.services().inNamespace(project.getMetadata().getName()), exceptions);
-      reporter.accept(project.getMetadata().getName(), "storages");
-      migratePVCs(client.persistentVolumeClaims().inNamespace(project.getMetadata().getName()), exceptions);
-      reporter.accept(project.getMetadata().getName(), "secrets");
-      migrateSecrets(client.secrets().inNamespace(project.getMetadata().getName()), exceptions);
-      reporter.accept(project.getMetadata().getName(), "service instances");
-      migrateServiceInstances(client.adapt(ServiceCatalogClient.class).serviceInstances().inNamespace(project.getMetadata().getName()), exceptions);
-    }
-    return exceptions;
-  }
-
-  private void editLabels(Map<String, String> labels) {
-    String name = labels.get(KubernetesLabels.COMPONENT_NAME_LABEL_PRE10);
-    if (name != null) {
-      labels.put(KubernetesLabels.COMPONENT_NAME_LABEL, name);
-    }
-    name = labels.get(NAME_LABEL);
-    if (name != null) {
-      labels.put(KubernetesLabels.APP_LABEL, name);
-    }
-    name = labels.get(KubernetesLabels.COMPONENT_TYPE_LABEL);
-    if (name != null) {
-      labels.put(KubernetesLabels.NAME_LABEL, name);
-    }
-    name = labels.get(KubernetesLabels.COMPONENT_VERSION_LABEL);
-    if (name != null) {
-      labels.put(KubernetesLabels.RUNTIME_VERSION_LABEL, name);
-    }
-    name = labels.get(KubernetesLabels.URL_NAME_LABEL);
-    if (name != null) {
-      labels.put(KubernetesLabels.ODO_URL_NAME, name);
-    }
-    labels.put(ODO_MIGRATED_LABEL, "true");
-    labels.remove(KubernetesLabels.COMPONENT_NAME_LABEL_PRE10);
-  }
-
-  private void migrateDCs(NonNamespaceOperation<DeploymentConfig, DeploymentConfigList, DoneableDeploymentConfig, DeployableScalableResource<DeploymentConfig, DoneableDeploymentConfig>> operation, List<Exception> exceptions) {
-    try {
-      for(HasMetadata dc : operation.withLabel(KubernetesLabels.COMPONENT_NAME_LABEL_PRE10).list().getItems()) {
-        try {
-          DeploymentConfigFluent.MetadataNested<DoneableDeploymentConfig> edit = operation.withName(dc.getMetadata().getName()).edit().editMetadata();
-          editLabels(edit.getLabels());
-          edit.endMetadata().done();
-        } catch (Exception e) {
-          exceptions.add(e);
-        }
-      }
-    } catch (Exception e) {
-      exceptions.add(e);
-    }
-  }
-
-
-  private void migrateRoutes(NonNamespaceOperation<Route, RouteList, DoneableRoute, Resource<Route, DoneableRoute>> operation, List<Exception> exceptions) {
-    try {
-      for(HasMetadata dc : operation.withLabel(KubernetesLabels.COMPONENT_NAME_LABEL_PRE10).list().getItems()) {
-        try {
-          RouteFluent.MetadataNested<DoneableRoute> edit = operation.withName(dc.getMetadata().getName()).edit().editMetadata();
-          editLabels(edit.getLabels());
-          edit.endMetadata().done();
-        } catch (Exception e) {
-          exceptions.add(e);
-        }
-      }
-    } catch (Exception e) {
-      exceptions.add(e);
-    }
-  }
-
-  private void migrateBuildConfigs(NonNamespaceOperation<BuildConfig, BuildConfigList, DoneableBuildConfig, BuildConfigResource<BuildConfig, DoneableBuildConfig, Void, Build>> operation, List<Exception> exceptions) {
-    try {
-      for(HasMetadata dc : operation.withLabel(KubernetesLabels.COMPONENT_NAME_LABEL_PRE10).list().getItems()) {
-        try {
-          BuildConfigFluent.MetadataNested<DoneableBuildConfig> edit = operation.withName(dc.getMetadata().getName()).edit().editMetadata();
-          editLabels(edit.getLabels());
-          edit.endMetadata().done();
-        } catch (Exception e) {
-          exceptions.add(e);
-        }
-      }
-    } catch (Exception e) {
-      exceptions.add(e);
-    }
-  }
-
-  private void migrateImageStreams(NonNamespaceOperation<ImageStream, ImageStreamList, DoneableImageStream, Resource<ImageStream, DoneableImageStream>> operation, List<Exception> exceptions) {
-    try {
-      for(HasMetadata dc : operation.withLabel(KubernetesLabels.COMPONENT_NAME_LABEL_PRE10).list().getItems()) {
-        try {
-          ImageStreamFluent.MetadataNested<DoneableImageStream> edit = operation.withName(dc.getMetadata().getName()).edit().editMetadata();
-          editLabels(edit.getLabels());
-          edit.endMetadata().done();
-        } catch (Exception e) {
-          exceptions.add(e);
-        }
-      }
-    } catch (Exception e) {
-      exceptions.add(e);
-    }
-  }
-
-  private void migrateServices(NonNamespaceOperation<Service, ServiceList, DoneableService, Resource<Service, DoneableService>> operation, List<Exception> exceptions) {
-    try {
-      for(HasMetadata dc : operation.withLabel(KubernetesLabels.COMPONENT_NAME_LABEL_PRE10).list().getItems()) {
-        try {
-          ServiceFluent.MetadataNested<DoneableService> edit = operation.withName(dc.getMetadata().getName()).edit().editMetadata();
-          editLabels(edit.getLabels());
-          edit.endMetadata().done();
-        } catch (Exception e) {
-          exceptions.add(e);
-        }
-      }
-    } catch (Exception e) {
-      exceptions.add(e);
-    }
-  }
-
-  private void migratePVCs(NonNamespaceOperation<PersistentVolumeClaim, PersistentVolumeClaimList, DoneablePersistentVolumeClaim, Resource<PersistentVolumeClaim, DoneablePersistentVolumeClaim>> operation, List<Exception> exceptions) {
-    try {
-      for (HasMetadata dc : operation.withLabel(KubernetesLabels.COMPONENT_NAME_LABEL_PRE10).list().getItems()) {
-        try {
-          PersistentVolumeClaimFluent.MetadataNested<DoneablePersistentVolumeClaim> edit = operation.withName(dc.getMetadata().getName()).edit().editMetadata();
-          editLabels(edit.getLabels());
-          edit.endMetadata().done();
-        } catch (Exception e) {
-          exceptions.add(e);
-        }
-      }
-    } catch (Exception e) {
-      exceptions.add(e);
-    }
-  }
-
-  private void migrateSecrets(NonNamespaceOperation<Secret, SecretList, DoneableSecret, Resource<Secret, DoneableSecret>> operation, List<Exception> exceptions) {
-    try {
-      for(HasMetadata dc : operation.withLabel(KubernetesLabels.COMPONENT_NAME_LABEL_PRE10).list().getItems()) {
-        try {
-          SecretFluent.MetadataNested<DoneableSecret> edit = operation.withName(dc.getMetadata().getName()).edit().editMetadata();
-          editLabels(edit.getLabels());
-          edit.endMetadata().done();
-        } catch (Exception e) {
-          exceptions.add(e);
-        }
+    List<Project> projects = getProjects(client);
+    Set<String> namespaces = legacyNamespaces.get(client.getMasterUrl().toString());
+    if (namespaces == null) {
+      List<Exception> exceptions = Collections.synchronizedList(new ArrayList<>());
+      namespaces = new ProjectMigration(client).getLegacyProjects(projects, exceptions).stream().map(project -> project.getMetadata().getName()).collect(Collectors.toSet());
+      if (exceptions.isEmpty()) {
+        legacyNamespaces.put(client.getMasterUrl().toString(), namespaces);
+      } else {
+        //do not keep an incomplete result, the failed projects are scanned again on next call
+        exceptions.forEach(e -> LOGGER.warn("Failed to search the resources created by odo before 1.0", e));
       }
-    } catch (Exception e) {
-      exceptions.add(e);
     }
+    Set<String> legacy = namespaces;
+    return projects.stream().filter(project -> legacy.contains(project.getMetadata().getName())).collect(Collectors.toList());
   }
 
-  private void migrateServiceInstances(NonNamespaceOperation<ServiceInstance, ServiceInstanceList, DoneableServiceInstance, ServiceInstanceResource> operation, List<Exception> exceptions) {
+  @Override
+  public List<Exception> migrateProjects(OpenShiftClient client, List<Project> projects, ProjectMigration.Reporter reporter) {
     try {
-      for(HasMetadata dc : operation.withLabel(KubernetesLabels.COMPONENT_NAME_LABEL_PRE10).list().getItems()) {
-        try {
-          ServiceInstanceFluent.MetadataNested<DoneableServiceInstance> edit = operation.withName(dc.getMetadata().getName()).edit().editMetadata();
-          editLabels(edit.getLabels());
-          edit.endMetadata().done();
-        } catch (Exception e) {
-          exceptions.add(e);
-        }
-      }
-    } catch (Exception e) {
-      //TODO: exception is skipped because of non catalog aware cluster, need to find a way to better deal with that
+      return new ProjectMigration(client).migrate(projects, reporter);
+    } finally {
+      legacyNamespaces.remove(client.getMasterUrl().toString());
     }
   }
 
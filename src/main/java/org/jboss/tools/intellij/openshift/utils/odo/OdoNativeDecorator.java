@@ -0,0 +1,363 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils.odo;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.IntOrString;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.openshift.api.model.Project;
+import io.fabric8.openshift.api.model.Route;
+import io.fabric8.openshift.client.OpenShiftClient;
+import me.snowdrop.servicecatalog.api.model.ServiceInstance;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import static org.jboss.tools.intellij.openshift.Constants.ODO_CONFIG_YAML;
+import static org.jboss.tools.intellij.openshift.KubernetesLabels.APP_LABEL;
+import static org.jboss.tools.intellij.openshift.KubernetesLabels.COMPONENT_NAME_LABEL;
+import static org.jboss.tools.intellij.openshift.KubernetesLabels.ODO_URL_NAME;
+import static org.jboss.tools.intellij.openshift.KubernetesLabels.URL_NAME_LABEL;
+
+/**
+ * Serves the read-only queries that can be answered from the cluster resources through the
+ * {@link OpenShiftClient} rather than by running odo. Queries fall back to the delegate when
+ * the resources cannot be read.
+ */
+public class OdoNativeDecorator implements Odo {
+    private final Odo delegate;
+    private final ComponentRegistry registry;
+
+    public OdoNativeDecorator(Odo delegate) {
+        this(delegate, null);
+    }
+
+    /**
+     * @param registry the parsed local configs, the configs are read from the contexts if null
+     */
+    public OdoNativeDecorator(Odo delegate, ComponentRegistry registry) {
+        this.delegate = delegate;
+        this.registry = registry;
+    }
+
+    private static boolean hasLabel(HasMetadata resource, String label, String value) {
+        Map<String, String> labels = resource.getMetadata().getLabels();
+        return labels != null && value.equals(labels.get(label));
+    }
+
+    private static void addLabel(HasMetadata resource, String label, Set<String> values) {
+        Map<String, String> labels = resource.getMetadata().getLabels();
+        if (labels != null && labels.containsKey(label)) {
+            values.add(labels.get(label));
+        }
+    }
+
+    private static String getURLName(Route route) {
+        Map<String, String> labels = route.getMetadata().getLabels();
+        if (labels != null && labels.containsKey(URL_NAME_LABEL)) {
+            return labels.get(URL_NAME_LABEL);
+        } else if (labels != null && labels.containsKey(ODO_URL_NAME)) {
+            return labels.get(ODO_URL_NAME);
+        }
+        return route.getMetadata().getName();
+    }
+
+    private static String getTargetPort(Route route) {
+        if (route.getSpec().getPort() != null) {
+            IntOrString port = route.getSpec().getPort().getTargetPort();
+            if (port != null) {
+                return port.getIntVal() != null ? port.getIntVal().toString() : port.getStrVal();
+            }
+        }
+        return "";
+    }
+
+    private List<LocalConfig.URL> getLocalURLs(String context) {
+        LocalConfig.ComponentSettings settings = null;
+        if (registry != null) {
+            ComponentRegistry.ComponentDescriptor descriptor = registry.get(context);
+            settings = descriptor != null ? descriptor.getSettings() : null;
+        } else {
+            File file = new File(context, ODO_CONFIG_YAML);
+            if (file.exists()) {
+                try {
+                    settings = LocalConfig.load(file.toURI().toURL()).getComponentSettings();
+                } catch (IOException e) {}
+            }
+        }
+        return settings != null && settings.getUrls() != null ? settings.getUrls() : Collections.emptyList();
+    }
+
+    @Override
+    public List<Project> getProjects(OpenShiftClient client) {
+        return delegate.getProjects(client);
+    }
+
+    @Override
+    public List<Project> getPreOdo10Projects(OpenShiftClient client) {
+        return delegate.getPreOdo10Projects(client);
+    }
+
+    @Override
+    public List<Exception> migrateProjects(OpenShiftClient client, List<Project> projects, ProjectMigration.Reporter reporter) {
+        return delegate.migrateProjects(client, projects, reporter);
+    }
+
+    @Override
+    public void describeApplication(String project, String application) throws IOException {
+        delegate.describeApplication(project, application);
+    }
+
+    @Override
+    public void deleteApplication(OpenShiftClient client, String project, String application) throws IOException {
+        delegate.deleteApplication(client, project, application);
+    }
+
+    @Override
+    public void push(String project, String application, String context, String component) throws IOException {
+        delegate.push(project, application, context, component);
+    }
+
+    @Override
+    public void pushInBackground(String project, String application, String context, String component) throws IOException {
+        delegate.pushInBackground(project, application, context, component);
+    }
+
+    @Override
+    public void describeComponent(String project, String application, String context, String component) throws IOException {
+        delegate.describeComponent(project, application, context, component);
+    }
+
+    @Override
+    public void createComponentLocal(String project, String application, String componentType, String componentVersion, String component, String source, boolean push) throws IOException {
+        delegate.createComponentLocal(project, application, componentType, componentVersion, component, source, push);
+    }
+
+    @Override
+    public void createComponentGit(String project, String application, String context, String componentType, String componentVersion, String component, String source, String reference, boolean push) throws IOException {
+        delegate.createComponentGit(project, application, context, componentType, componentVersion, component, source, reference, push);
+    }
+
+    @Override
+    public void createComponentBinary(String project, String application, String context, String componentType, String componentVersion, String component, String source, boolean push) throws IOException {
+        delegate.createComponentBinary(project, application, context, componentType, componentVersion, component, source, push);
+    }
+
+    @Override
+    public void createService(String project, String application, String serviceTemplate, String servicePlan, String service) throws IOException {
+        delegate.createService(project, application, serviceTemplate, servicePlan, service);
+    }
+
+    @Override
+    public String getServiceTemplate(OpenShiftClient client, String project, String application, String service) {
+        return delegate.getServiceTemplate(client, project, application, service);
+    }
+
+    @Override
+    public void deleteService(String project, String application, String service) throws IOException {
+        delegate.deleteService(project, application, service);
+    }
+
+    @Override
+    public List<ComponentType> getComponentTypes() throws IOException {
+        return delegate.getComponentTypes();
+    }
+
+    @Override
+    public List<ServiceTemplate> getServiceTemplates() throws IOException {
+        return delegate.getServiceTemplates();
+    }
+
+    @Override
+    public void describeServiceTemplate(String template) throws IOException {
+        delegate.describeServiceTemplate(template);
+    }
+
+    @Override
+    public List<Integer> getServicePorts(OpenShiftClient client, String project, String application, String component) {
+        return delegate.getServicePorts(client, project, application, component);
+    }
+
+    /**
+     * URLs are read from the component routes. When the component has a local context, the URLs
+     * declared in its local configuration are merged so that the state matches the one reported
+     * by <code>odo url list</code>.
+     */
+    @Override
+    public List<URL> listURLs(OpenShiftClient client, String project, String application, String context, String component) throws IOException {
+        List<Route> routes;
+        try {
+            routes = ResourceCache.get(client).getRoutes(project).stream().filter(route -> hasLabel(route, APP_LABEL, application) && hasLabel(route, COMPONENT_NAME_LABEL, component)).collect(Collectors.toList());
+        } catch (KubernetesClientException e) {
+            return delegate.listURLs(client, project, application, context, component);
+        }
+        List<LocalConfig.URL> localURLs = context != null ? getLocalURLs(context) : null;
+        List<URL> urls = new ArrayList<>();
+        routes.forEach(route -> {
+            String name = getURLName(route);
+            URL.State state = URL.State.PUSHED;
+            if (localURLs != null && localURLs.stream().noneMatch(url -> url.getName().equals(name))) {
+                state = URL.State.LOCALLY_DELETED;
+            }
+            urls.add(URL.of(name, route.getSpec().getTls() != null ? "https" : "http", route.getSpec().getHost(), getTargetPort(route), state.toString()));
+        });
+        if (localURLs != null) {
+            localURLs.forEach(url -> {
+                if (urls.stream().noneMatch(url1 -> url1.getName().equals(url.getName()))) {
+                    urls.add(URL.of(url.getName(), "", "", url.getPort(), URL.State.NOT_PUSHED.toString()));
+                }
+            });
+        }
+        return urls;
+    }
+
+    @Override
+    public ComponentInfo getComponentInfo(OpenShiftClient client, String project, String application, String component) throws IOException {
+        return delegate.getComponentInfo(client, project, application, component);
+    }
+
+    @Override
+    public void createURL(String project, String application, String context, String component, String name, Integer port) throws IOException {
+        delegate.createURL(project, application, context, component, name, port);
+    }
+
+    @Override
+    public void deleteURL(String project, String application, String context, String component, String name) throws IOException {
+        delegate.deleteURL(project, application, context, component, name);
+    }
+
+    @Override
+    public void undeployComponent(String project, String application, String context, String component) throws IOException {
+        delegate.undeployComponent(project, application, context, component);
+    }
+
+    @Override
+    public void deleteComponent(String project, String application, String context, String component, boolean undeploy) throws IOException {
+        delegate.deleteComponent(project, application, context, component, undeploy);
+    }
+
+    @Override
+    public InputStream follow(OpenShiftClient client, String project, String application, String context, String component) throws IOException {
+        try {
+            return PodLogStream.follow(client, project, application, component);
+        } catch (KubernetesClientException e) {
+            return delegate.follow(client, project, application, context, component);
+        }
+    }
+
+    @Override
+    public InputStream log(OpenShiftClient client, String project, String application, String context, String component) throws IOException {
+        try {
+            return PodLogStream.log(client, project, application, component);
+        } catch (KubernetesClientException e) {
+            return delegate.log(client, project, application, context, component);
+        }
+    }
+
+    @Override
+    public void createProject(String project) throws IOException {
+        delegate.createProject(project);
+    }
+
+    @Override
+    public void deleteProject(String project) throws IOException {
+        delegate.deleteProject(project);
+    }
+
+    @Override
+    public void login(String url, String userName, char[] password, String token) throws IOException {
+        delegate.login(url, userName, password, token);
+    }
+
+    @Override
+    public void logout() throws IOException {
+        delegate.logout();
+    }
+
+    /**
+     * Applications are the distinct values of the application label on the deployment configs
+     * and service instances of the project.
+     */
+    @Override
+    public List<Application> getApplications(OpenShiftClient client, String project) throws IOException {
+        Set<String> names = new TreeSet<>();
+        try {
+            ResourceCache cache = ResourceCache.get(client);
+            cache.getDeploymentConfigs(project).forEach(dc -> addLabel(dc, APP_LABEL, names));
+            try {
+                cache.getServiceInstances(project).forEach(si -> addLabel(si, APP_LABEL, names));
+            } catch (KubernetesClientException e) {
+                //service catalog not available on this cluster
+            }
+        } catch (KubernetesClientException e) {
+            return delegate.getApplications(client, project);
+        }
+        return names.stream().map(Application::of).collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Component> getComponents(OpenShiftClient client, String project, String application) {
+        return delegate.getComponents(client, project, application);
+    }
+
+    @Override
+    public List<ServiceInstance> getServices(OpenShiftClient client, String project, String application) {
+        return delegate.getServices(client, project, application);
+    }
+
+    @Override
+    public List<Storage> getStorages(OpenShiftClient client, String project, String application, String component) {
+        return delegate.getStorages(client, project, application, component);
+    }
+
+    @Override
+    public void listComponents() throws IOException {
+        delegate.listComponents();
+    }
+
+    @Override
+    public void listServices() throws IOException {
+        delegate.listServices();
+    }
+
+    @Override
+    public void about() throws IOException {
+        delegate.about();
+    }
+
+    @Override
+    public void createStorage(String project, String application, String context, String component, String name, String mountPath, String storageSize) throws IOException {
+        delegate.createStorage(project, application, context, component, name, mountPath, storageSize);
+    }
+
+    @Override
+    public void deleteStorage(String project, String application, String context, String component, String storage) throws IOException {
+        delegate.deleteStorage(project, application, context, component, storage);
+    }
+
+    @Override
+    public void link(String project, String application, String component, String context, String source, Integer port) throws IOException {
+        delegate.link(project, application, component, context, source, port);
+    }
+
+    @Override
+    public String consoleURL(OpenShiftClient client) throws IOException {
+        return delegate.consoleURL(client);
+    }
+}
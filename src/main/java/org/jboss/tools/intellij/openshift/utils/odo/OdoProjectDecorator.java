@@ -16,25 +16,17 @@ import me.snowdrop.servicecatalog.api.model.ServiceInstance;
 import org.jboss.tools.intellij.openshift.tree.application.ApplicationTreeModel;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Optional;
-import java.util.function.BiConsumer;
 
 public class OdoProjectDecorator implements Odo {
     private final Odo delegate;
     private final ApplicationTreeModel model;
 
     private LocalConfig.ComponentSettings findComponent(String project, String application, String component) {
-        Optional<ApplicationTreeModel.ComponentDescriptor> comp = model.getComponents().values().stream().filter(c -> c.getProject().equals(project) && c.getApplication().equals(application) && c.getName().equals(component)).findFirst();
-        try {
-            if (comp.isPresent()) {
-                return comp.get().getSettings();
-            } else {
-                return null;
-            }
-        } catch (IOException e) {
-            return null;
-        }
+        ComponentRegistry.ComponentDescriptor descriptor = model.getComponentRegistry().get(project, application, component);
+        return descriptor != null ? descriptor.getSettings() : null;
     }
 
     public OdoProjectDecorator(Odo delegate, ApplicationTreeModel model) {
@@ -73,13 +65,13 @@ public class OdoProjectDecorator implements Odo {
     }
 
     @Override
-    public void describeComponent(String project, String application, String context, String component) throws IOException {
-        delegate.describeComponent(project, application, context, component);
+    public void pushInBackground(String project, String application, String context, String component) throws IOException {
+        delegate.pushInBackground(project, application, context, component);
     }
 
     @Override
-    public void watch(String project, String application, String context, String component) throws IOException {
-        delegate.watch(project, application, context, component);
+    public void describeComponent(String project, String application, String context, String component) throws IOException {
+        delegate.describeComponent(project, application, context, component);
     }
 
     @Override
@@ -134,8 +126,8 @@ public class OdoProjectDecorator implements Odo {
     }
 
     @Override
-    public List<URL> listURLs(String project, String application, String context, String component) throws IOException {
-        List<URL> urls = delegate.listURLs(project, application, context, component);
+    public List<URL> listURLs(OpenShiftClient client, String project, String application, String context, String component) throws IOException {
+        List<URL> urls = delegate.listURLs(client, project, application, context, component);
         LocalConfig.ComponentSettings settings = findComponent(project, application, component);
         if (settings != null) {
             settings.getUrls().forEach(url -> {
@@ -173,13 +165,13 @@ public class OdoProjectDecorator implements Odo {
     }
 
     @Override
-    public void follow(String project, String application, String context, String component) throws IOException {
-        delegate.follow(project, application, context, component);
+    public InputStream follow(OpenShiftClient client, String project, String application, String context, String component) throws IOException {
+        return delegate.follow(client, project, application, context, component);
     }
 
     @Override
-    public void log(String project, String application, String context, String component) throws IOException {
-        delegate.log(project, application, context, component);
+    public InputStream log(OpenShiftClient client, String project, String application, String context, String component) throws IOException {
+        return delegate.log(client, project, application, context, component);
     }
 
     @Override
@@ -203,9 +195,9 @@ public class OdoProjectDecorator implements Odo {
     }
 
     @Override
-    public List<Application> getApplications(String project) throws IOException {
-        List<Application> applications = delegate.getApplications(project);
-        model.getComponents().forEach((path, component) -> {
+    public List<Application> getApplications(OpenShiftClient client, String project) throws IOException {
+        List<Application> applications = delegate.getApplications(client, project);
+        model.getComponentRegistry().getComponents().forEach((path, component) -> {
            if (component.getProject().equals(project) && applications.stream().noneMatch(application -> application.getName().equals(component.getApplication()))) {
                applications.add(Application.of(component.getApplication()));
            }
@@ -216,7 +208,7 @@ public class OdoProjectDecorator implements Odo {
     @Override
     public List<Component> getComponents(OpenShiftClient client, String project, String application) {
         List<Component> components = delegate.getComponents(client, project, application);
-        model.getComponents().forEach((path, comp) -> {
+        model.getComponentRegistry().getComponents().forEach((path, comp) -> {
             if (comp.getProject().equals(project) && comp.getApplication().equals(application)) {
                 Optional<Component> found = components.stream().filter(comp1 -> comp1.getName().equals(comp.getName())).findFirst();
                 if (found.isPresent()) {
@@ -285,7 +277,7 @@ public class OdoProjectDecorator implements Odo {
     }
 
     @Override
-    public List<Exception> migrateProjects(OpenShiftClient client, List<Project> projects, BiConsumer<String, String> reporter) {
+    public List<Exception> migrateProjects(OpenShiftClient client, List<Project> projects, ProjectMigration.Reporter reporter) {
         return delegate.migrateProjects(client, projects, reporter);
     }
 
@@ -0,0 +1,154 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils.odo;
+
+import org.jboss.tools.intellij.openshift.utils.TaskScheduler;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Queue of the odo operations that modify a component context, keyed by the context path. The
+ * operations of a context are run one at a time in submission order, as concurrent odo invocations
+ * on the same context race on its local configuration. An operation submitted with a key while
+ * another one with the same key is still queued is not queued again: both callers share the
+ * pending one, so that repeated pushes result in a single build.
+ */
+public class OperationQueue {
+  public static final String PUSH = "push";
+
+  public static final String WATCH = "watch";
+
+  private static final OperationQueue INSTANCE = new OperationQueue();
+
+  @FunctionalInterface
+  public interface Operation {
+    void run() throws IOException;
+  }
+
+  public interface Listener {
+    /**
+     * @param depth the number of running and queued operations of the context
+     */
+    void onDepthChanged(String context, int depth);
+  }
+
+  private static class Entry {
+    private final String key;
+    private final Operation operation;
+    private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+    private Entry(String key, Operation operation) {
+      this.key = key;
+      this.operation = operation;
+    }
+  }
+
+  private static class Lane {
+    private final Deque<Entry> queued = new ArrayDeque<>();
+    private boolean running;
+
+    private int getDepth() {
+      return queued.size() + (running ? 1 : 0);
+    }
+  }
+
+  private final Map<String, Lane> lanes = new HashMap<>();
+  private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+  public static OperationQueue get() {
+    return INSTANCE;
+  }
+
+  public void addListener(Listener listener) {
+    listeners.add(listener);
+  }
+
+  public void removeListener(Listener listener) {
+    listeners.remove(listener);
+  }
+
+  public synchronized int getDepth(String context) {
+    Lane lane = lanes.get(context);
+    return lane != null ? lane.getDepth() : 0;
+  }
+
+  public CompletableFuture<Void> submit(String context, Operation operation) {
+    return submit(context, null, operation);
+  }
+
+  /**
+   * @param key identifies operations that can be coalesced, or null if the operation must always run
+   * @return a future completed when the operation, or the queued one it was coalesced with, has run
+   */
+  public CompletableFuture<Void> submit(String context, String key, Operation operation) {
+    Entry entry = null;
+    int depth;
+    synchronized (this) {
+      Lane lane = lanes.computeIfAbsent(context, k -> new Lane());
+      if (key != null) {
+        entry = lane.queued.stream().filter(queued -> key.equals(queued.key)).findFirst().orElse(null);
+        if (entry != null) {
+          return entry.future;
+        }
+      }
+      entry = new Entry(key, operation);
+      lane.queued.add(entry);
+      depth = lane.getDepth();
+      if (!lane.running) {
+        startNext(context, lane);
+      }
+    }
+    fireDepthChanged(context, depth);
+    return entry.future;
+  }
+
+  private void startNext(String context, Lane lane) {
+    Entry entry = lane.queued.poll();
+    lane.running = true;
+    execute(() -> run(context, lane, entry));
+  }
+
+  private void run(String context, Lane lane, Entry entry) {
+    try {
+      entry.operation.run();
+      entry.future.complete(null);
+    } catch (IOException | RuntimeException e) {
+      entry.future.completeExceptionally(e);
+    } finally {
+      int depth;
+      synchronized (this) {
+        lane.running = false;
+        if (lane.queued.isEmpty()) {
+          lanes.remove(context);
+        } else {
+          startNext(context, lane);
+        }
+        depth = lane.getDepth();
+      }
+      fireDepthChanged(context, depth);
+    }
+  }
+
+  protected void execute(Runnable runnable) {
+    TaskScheduler.runAsync(TaskScheduler.Pool.CLI, runnable);
+  }
+
+  private void fireDepthChanged(String context, int depth) {
+    listeners.forEach(listener -> listener.onDepthChanged(context, depth));
+  }
+}
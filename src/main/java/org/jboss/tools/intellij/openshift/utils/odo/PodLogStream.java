@@ -0,0 +1,191 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils.odo;
+
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.dsl.LogWatch;
+import io.fabric8.openshift.client.OpenShiftClient;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.Optional;
+
+import static org.jboss.tools.intellij.openshift.KubernetesLabels.APP_LABEL;
+import static org.jboss.tools.intellij.openshift.KubernetesLabels.COMPONENT_NAME_LABEL;
+
+/**
+ * Log of the pod of a component, read through the Kubernetes API instead of an {@code odo log}
+ * process. When the log ends, because the connection was lost or the container or pod restarted,
+ * the pod is looked up again and the log resumed from the time it ended, or from its beginning for
+ * a new pod. The stream ends when it is closed or when no pod is found for
+ * {@link #MAX_ATTEMPTS_PROPERTY} consecutive attempts.
+ */
+public class PodLogStream extends InputStream {
+  public static final String RECONNECT_DELAY_PROPERTY = PodLogStream.class.getName() + ".reconnectDelay";
+
+  public static final String MAX_ATTEMPTS_PROPERTY = PodLogStream.class.getName() + ".maxAttempts";
+
+  private final OpenShiftClient client;
+  private final String project;
+  private final String application;
+  private final String component;
+  private final long delay;
+  private final int maxAttempts;
+  private String pod;
+  private volatile LogWatch watch;
+  private volatile InputStream current;
+  private String since;
+  private volatile boolean closed;
+
+  protected PodLogStream(OpenShiftClient client, String project, String application, String component, long delay, int maxAttempts) {
+    this.client = client;
+    this.project = project;
+    this.application = application;
+    this.component = component;
+    this.delay = delay;
+    this.maxAttempts = maxAttempts;
+  }
+
+  /**
+   * Follow the log of a component, the first connection is done by the caller so that an unreadable
+   * log is reported at once.
+   *
+   * @throws KubernetesClientException if the log cannot be read through the API
+   */
+  public static PodLogStream follow(OpenShiftClient client, String project, String application, String component) throws IOException {
+    PodLogStream stream = new PodLogStream(client, project, application, component,
+      Long.getLong(RECONNECT_DELAY_PROPERTY, 2000), Integer.getInteger(MAX_ATTEMPTS_PROPERTY, 30));
+    stream.current = stream.connect(null);
+    if (stream.current == null) {
+      throw new IOException("No pod found for component " + component);
+    }
+    return stream;
+  }
+
+  /**
+   * @return the current log of a component
+   * @throws KubernetesClientException if the log cannot be read through the API
+   */
+  public static InputStream log(OpenShiftClient client, String project, String application, String component) throws IOException {
+    Pod pod = findPod(client, project, application, component).orElseThrow(() -> new IOException("No pod found for component " + component));
+    String log = client.pods().inNamespace(project).withName(pod.getMetadata().getName()).inContainer(getContainer(pod)).getLog();
+    return new ByteArrayInputStream(log != null ? log.getBytes(StandardCharsets.UTF_8) : new byte[0]);
+  }
+
+  private static Optional<Pod> findPod(OpenShiftClient client, String project, String application, String component) {
+    return client.pods().inNamespace(project).withLabel(COMPONENT_NAME_LABEL, component).withLabel(APP_LABEL, application).list().getItems()
+      .stream().filter(pod -> pod.getStatus() == null || !"Pending".equals(pod.getStatus().getPhase()))
+      .max(Comparator.comparing(pod -> String.valueOf(pod.getMetadata().getCreationTimestamp())));
+  }
+
+  private static String getContainer(Pod pod) {
+    return pod.getSpec().getContainers().get(0).getName();
+  }
+
+  /**
+   * Open the log of the latest pod of the component.
+   *
+   * @param since RFC 3339 time from which the log of the previous pod is resumed, or null for the whole log
+   * @return the log or null if the component has no pod
+   */
+  protected InputStream connect(String since) throws IOException {
+    Optional<Pod> found = findPod(client, project, application, component);
+    if (!found.isPresent()) {
+      return null;
+    }
+    Pod latest = found.get();
+    String name = latest.getMetadata().getName();
+    if (!name.equals(pod)) {
+      since = null;
+      pod = name;
+    }
+    if (since != null) {
+      watch = client.pods().inNamespace(project).withName(name).inContainer(getContainer(latest)).sinceTime(since).watchLog();
+    } else {
+      watch = client.pods().inNamespace(project).withName(name).inContainer(getContainer(latest)).watchLog();
+    }
+    return watch.getOutput();
+  }
+
+  private void disconnect() {
+    if (watch != null) {
+      watch.close();
+      watch = null;
+    }
+    current = null;
+  }
+
+  @Override
+  public int read() throws IOException {
+    byte[] b = new byte[1];
+    return read(b, 0, 1) == -1 ? -1 : b[0] & 0xFF;
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    int attempts = 0;
+    while (!closed) {
+      if (current != null) {
+        int lg;
+        try {
+          lg = current.read(b, off, len);
+        } catch (IOException e) {
+          lg = -1;
+        }
+        if (lg != -1) {
+          return lg;
+        }
+        since = DateTimeFormatter.ISO_INSTANT.format(Instant.now().truncatedTo(ChronoUnit.SECONDS));
+        disconnect();
+      }
+      if (attempts++ >= maxAttempts) {
+        break;
+      }
+      try {
+        Thread.sleep(delay);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException(e.getLocalizedMessage());
+      }
+      if (!closed) {
+        try {
+          current = connect(since);
+        } catch (KubernetesClientException e) {
+          current = null;
+        }
+      }
+    }
+    return -1;
+  }
+
+  @Override
+  public void close() {
+    closed = true;
+    LogWatch watch = this.watch;
+    if (watch != null) {
+      watch.close();
+    }
+    InputStream current = this.current;
+    if (current != null) {
+      try {
+        current.close();
+      } catch (IOException e) {}
+    }
+  }
+}
@@ -0,0 +1,249 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils.odo;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.KubernetesResourceList;
+import io.fabric8.kubernetes.client.HttpClientAware;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.dsl.NonNamespaceOperation;
+import io.fabric8.openshift.api.model.Project;
+import io.fabric8.openshift.client.OpenShiftClient;
+import me.snowdrop.servicecatalog.api.client.ServiceCatalogClient;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import org.jboss.tools.intellij.openshift.KubernetesLabels;
+import org.jboss.tools.intellij.openshift.utils.TaskScheduler;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.jboss.tools.intellij.openshift.KubernetesLabels.NAME_LABEL;
+import static org.jboss.tools.intellij.openshift.KubernetesLabels.ODO_MIGRATED_LABEL;
+
+/**
+ * Relabel the resources created by odo before 1.0. Resources are first listed for all projects
+ * and kinds, then their labels are updated with JSON merge patches. Both steps run concurrently
+ * on the {@link TaskScheduler.Pool#API} pool.
+ */
+public class ProjectMigration {
+  private static final MediaType MERGE_PATCH = MediaType.parse("application/merge-patch+json");
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  /**
+   * Receives the progress of the migration, once per migrated resource.
+   */
+  public interface Reporter {
+    void report(String project, String kind, String name, int done, int total);
+  }
+
+  private static class Kind {
+    private final String label;
+    private final BiFunction<OpenShiftClient, String, NonNamespaceOperation<? extends HasMetadata, ?, ?, ?>> operation;
+    private final boolean optional;
+
+    private Kind(String label, BiFunction<OpenShiftClient, String, NonNamespaceOperation<? extends HasMetadata, ?, ?, ?>> operation, boolean optional) {
+      this.label = label;
+      this.operation = operation;
+      this.optional = optional;
+    }
+  }
+
+  private static final List<Kind> KINDS = Arrays.asList(
+    new Kind("deployment configs", (client, namespace) -> client.deploymentConfigs().inNamespace(namespace), false),
+    new Kind("routes", (client, namespace) -> client.routes().inNamespace(namespace), false),
+    new Kind("build configs", (client, namespace) -> client.buildConfigs().inNamespace(namespace), false),
+    new Kind("image streams", (client, namespace) -> client.imageStreams().inNamespace(namespace), false),
+    new Kind("services", (client, namespace) -> client.services().inNamespace(namespace), false),
+    new Kind("storages", (client, namespace) -> client.persistentVolumeClaims().inNamespace(namespace), false),
+    new Kind("secrets", (client, namespace) -> client.secrets().inNamespace(namespace), false),
+    //the service catalog may not be installed on the cluster
+    new Kind("service instances", (client, namespace) -> client.adapt(ServiceCatalogClient.class).serviceInstances().inNamespace(namespace), true));
+
+  private static class Item {
+    private final String project;
+    private final Kind kind;
+    private final HasMetadata resource;
+
+    private Item(String project, Kind kind, HasMetadata resource) {
+      this.project = project;
+      this.kind = kind;
+      this.resource = resource;
+    }
+  }
+
+  private final OpenShiftClient client;
+
+  public ProjectMigration(OpenShiftClient client) {
+    this.client = client;
+  }
+
+  public List<Exception> migrate(List<Project> projects, Reporter reporter) {
+    List<Exception> exceptions = Collections.synchronizedList(new ArrayList<>());
+    List<CompletableFuture<List<Item>>> lists = new ArrayList<>();
+    for(Project project : projects) {
+      String namespace = project.getMetadata().getName();
+      for(Kind kind : KINDS) {
+        lists.add(TaskScheduler.supplyAsync(TaskScheduler.Pool.API, () -> list(namespace, kind, exceptions)));
+      }
+    }
+    TaskScheduler.join(lists);
+    List<Item> items = lists.stream().map(CompletableFuture::join).flatMap(List::stream).collect(Collectors.toList());
+    AtomicInteger done = new AtomicInteger();
+    TaskScheduler.join(items.stream().map(item -> TaskScheduler.runAsync(TaskScheduler.Pool.API, () -> {
+      try {
+        patch(item);
+      } catch (Exception e) {
+        exceptions.add(e);
+      }
+      reporter.report(item.project, item.kind.label, item.resource.getMetadata().getName(), done.incrementAndGet(), items.size());
+    })).collect(Collectors.toList()));
+    return exceptions;
+  }
+
+  /**
+   * Find the projects holding resources created by odo before 1.0. Deployment configs and service
+   * instances are searched with a single cluster wide query per kind. When the user is not allowed
+   * to list them cluster wide, the projects are scanned concurrently.
+   *
+   * @param exceptions receives the failures of the project scans, the projects that failed are
+   *                   not returned
+   */
+  public List<Project> getLegacyProjects(List<Project> projects, List<Exception> exceptions) {
+    Set<String> namespaces = ConcurrentHashMap.newKeySet();
+    findLegacyNamespaces(KINDS.get(0), client -> getItems(client.deploymentConfigs().inAnyNamespace().withLabel(KubernetesLabels.COMPONENT_NAME_LABEL_PRE10).list()), projects, namespaces, exceptions);
+    findLegacyNamespaces(KINDS.get(KINDS.size() - 1), client -> getItems(client.adapt(ServiceCatalogClient.class).serviceInstances().inAnyNamespace().withLabel(KubernetesLabels.COMPONENT_NAME_LABEL_PRE10).list()), projects, namespaces, exceptions);
+    return projects.stream().filter(project -> namespaces.contains(project.getMetadata().getName())).collect(Collectors.toList());
+  }
+
+  /**
+   * @return the items of a list, whose class implements the raw list interface in the model
+   */
+  private static List<? extends HasMetadata> getItems(Object list) {
+    return ((KubernetesResourceList<?>) list).getItems();
+  }
+
+  private void findLegacyNamespaces(Kind kind, Function<OpenShiftClient, List<? extends HasMetadata>> anyNamespace, List<Project> projects, Set<String> namespaces, List<Exception> exceptions) {
+    try {
+      for(HasMetadata resource : anyNamespace.apply(client)) {
+        namespaces.add(resource.getMetadata().getNamespace());
+      }
+    } catch (KubernetesClientException e) {
+      if (kind.optional && e.getCode() == HttpURLConnection.HTTP_NOT_FOUND) {
+        return;
+      }
+      //the tree loads run on the API pool, the caller runs the scans that are still queued
+      TaskScheduler.join(projects.stream().map(project -> project.getMetadata().getName()).filter(namespace -> !namespaces.contains(namespace)).map(namespace -> TaskScheduler.runAsync(TaskScheduler.Pool.API, () -> {
+        try {
+          if (!getItems(kind.operation.apply(client, namespace).withLabel(KubernetesLabels.COMPONENT_NAME_LABEL_PRE10).list()).isEmpty()) {
+            namespaces.add(namespace);
+          }
+        } catch (Exception ex) {
+          if (!kind.optional) {
+            exceptions.add(ex);
+          }
+        }
+      })).collect(Collectors.toList()));
+    }
+  }
+
+  private List<Item> list(String namespace, Kind kind, List<Exception> exceptions) {
+    try {
+      List<? extends HasMetadata> resources = getItems(kind.operation.apply(client, namespace).withLabel(KubernetesLabels.COMPONENT_NAME_LABEL_PRE10).list());
+      return resources.stream().map(resource -> new Item(namespace, kind, resource)).collect(Collectors.toList());
+    } catch (Exception e) {
+      if (!kind.optional) {
+        exceptions.add(e);
+      }
+      return Collections.emptyList();
+    }
+  }
+
+  static void editLabels(Map<String, String> labels) {
+    String name = labels.get(KubernetesLabels.COMPONENT_NAME_LABEL_PRE10);
+    if (name != null) {
+      labels.put(KubernetesLabels.COMPONENT_NAME_LABEL, name);
+    }
+    name = labels.get(NAME_LABEL);
+    if (name != null) {
+      labels.put(KubernetesLabels.APP_LABEL, name);
+    }
+    name = labels.get(KubernetesLabels.COMPONENT_TYPE_LABEL);
+    if (name != null) {
+      labels.put(KubernetesLabels.NAME_LABEL, name);
+    }
+    name = labels.get(KubernetesLabels.COMPONENT_VERSION_LABEL);
+    if (name != null) {
+      labels.put(KubernetesLabels.RUNTIME_VERSION_LABEL, name);
+    }
+    name = labels.get(KubernetesLabels.URL_NAME_LABEL);
+    if (name != null) {
+      labels.put(KubernetesLabels.ODO_URL_NAME, name);
+    }
+    labels.put(ODO_MIGRATED_LABEL, "true");
+    labels.remove(KubernetesLabels.COMPONENT_NAME_LABEL_PRE10);
+  }
+
+  /**
+   * Compute the merge patch that turns the labels of the resource into the migrated ones:
+   * changed labels are set and removed labels are set to null.
+   */
+  static ObjectNode getPatch(Map<String, String> labels) {
+    Map<String, String> migrated = new HashMap<>(labels);
+    editLabels(migrated);
+    ObjectNode patch = MAPPER.createObjectNode();
+    ObjectNode labelsNode = patch.putObject("metadata").putObject("labels");
+    migrated.forEach((key, value) -> {
+      if (!value.equals(labels.get(key))) {
+        labelsNode.put(key, value);
+      }
+    });
+    labels.keySet().stream().filter(key -> !migrated.containsKey(key)).forEach(labelsNode::putNull);
+    return patch;
+  }
+
+  private void patch(Item item) throws IOException {
+    String description = item.kind.label + ' ' + item.resource.getMetadata().getName() + " in project " + item.project;
+    String selfLink = item.resource.getMetadata().getSelfLink();
+    if (selfLink == null || !(client instanceof HttpClientAware)) {
+      //the client would send a JSON patch of the whole resource, that may revert concurrent changes
+      throw new IOException("Failed to migrate " + description + ": no access to the resource on the API server");
+    }
+    OkHttpClient httpClient = ((HttpClientAware) client).getHttpClient();
+    Request request = new Request.Builder().url(new URL(client.getMasterUrl(), selfLink))
+      .patch(RequestBody.create(MERGE_PATCH, MAPPER.writeValueAsBytes(getPatch(item.resource.getMetadata().getLabels())))).build();
+    try (Response response = httpClient.newCall(request).execute()) {
+      if (!response.isSuccessful()) {
+        throw new IOException("Failed to migrate " + description + ": " + response.code() + ' ' + response.message());
+      }
+    }
+  }
+}
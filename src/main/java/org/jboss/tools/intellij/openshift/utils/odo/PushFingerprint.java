@@ -0,0 +1,366 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils.odo;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.jboss.tools.intellij.openshift.Constants;
+import org.jboss.tools.intellij.openshift.utils.TaskScheduler;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.PathMatcher;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Content fingerprint of a component context, used to tell whether the context changed since its
+ * last successful push. Every file that odo would push, i.e. not matched by the {@code .odoignore}
+ * rules, is hashed and the sorted path/hash pairs are hashed again into a root hash. The odo local
+ * configuration is hashed too, as the URLs, storages and links it lists are only created by a push.
+ * The fingerprint of the last push is saved next to the odo local configuration with the size and
+ * modification time of each file, so that only the files whose size or modification time changed
+ * are hashed again. As odo only pushes the JAR file of a binary component, its fingerprint is made
+ * of the JAR entries and of the configuration instead, so that a JAR rebuilt from unchanged classes
+ * and resources is not pushed again.
+ */
+public class PushFingerprint {
+  public static final int VERSION = 1;
+
+  public static final String FILE = ".odo/push-fingerprint.json";
+
+  public static final String IGNORE_FILE = ".odoignore";
+
+  private static final String BINARY_PREFIX = "!/";
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  /**
+   * Last known state of the contexts, so that tree labels do not walk the file system.
+   */
+  private static final Map<String, Boolean> DIRTY = new ConcurrentHashMap<>();
+
+  /**
+   * Contexts with a background check that did not start yet.
+   */
+  private static final Set<String> SCHEDULED = ConcurrentHashMap.newKeySet();
+
+  private static class Entry {
+    private final long size;
+    private final long modified;
+    private final String hash;
+
+    private Entry(long size, long modified, String hash) {
+      this.size = size;
+      this.modified = modified;
+      this.hash = hash;
+    }
+  }
+
+  /**
+   * Subset of the gitignore syntax supported by odo: blank lines and comments are skipped, a trailing
+   * slash only matches directories, a pattern without slash matches at any depth, other patterns are
+   * relative to the context.
+   */
+  private static class IgnoreRules {
+    private final List<PathMatcher> matchers = new ArrayList<>();
+    private final List<Boolean> directoryOnly = new ArrayList<>();
+
+    private IgnoreRules(Path context) throws IOException {
+      Path file = context.resolve(IGNORE_FILE);
+      if (Files.isRegularFile(file)) {
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+          line = line.trim();
+          if (line.isEmpty() || line.startsWith("#") || line.startsWith("!")) {
+            continue;
+          }
+          boolean directory = line.endsWith("/");
+          if (directory) {
+            line = line.substring(0, line.length() - 1);
+          }
+          String glob = line.startsWith("/") ? line.substring(1) : line.contains("/") ? line : "**/" + line;
+          matchers.add(FileSystems.getDefault().getPathMatcher("glob:" + glob));
+          directoryOnly.add(directory);
+          if (glob.startsWith("**/")) {
+            //glob ** requires at least one parent directory, also match at the context root
+            matchers.add(FileSystems.getDefault().getPathMatcher("glob:" + glob.substring(3)));
+            directoryOnly.add(directory);
+          }
+        }
+      }
+    }
+
+    private boolean isIgnored(Path relative, boolean directory) {
+      for (int i = 0; i < matchers.size(); ++i) {
+        if ((directory || !directoryOnly.get(i)) && matchers.get(i).matches(relative)) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+
+  private final Path context;
+  private final SortedMap<String, Entry> files;
+  private final String root;
+
+  private PushFingerprint(Path context, SortedMap<String, Entry> files) {
+    this.context = context;
+    this.files = files;
+    this.root = computeRoot(files);
+  }
+
+  public String getRoot() {
+    return root;
+  }
+
+  private static String toHex(byte[] bytes) {
+    StringBuilder builder = new StringBuilder();
+    for (byte b : bytes) {
+      builder.append(String.format("%02x", b));
+    }
+    return builder.toString();
+  }
+
+  private static MessageDigest getDigest() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static String computeRoot(SortedMap<String, Entry> files) {
+    MessageDigest digest = getDigest();
+    files.forEach((path, entry) -> {
+      digest.update(path.getBytes(StandardCharsets.UTF_8));
+      digest.update((byte) 0);
+      digest.update(entry.hash.getBytes(StandardCharsets.US_ASCII));
+      digest.update((byte) '\n');
+    });
+    return toHex(digest.digest());
+  }
+
+  private static String hash(Path file) throws IOException {
+    MessageDigest digest = getDigest();
+    byte[] buffer = new byte[8192];
+    try (InputStream stream = Files.newInputStream(file)) {
+      int lg;
+      while ((lg = stream.read(buffer)) != -1) {
+        digest.update(buffer, 0, lg);
+      }
+    }
+    return toHex(digest.digest());
+  }
+
+  /**
+   * @return the JAR file of a binary component or null if the component is not a binary one
+   */
+  private static Path getBinary(Path context) {
+    Path config = context.resolve(Constants.ODO_CONFIG_YAML);
+    if (Files.exists(config)) {
+      try {
+        LocalConfig.ComponentSettings settings = LocalConfig.load(config.toUri().toURL()).getComponentSettings();
+        if (settings != null && settings.getSourceLocation() != null
+          && ComponentSourceType.fromAnnotation(settings.getSourceType()) == ComponentSourceType.BINARY) {
+          String location = settings.getSourceLocation();
+          if (location.startsWith("file://")) {
+            location = location.substring("file://".length());
+          }
+          return context.resolve(location).normalize();
+        }
+      } catch (IOException e) {}
+    }
+    return null;
+  }
+
+  /**
+   * Compute the fingerprint of the current content of a context. Files whose size and modification
+   * time match the saved fingerprint are not read again.
+   */
+  public static PushFingerprint compute(Path context) throws IOException {
+    Path binary = getBinary(context);
+    if (binary != null) {
+      SortedMap<String, Entry> entries = new TreeMap<>();
+      JarIndex.read(binary).getEntries().forEach((name, entry) -> entries.put(BINARY_PREFIX + name,
+        new Entry(entry.getSize(), 0, Long.toHexString(entry.getCrc()))));
+      Path config = context.resolve(Constants.ODO_CONFIG_YAML);
+      entries.put(Constants.ODO_CONFIG_YAML, new Entry(Files.size(config), Files.getLastModifiedTime(config).toMillis(), hash(config)));
+      return new PushFingerprint(context, entries);
+    }
+    PushFingerprint previous = load(context);
+    IgnoreRules rules = new IgnoreRules(context);
+    Path config = context.resolve(Constants.ODO_CONFIG_YAML);
+    Path odo = config.getParent();
+    SortedMap<String, Entry> files = new TreeMap<>();
+    Files.walkFileTree(context, new SimpleFileVisitor<Path>() {
+      @Override
+      public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+        if (dir.equals(context)) {
+          return FileVisitResult.CONTINUE;
+        }
+        Path relative = context.relativize(dir);
+        String name = dir.getFileName().toString();
+        if (dir.equals(odo)) {
+          //only the local configuration is part of the content, see visitFile
+          return FileVisitResult.CONTINUE;
+        }
+        if (name.equals(".odo") || name.equals(".git") || dir.getParent().equals(odo) || rules.isIgnored(relative, true)) {
+          return FileVisitResult.SKIP_SUBTREE;
+        }
+        return FileVisitResult.CONTINUE;
+      }
+
+      @Override
+      public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+        Path relative = context.relativize(file);
+        if (file.getParent().equals(odo) && !file.equals(config)) {
+          return FileVisitResult.CONTINUE;
+        }
+        if (attrs.isRegularFile() && !rules.isIgnored(relative, false)) {
+          String path = relative.toString().replace('\\', '/');
+          long size = attrs.size();
+          long modified = attrs.lastModifiedTime().toMillis();
+          Entry known = previous != null ? previous.files.get(path) : null;
+          if (known != null && known.size == size && known.modified == modified) {
+            files.put(path, known);
+          } else {
+            files.put(path, new Entry(size, modified, hash(file)));
+          }
+        }
+        return FileVisitResult.CONTINUE;
+      }
+
+      @Override
+      public FileVisitResult visitFileFailed(Path file, IOException exc) {
+        //a file deleted while walking is not part of the content
+        return FileVisitResult.CONTINUE;
+      }
+    });
+    return new PushFingerprint(context, files);
+  }
+
+  /**
+   * @return the fingerprint saved by the last successful push or null if there is none or it is unreadable
+   */
+  public static PushFingerprint load(Path context) {
+    Path path = context.resolve(FILE);
+    if (Files.exists(path)) {
+      try {
+        JsonNode root = MAPPER.readTree(path.toFile());
+        if (root != null && root.path("version").asInt() == VERSION) {
+          SortedMap<String, Entry> files = new TreeMap<>();
+          Iterator<Map.Entry<String, JsonNode>> fields = root.path("files").fields();
+          while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            JsonNode node = field.getValue();
+            files.put(field.getKey(), new Entry(node.path("size").asLong(), node.path("modified").asLong(), node.path("hash").asText()));
+          }
+          return new PushFingerprint(context, files);
+        }
+      } catch (IOException e) {}
+    }
+    return null;
+  }
+
+  /**
+   * Save this fingerprint as the one of the last successful push.
+   */
+  public void save() throws IOException {
+    ObjectNode root = MAPPER.createObjectNode();
+    root.put("version", VERSION);
+    root.put("root", this.root);
+    ObjectNode nodes = root.putObject("files");
+    files.forEach((path, entry) -> {
+      ObjectNode node = nodes.putObject(path);
+      node.put("size", entry.size);
+      node.put("modified", entry.modified);
+      node.put("hash", entry.hash);
+    });
+    Path path = context.resolve(FILE);
+    Files.createDirectories(path.getParent());
+    Path temp = Files.createTempFile(path.getParent(), "push-fingerprint", ".tmp");
+    try (OutputStream stream = Files.newOutputStream(temp)) {
+      MAPPER.writeValue(stream, root);
+    }
+    Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    DIRTY.put(context.toString(), false);
+  }
+
+  /**
+   * Compare the current content of a context with its last successful push.
+   *
+   * @return true if the context was never pushed or changed since
+   */
+  public static boolean isDirty(Path context) {
+    boolean dirty;
+    try {
+      PushFingerprint previous = load(context);
+      dirty = previous == null || !Objects.equals(previous.root, compute(context).root);
+    } catch (IOException e) {
+      dirty = true;
+    }
+    DIRTY.put(context.toString(), dirty);
+    return dirty;
+  }
+
+  /**
+   * @return the state found by the last check of the context, or false if it was never checked
+   */
+  public static boolean isKnownDirty(String context) {
+    return context != null && DIRTY.getOrDefault(context, false);
+  }
+
+  /**
+   * @return true if the state of the context is known, i.e. it was checked or pushed
+   */
+  public static boolean isChecked(String context) {
+    return context != null && DIRTY.containsKey(context);
+  }
+
+  /**
+   * Check the context again in background so that {@link #isKnownDirty(String)} is up to date. The
+   * checks requested before a pending one starts are merged into it.
+   *
+   * @param listener called if the state of the context changed
+   */
+  public static void checkAsync(String context, Runnable listener) {
+    if (SCHEDULED.add(context)) {
+      TaskScheduler.runAsync(TaskScheduler.Pool.FILES, () -> {
+        SCHEDULED.remove(context);
+        Boolean previous = DIRTY.get(context);
+        if (!Objects.equals(previous, isDirty(Paths.get(context)))) {
+          listener.run();
+        }
+      });
+    }
+  }
+}
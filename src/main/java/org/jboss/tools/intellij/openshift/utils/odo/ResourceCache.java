@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils.odo;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.KubernetesResourceList;
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaim;
+import io.fabric8.kubernetes.api.model.Service;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
+import io.fabric8.kubernetes.client.dsl.NonNamespaceOperation;
+import io.fabric8.openshift.api.model.DeploymentConfig;
+import io.fabric8.openshift.api.model.Route;
+import io.fabric8.openshift.client.OpenShiftClient;
+import me.snowdrop.servicecatalog.api.client.ServiceCatalogClient;
+import me.snowdrop.servicecatalog.api.model.ServiceInstance;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Namespace scoped cache of the cluster resources the application tree is built from.
+ * A namespace/kind pair is listed once on first access then kept in sync through a watch,
+ * so that subsequent tree expansions are served from memory. If the watch is closed by
+ * the server, the pair is listed and watched again on next access.
+ */
+public class ResourceCache {
+  private static final Map<OpenShiftClient, ResourceCache> CACHES = new IdentityHashMap<>();
+
+  private final OpenShiftClient client;
+  private final Map<String, Store<?>> stores = new ConcurrentHashMap<>();
+
+  private static class Store<T extends HasMetadata> implements Watcher<T> {
+    private final Class<T> type;
+    private final Supplier<NonNamespaceOperation<T, ?, ?, ?>> operation;
+    private final Map<String, T> resources = new ConcurrentHashMap<>();
+    private volatile boolean synced = false;
+    private Watch watch;
+
+    private Store(Class<T> type, Supplier<NonNamespaceOperation<T, ?, ?, ?>> operation) {
+      this.type = type;
+      this.operation = operation;
+    }
+
+    private synchronized List<T> get() {
+      if (!synced) {
+        NonNamespaceOperation<T, ?, ?, ?> op = operation.get();
+        //the list classes of the model implement the raw list interface, so the items are checked one by one
+        KubernetesResourceList<?> list = (KubernetesResourceList<?>) op.list();
+        resources.clear();
+        for(HasMetadata resource : list.getItems()) {
+          resources.put(resource.getMetadata().getName(), type.cast(resource));
+        }
+        if (watch != null) {
+          watch.close();
+        }
+        try {
+          watch = op.withResourceVersion(list.getMetadata().getResourceVersion()).watch(this);
+          synced = true;
+        } catch (KubernetesClientException e) {
+          //watch not allowed, serve the list but reload it on next access
+          watch = null;
+        }
+      }
+      return new ArrayList<>(resources.values());
+    }
+
+    @Override
+    public void eventReceived(Action action, T resource) {
+      switch (action) {
+        case ADDED:
+        case MODIFIED:
+          resources.put(resource.getMetadata().getName(), resource);
+          break;
+        case DELETED:
+          resources.remove(resource.getMetadata().getName());
+          break;
+        case ERROR:
+          synced = false;
+          break;
+      }
+    }
+
+    @Override
+    public void onClose(KubernetesClientException cause) {
+      synced = false;
+    }
+
+    private synchronized void close() {
+      synced = false;
+      if (watch != null) {
+        watch.close();
+        watch = null;
+      }
+    }
+  }
+
+  public ResourceCache(OpenShiftClient client) {
+    this.client = client;
+  }
+
+  /**
+   * Return the cache shared by all the {@link Odo} layers for this client. Each client, so each
+   * project window, has its own cache that is kept until the client is released.
+   */
+  public static synchronized ResourceCache get(OpenShiftClient client) {
+    return CACHES.computeIfAbsent(client, ResourceCache::new);
+  }
+
+  /**
+   * Close the cache of a client that is replaced (login, context switch) or no longer used.
+   */
+  public static synchronized void release(OpenShiftClient client) {
+    ResourceCache cache = CACHES.remove(client);
+    if (cache != null) {
+      cache.close();
+    }
+  }
+
+  private <T extends HasMetadata> List<T> get(String kind, String namespace, Class<T> type, Supplier<NonNamespaceOperation<T, ?, ?, ?>> operation) {
+    Store<?> store = stores.computeIfAbsent(kind + '/' + namespace, key -> new Store<>(type, operation));
+    return store.get().stream().map(type::cast).collect(Collectors.toList());
+  }
+
+  public List<DeploymentConfig> getDeploymentConfigs(String namespace) {
+    return get("deploymentconfigs", namespace, DeploymentConfig.class, () -> client.deploymentConfigs().inNamespace(namespace));
+  }
+
+  public List<PersistentVolumeClaim> getPersistentVolumeClaims(String namespace) {
+    return get("persistentvolumeclaims", namespace, PersistentVolumeClaim.class, () -> client.persistentVolumeClaims().inNamespace(namespace));
+  }
+
+  public List<ServiceInstance> getServiceInstances(String namespace) {
+    return get("serviceinstances", namespace, ServiceInstance.class, () -> client.adapt(ServiceCatalogClient.class).serviceInstances().inNamespace(namespace));
+  }
+
+  public List<Route> getRoutes(String namespace) {
+    return get("routes", namespace, Route.class, () -> client.routes().inNamespace(namespace));
+  }
+
+  public List<Service> getServices(String namespace) {
+    return get("services", namespace, Service.class, () -> client.services().inNamespace(namespace));
+  }
+
+  /**
+   * Drop the cached resources for a namespace, they will be listed again on next access.
+   */
+  public void invalidate(String namespace) {
+    stores.entrySet().removeIf(entry -> {
+      if (entry.getKey().endsWith('/' + namespace)) {
+        entry.getValue().close();
+        return true;
+      }
+      return false;
+    });
+  }
+
+  public void close() {
+    stores.values().forEach(Store::close);
+    stores.clear();
+  }
+}
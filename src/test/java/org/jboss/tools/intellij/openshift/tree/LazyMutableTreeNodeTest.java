@@ -0,0 +1,157 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.tree;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.swing.SwingUtilities;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class LazyMutableTreeNodeTest {
+    private List<String> names;
+    private TestNode root;
+    private LazyMutableTreeNode.ChangeListener listener;
+    private CountDownLatch loads;
+
+    private class TestNode extends LazyMutableTreeNode {
+        private TestNode(String name) {
+            super(name);
+        }
+
+        @Override
+        public void load() {
+            try {
+                super.load();
+                if (getParent() == null) {
+                    names.forEach(name -> add(new TestNode(name)));
+                }
+            } finally {
+                loads.countDown();
+            }
+        }
+    }
+
+    @Before
+    public void before() {
+        names = new ArrayList<>(Arrays.asList("project1", "project2", "project3"));
+        loads = new CountDownLatch(1);
+        root = new TestNode("root");
+        root.load();
+        listener = mock(LazyMutableTreeNode.ChangeListener.class);
+        root.addChangeListener(listener);
+    }
+
+    @Test
+    public void checkUnchangedChildrenAreKept() throws Exception {
+        LazyMutableTreeNode project2 = (LazyMutableTreeNode) root.getChildAt(1);
+        project2.load();
+        names.remove("project1");
+        root.reconcile().get(10, TimeUnit.SECONDS);
+        assertEquals(2, root.getChildCount());
+        assertSame(project2, root.getChildAt(0));
+        assertTrue(project2.isLoaded());
+        verify(listener).onChildRemoved(eq(root), any(), eq(0));
+        verify(listener, never()).onChildrensRemoved(any());
+    }
+
+    @Test
+    public void checkNewChildrenAreInserted() throws Exception {
+        names.add(1, "project4");
+        root.reconcile().get(10, TimeUnit.SECONDS);
+        assertEquals(4, root.getChildCount());
+        assertEquals("project4", root.getChildAt(1).toString());
+        verify(listener).onChildAdded(eq(root), any(), eq(1));
+        verify(listener, never()).onChildRemoved(any(), any(), anyInt());
+    }
+
+    @Test
+    public void checkAsyncLoadDisplaysPlaceholder() throws Exception {
+        TestNode node = new TestNode("root");
+        LazyMutableTreeNode.ChangeListener listener = mock(LazyMutableTreeNode.ChangeListener.class);
+        node.addChangeListener(listener);
+        CountDownLatch spliced = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            spliced.countDown();
+            return null;
+        }).when(listener).onChildAdded(eq(node), any(), eq(2));
+        CountDownLatch latch = new CountDownLatch(1);
+        names = new ArrayList<String>(names) {
+            @Override
+            public void forEach(Consumer<? super String> action) {
+                try {
+                    latch.await();
+                } catch (InterruptedException e) {}
+                super.forEach(action);
+            }
+        };
+        node.loadAsync();
+        assertEquals(1, node.getChildCount());
+        assertEquals(LazyMutableTreeNode.LOADING_LABEL, node.getChildAt(0).toString());
+        latch.countDown();
+        assertTrue(spliced.await(10, TimeUnit.SECONDS));
+        assertFalse(node.isLoading());
+        assertEquals(3, node.getChildCount());
+        assertEquals("project1", node.getChildAt(0).toString());
+        verify(listener).onChildAdded(eq(node), any(), eq(2));
+    }
+
+    @Test
+    public void checkReloadDiscardsPendingAsyncLoad() throws Exception {
+        TestNode node = new TestNode("root");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch latch = new CountDownLatch(1);
+        names = new ArrayList<String>(names) {
+            @Override
+            public void forEach(Consumer<? super String> action) {
+                started.countDown();
+                try {
+                    latch.await();
+                } catch (InterruptedException e) {}
+                super.forEach(action);
+            }
+        };
+        loads = new CountDownLatch(1);
+        node.loadAsync();
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        node.reload();
+        latch.countDown();
+        //the discarded load completes and the event queue is flushed before checking nothing was spliced
+        assertTrue(loads.await(10, TimeUnit.SECONDS));
+        SwingUtilities.invokeAndWait(() -> {});
+        assertEquals(0, node.getChildCount());
+        assertFalse(node.isLoaded());
+    }
+
+    @Test
+    public void checkNotLoadedNodeIsNotReconciled() throws Exception {
+        TestNode node = new TestNode("root");
+        node.reconcile().get(10, TimeUnit.SECONDS);
+        assertEquals(0, node.getChildCount());
+    }
+}
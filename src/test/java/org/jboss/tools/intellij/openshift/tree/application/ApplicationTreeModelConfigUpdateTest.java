@@ -133,6 +133,10 @@ public class ApplicationTreeModelConfigUpdateTest {
             protected void initConfigWatcher() {
             }
 
+            @Override
+            protected void initOperationQueue() {
+            }
+
             @Override
             protected void loadProjectModel(Project project) {
             }
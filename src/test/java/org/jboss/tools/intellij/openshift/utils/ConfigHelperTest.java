@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils;
+
+import io.fabric8.kubernetes.api.model.Config;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ConfigHelperTest {
+  private static final String CONFIG = "apiVersion: v1\n" +
+          "kind: Config\n" +
+          "current-context: %s\n" +
+          "contexts:\n" +
+          "- name: %s\n" +
+          "  context:\n" +
+          "    cluster: cluster\n" +
+          "    namespace: project\n" +
+          "    user: developer\n";
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private String home;
+  private File kubeConfig;
+
+  @Before
+  public void before() throws IOException {
+    home = System.getProperty("user.home");
+    System.setProperty("user.home", folder.getRoot().getAbsolutePath());
+    kubeConfig = new File(folder.newFolder(".kube"), "config");
+  }
+
+  @After
+  public void after() {
+    System.setProperty("user.home", home);
+  }
+
+  private void write(String context) throws IOException {
+    Files.write(kubeConfig.toPath(), String.format(CONFIG, context, context).getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void checkSnapshotIsSharedWhileFileIsUnchanged() throws IOException {
+    write("ctx1");
+    Config config = ConfigHelper.getKubeConfigSnapshot();
+    assertEquals("ctx1", config.getCurrentContext());
+    assertSame(config, ConfigHelper.getKubeConfigSnapshot());
+    assertEquals("project", ConfigHelper.getCurrentContext().getNamespace());
+  }
+
+  @Test
+  public void checkSnapshotIsParsedAgainWhenFileChanges() throws IOException {
+    write("ctx1");
+    Config config = ConfigHelper.getKubeConfigSnapshot();
+    write("context2");
+    assertEquals("context2", ConfigHelper.getKubeConfigSnapshot().getCurrentContext());
+    assertNotSame(config, ConfigHelper.getKubeConfigSnapshot());
+  }
+
+  @Test
+  public void checkSnapshotIsParsedAgainWhenFileIsRewrittenWithSameSizeAndTime() throws IOException {
+    write("ctx1");
+    long modified = kubeConfig.lastModified();
+    assertEquals("ctx1", ConfigHelper.getKubeConfigSnapshot().getCurrentContext());
+    //a rewrite within the modification time resolution
+    write("ctx2");
+    assertTrue(kubeConfig.setLastModified(modified));
+    assertEquals("ctx2", ConfigHelper.getKubeConfigSnapshot().getCurrentContext());
+  }
+
+  @Test
+  public void checkLoadedConfigIsACopy() throws IOException {
+    write("ctx1");
+    Config config = ConfigHelper.loadKubeConfig();
+    assertNotSame(ConfigHelper.getKubeConfigSnapshot(), config);
+    config.setCurrentContext("ctx2");
+    config.getContexts().get(0).setName("ctx2");
+    assertEquals("ctx1", ConfigHelper.getKubeConfigSnapshot().getCurrentContext());
+    assertEquals("ctx1", ConfigHelper.getKubeConfigSnapshot().getContexts().get(0).getName());
+  }
+
+  @Test
+  public void checkSaveReplacesSnapshot() throws IOException {
+    write("ctx1");
+    Config config = ConfigHelper.loadKubeConfig();
+    config.setCurrentContext("ctx2");
+    config.getContexts().get(0).setName("ctx2");
+    ConfigHelper.saveKubeConfig(config);
+    assertEquals("ctx2", ConfigHelper.getKubeConfigSnapshot().getCurrentContext());
+  }
+
+  @Test
+  public void checkUnparsableConfig() throws IOException {
+    Files.write(kubeConfig.toPath(), "contexts: [".getBytes(StandardCharsets.UTF_8));
+    assertFalse(ConfigHelper.isKubeConfigParsable());
+    write("ctx1");
+    assertTrue(ConfigHelper.isKubeConfigParsable());
+  }
+}
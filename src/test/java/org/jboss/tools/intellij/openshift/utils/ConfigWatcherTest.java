@@ -13,24 +13,33 @@ package org.jboss.tools.intellij.openshift.utils;
 import io.fabric8.kubernetes.api.model.Config;
 import io.fabric8.kubernetes.api.model.ConfigBuilder;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.WatchEvent;
+import java.nio.file.attribute.FileTime;
 import java.nio.file.WatchKey;
 import java.nio.file.WatchService;
 import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
 
 import static org.fest.assertions.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 
 public class ConfigWatcherTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
 
     private Path configPath;
     private WatchService service;
@@ -85,6 +94,63 @@ public class ConfigWatcherTest {
         assertThat(this.watcher.getCallbackCount()).isEqualTo(0);
     }
 
+    @Test
+    public void shouldNotNotifyListenerIfContentIsUnchanged() {
+        // given
+        TestableConfigWatcher watcher = new TestableConfigWatcher(configPath, service) {
+            @Override
+            protected boolean hasContentChanged() {
+                return false;
+            }
+        };
+        // when
+        watcher.run();
+        // then
+        assertThat(watcher.getCallbackCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void shouldNotifyListenerOnceForBurstOfEvents() throws Exception {
+        // given
+        WatchKey key = mock(WatchKey.class);
+        doReturn(Arrays.asList(createWatchEvent(configPath))).when(key).pollEvents();
+        doReturn(key).doReturn(null).when(service).take();
+        doReturn(key).doReturn(key).doReturn(null).when(service).poll(anyLong(), any(TimeUnit.class));
+        // when
+        watcher.run();
+        // then
+        assertThat(watcher.getCallbackCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldNotifyListenerIfConfigFileChanged() throws IOException {
+        // given
+        Path file = folder.newFile("config").toPath();
+        ConfigWatcher watcher = new ConfigWatcher(file, null);
+        assertThat(watcher.hasContentChanged()).isTrue();
+        assertThat(watcher.hasContentChanged()).isFalse();
+        // when
+        Files.write(file, "apiVersion: v1".getBytes(StandardCharsets.UTF_8));
+        // then
+        assertThat(watcher.hasContentChanged()).isTrue();
+    }
+
+    @Test
+    public void shouldNotifyListenerIfConfigFileRewrittenWithSameSizeAndTime() throws IOException {
+        // given
+        Path file = folder.newFile("config").toPath();
+        Files.write(file, "token: abc".getBytes(StandardCharsets.UTF_8));
+        FileTime modified = Files.getLastModifiedTime(file);
+        ConfigWatcher watcher = new ConfigWatcher(file, null);
+        assertThat(watcher.hasContentChanged()).isTrue();
+        assertThat(watcher.hasContentChanged()).isFalse();
+        // when
+        Files.write(file, "token: def".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, modified);
+        // then
+        assertThat(watcher.hasContentChanged()).isTrue();
+    }
+
     private Path createPath() {
         Path path = mock(Path.class);
         // mock #resolve
@@ -140,6 +206,11 @@ public class ConfigWatcherTest {
             return new ConfigBuilder().build();
         }
 
+        @Override
+        protected boolean hasContentChanged() {
+            return true;
+        }
+
         private int getCallbackCount() {
             return callCount;
         }
@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
+
+public class ExecHelperTest {
+    private static final ExecHelper.OutputParser<String> TEXT = output -> IOUtils.toString(output, StandardCharsets.UTF_8);
+
+    private static InputStream redirected(String content, boolean redirect) {
+        return new ExecHelper.RedirectedStream(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), redirect, false);
+    }
+
+    @Test
+    public void checkLineEndsAreTranslated() throws IOException {
+        assertEquals("a\r\nbc\r\n\r\nd", IOUtils.toString(redirected("a\nbc\n\nd", true), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void checkContentIsUnchangedWithoutRedirect() throws IOException {
+        assertEquals("a\nbc\n\nd", IOUtils.toString(redirected("a\nbc\n\nd", false), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void checkLineEndIsSplitAcrossReads() throws IOException {
+        InputStream stream = redirected("ab\ncd", true);
+        byte[] buffer = new byte[3];
+        StringBuilder builder = new StringBuilder();
+        int lg;
+        while ((lg = stream.read(buffer, 0, buffer.length)) != -1) {
+            builder.append(new String(buffer, 0, lg, StandardCharsets.UTF_8)).append('|');
+        }
+        assertEquals("ab\r|\ncd|", builder.toString());
+    }
+
+    @Test
+    public void checkSingleByteReads() throws IOException {
+        InputStream stream = redirected("a\nb", true);
+        StringBuilder builder = new StringBuilder();
+        int c;
+        while ((c = stream.read()) != -1) {
+            builder.append((char) c);
+        }
+        assertEquals("a\r\nb", builder.toString());
+    }
+
+    @Test
+    public void checkLargeOutputIsTranslated() throws IOException {
+        StringBuilder input = new StringBuilder();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 10000; ++i) {
+            input.append("line ").append(i).append('\n');
+            expected.append("line ").append(i).append("\r\n");
+        }
+        assertEquals(expected.toString(), IOUtils.toString(redirected(input.toString(), true), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void checkOutputIsDrainedAfterClosingParser() throws IOException {
+        assumeTrue(new File("/bin/sh").canExecute());
+        //the mapper closes its input once the first document is read, the remaining output must still be consumed
+        JsonNode node = ExecHelper.execute("/bin/sh", new File(System.getProperty("java.io.tmpdir")),
+                output -> new ObjectMapper().readTree(output),
+                "-c", "echo '{\"name\":\"nodejs\"}'; i=0; while [ $i -lt 2000 ]; do echo '{\"padding\":\"0123456789012345678901234567890123456789\"}'; i=$((i+1)); done");
+        assertEquals("nodejs", node.get("name").asText());
+    }
+
+    @Test
+    public void checkCancelledQueryReleasesCallers() throws Exception {
+        assumeTrue(new File("/bin/sh").canExecute());
+        ExecHelper.Mode mode = ExecHelper.getMode();
+        ExecHelper.setMode(ExecHelper.Mode.BATCH);
+        try {
+            File workingDirectory = new File(System.getProperty("java.io.tmpdir"));
+            CompletableFuture<String> caller = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return ExecHelper.query("/bin/sh", workingDirectory, TEXT, "-c", "sleep 2; echo slow");
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            long start = System.currentTimeMillis();
+            while (TaskScheduler.getMetrics(TaskScheduler.Pool.QUERY).getActive() == 0 && System.currentTimeMillis() - start < 10000) {
+                Thread.sleep(10);
+            }
+            TaskScheduler.cancelAll(TaskScheduler.Pool.QUERY);
+            try {
+                caller.get(1, TimeUnit.SECONDS);
+                fail("the caller should be released with an error");
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause().getCause() instanceof IOException);
+            }
+            //the cancelled invocation is not shared with the next callers
+            assertEquals("slow\n", ExecHelper.query("/bin/sh", workingDirectory, TEXT, "-c", "sleep 2; echo slow"));
+        } finally {
+            ExecHelper.setMode(mode);
+        }
+    }
+}
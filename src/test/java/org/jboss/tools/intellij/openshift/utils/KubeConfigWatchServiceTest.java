@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils;
+
+import com.intellij.openapi.Disposable;
+import io.fabric8.kubernetes.api.model.Config;
+import io.fabric8.kubernetes.api.model.ConfigBuilder;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.file.Paths;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class KubeConfigWatchServiceTest {
+    private AtomicInteger watcherCount;
+    private KubeConfigWatchService service;
+
+    @Before
+    public void before() {
+        watcherCount = new AtomicInteger();
+        service = new KubeConfigWatchService() {
+            @Override
+            protected ConfigWatcher createWatcher() {
+                watcherCount.incrementAndGet();
+                return new ConfigWatcher(Paths.get("config"), this) {
+                    @Override
+                    public void run() {
+                    }
+                };
+            }
+        };
+    }
+
+    @Test
+    public void checkSingleWatcherForAllListeners() {
+        ConfigWatcher.Listener listener1 = mock(ConfigWatcher.Listener.class);
+        ConfigWatcher.Listener listener2 = mock(ConfigWatcher.Listener.class);
+        service.addListener(listener1, mock(Disposable.class));
+        service.addListener(listener2, mock(Disposable.class));
+        Config config = new ConfigBuilder().build();
+        service.onUpdate(null, config);
+        verify(listener1).onUpdate(null, config);
+        verify(listener2).onUpdate(null, config);
+        assertEquals(1, watcherCount.get());
+    }
+
+    @Test
+    public void checkRemovedListenerIsNotNotified() {
+        ConfigWatcher.Listener listener = mock(ConfigWatcher.Listener.class);
+        service.addListener(listener, mock(Disposable.class));
+        service.removeListener(listener);
+        service.onUpdate(null, new ConfigBuilder().build());
+        verify(listener, never()).onUpdate(any(), any());
+    }
+
+    @Test
+    public void checkWatcherIsRestartedAfterDispose() {
+        service.addListener(mock(ConfigWatcher.Listener.class), mock(Disposable.class));
+        service.dispose();
+        service.addListener(mock(ConfigWatcher.Listener.class), mock(Disposable.class));
+        assertEquals(2, watcherCount.get());
+    }
+}
@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TaskSchedulerTest {
+  @Test
+  public void checkTasksRunOnTheirPool() throws Exception {
+    assertFalse(TaskScheduler.isPoolThread(TaskScheduler.Pool.CLI));
+    assertTrue(TaskScheduler.supplyAsync(TaskScheduler.Pool.CLI, () -> TaskScheduler.isPoolThread(TaskScheduler.Pool.CLI)).get(10, TimeUnit.SECONDS));
+    assertFalse(TaskScheduler.supplyAsync(TaskScheduler.Pool.API, () -> TaskScheduler.isPoolThread(TaskScheduler.Pool.CLI)).get(10, TimeUnit.SECONDS));
+    assertTrue(TaskScheduler.supplyAsync(TaskScheduler.Pool.UI, () -> TaskScheduler.isPoolThread(TaskScheduler.Pool.UI)).get(10, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void checkMetricsAreUpdated() throws Exception {
+    TaskScheduler.Metrics metrics = TaskScheduler.getMetrics(TaskScheduler.Pool.API);
+    long submitted = metrics.getSubmitted();
+    long completed = metrics.getCompleted();
+    long failed = metrics.getFailed();
+    TaskScheduler.supplyAsync(TaskScheduler.Pool.API, () -> "done").get(10, TimeUnit.SECONDS);
+    try {
+      TaskScheduler.supplyAsync(TaskScheduler.Pool.API, () -> {
+        throw new IOException("failed");
+      }).get(10, TimeUnit.SECONDS);
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof IOException);
+    }
+    assertEquals(submitted + 2, metrics.getSubmitted());
+    assertEquals(completed + 1, metrics.getCompleted());
+    assertEquals(failed + 1, metrics.getFailed());
+  }
+
+  @Test
+  public void checkCancelInterruptsRunningTask() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch interrupted = new CountDownLatch(1);
+    CompletableFuture<Void> task = TaskScheduler.runAsync(TaskScheduler.Pool.CLI, () -> {
+      started.countDown();
+      try {
+        Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+      } catch (InterruptedException e) {
+        interrupted.countDown();
+      }
+    });
+    assertTrue(started.await(10, TimeUnit.SECONDS));
+    long cancelled = TaskScheduler.getMetrics(TaskScheduler.Pool.CLI).getCancelled();
+    assertTrue(task.cancel(true));
+    assertTrue(interrupted.await(10, TimeUnit.SECONDS));
+    assertTrue(task.isCancelled());
+    assertEquals(cancelled + 1, TaskScheduler.getMetrics(TaskScheduler.Pool.CLI).getCancelled());
+  }
+
+  @Test
+  public void checkCancelAllCancelsQueuedAndRunningTasks() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    CompletableFuture<?>[] tasks = new CompletableFuture[6];
+    for (int i = 0; i < tasks.length; ++i) {
+      tasks[i] = TaskScheduler.runAsync(TaskScheduler.Pool.CLI, () -> {
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      });
+    }
+    assertEquals(tasks.length, TaskScheduler.cancelAll(TaskScheduler.Pool.CLI));
+    for (CompletableFuture<?> task : tasks) {
+      assertTrue(task.isCancelled());
+    }
+    release.countDown();
+    assertEquals("done", TaskScheduler.supplyAsync(TaskScheduler.Pool.CLI, () -> "done").get(10, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void checkDelayedTaskRunsOnItsPool() throws Exception {
+    long start = System.nanoTime();
+    CompletableFuture<Boolean> onPool = new CompletableFuture<>();
+    TaskScheduler.runAfter(TaskScheduler.Pool.FILES, () -> onPool.complete(TaskScheduler.isPoolThread(TaskScheduler.Pool.FILES)), 100, TimeUnit.MILLISECONDS);
+    assertTrue(onPool.get(10, TimeUnit.SECONDS));
+    assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(100));
+  }
+
+  @Test
+  public void checkCancelledDelayedTaskDoesNotRun() throws Exception {
+    CountDownLatch ran = new CountDownLatch(1);
+    CompletableFuture<Void> task = TaskScheduler.runAfter(TaskScheduler.Pool.FILES, ran::countDown, 100, TimeUnit.MILLISECONDS);
+    assertTrue(task.cancel(false));
+    assertFalse(ran.await(300, TimeUnit.MILLISECONDS));
+  }
+
+  @Test
+  public void checkJoinFromPoolThreadDoesNotExhaustPool() throws Exception {
+    int parallelism = Integer.getInteger(TaskScheduler.Pool.LOG.getParallelismProperty(), 2);
+    CompletableFuture<?>[] callers = new CompletableFuture[parallelism];
+    for (int i = 0; i < callers.length; ++i) {
+      //every thread of the pool waits for tasks queued behind it on the same pool
+      callers[i] = TaskScheduler.runAsync(TaskScheduler.Pool.LOG, () -> TaskScheduler.join(Arrays.asList(
+        TaskScheduler.supplyAsync(TaskScheduler.Pool.LOG, () -> "done"),
+        TaskScheduler.supplyAsync(TaskScheduler.Pool.LOG, () -> "done"))));
+    }
+    CompletableFuture.allOf(callers).get(10, TimeUnit.SECONDS);
+  }
+}
@@ -0,0 +1,51 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils.log;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+
+public class LogBufferTest {
+    @Test
+    public void checkLinesAreReadFromExpectedOne() {
+        LogBuffer buffer = new LogBuffer(10);
+        buffer.append(Arrays.asList("a", "b", "c"));
+        assertEquals(Arrays.asList("a", "b", "c"), buffer.getLines(0));
+        assertEquals(Arrays.asList("c"), buffer.getLines(2));
+        assertEquals(Collections.emptyList(), buffer.getLines(3));
+    }
+
+    @Test
+    public void checkOldestLinesAreOverwritten() {
+        LogBuffer buffer = new LogBuffer(3);
+        buffer.append(Arrays.asList("a", "b", "c", "d"));
+        buffer.append(Arrays.asList("e"));
+        assertEquals(5, buffer.getCount());
+        assertEquals(2, buffer.getFirst());
+        assertEquals(Arrays.asList("c", "d", "e"), buffer.getLines(0));
+        assertEquals(Arrays.asList("d", "e"), buffer.getLines(3));
+    }
+
+    @Test
+    public void checkListenersAreNotifiedOncePerBatch() {
+        LogBuffer buffer = new LogBuffer(3);
+        AtomicInteger notifications = new AtomicInteger();
+        buffer.addListener(b -> notifications.incrementAndGet());
+        buffer.append(Arrays.asList("a", "b"));
+        buffer.append(Collections.emptyList());
+        assertEquals(1, notifications.get());
+    }
+}
@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils.log;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LogMergerTest {
+    private final LogMerger merger = new LogMerger(new LogBuffer(100), 2, 100);
+
+    @Test
+    public void checkLinesAreMergedInTimeOrder() throws InterruptedException {
+        LogMerger.Source first = merger.addSource("first");
+        LogMerger.Source second = merger.addSource("second");
+        first.offer(10, Arrays.asList("a1"));
+        second.offer(5, Arrays.asList("b1"));
+        second.offer(20, Arrays.asList("b2"));
+        first.offer(30, Arrays.asList("a2"));
+        //a2 is held until second has a newer line or the window elapsed
+        assertEquals(Arrays.asList("[second] b1", "[first] a1", "[second] b2"), merger.poll(30));
+        assertEquals(Collections.emptyList(), merger.poll(129));
+        assertEquals(Arrays.asList("[first] a2"), merger.poll(130));
+    }
+
+    @Test
+    public void checkEndedLogDoesNotHoldOthers() throws InterruptedException {
+        LogMerger.Source first = merger.addSource("first");
+        LogMerger.Source second = merger.addSource("second");
+        first.offer(10, Arrays.asList("a1"));
+        assertEquals(Collections.emptyList(), merger.poll(10));
+        second.end();
+        assertEquals(Arrays.asList("[first] a1"), merger.poll(10));
+    }
+
+    @Test
+    public void checkLineTimesOfALogAreOrdered() throws InterruptedException {
+        LogMerger.Source first = merger.addSource("first");
+        LogMerger.Source second = merger.addSource("second");
+        first.offer(10, Arrays.asList("a1"));
+        first.offer(5, Arrays.asList("a2"));
+        second.offer(7, Arrays.asList("b1"));
+        second.end();
+        assertEquals(Arrays.asList("[second] b1", "[first] a1", "[first] a2"), merger.poll(10));
+    }
+
+    @Test
+    public void checkFullQueueBlocksOnlyItsLog() throws Exception {
+        LogMerger.Source noisy = merger.addSource("noisy");
+        LogMerger.Source quiet = merger.addSource("quiet");
+        CountDownLatch done = new CountDownLatch(1);
+        Thread thread = new Thread(() -> {
+            try {
+                noisy.offer(10, Arrays.asList("n1", "n2", "n3"));
+                done.countDown();
+            } catch (InterruptedException e) {}
+        });
+        thread.start();
+        assertFalse(done.await(200, TimeUnit.MILLISECONDS));
+        quiet.offer(5, Arrays.asList("q1"));
+        assertEquals(Arrays.asList("[quiet] q1"), merger.poll(10));
+        assertEquals(Arrays.asList("[noisy] n1", "[noisy] n2"), merger.poll(1000));
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList("[noisy] n3"), merger.poll(1000));
+    }
+
+    @Test
+    public void checkCloseReleasesBlockedLog() throws Exception {
+        LogMerger.Source source = merger.addSource("noisy");
+        CountDownLatch interrupted = new CountDownLatch(1);
+        Thread thread = new Thread(() -> {
+            try {
+                source.offer(10, Arrays.asList("n1", "n2", "n3"));
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+        });
+        thread.start();
+        merger.close();
+        assertTrue(interrupted.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void checkStreamsAreMerged() throws Exception {
+        LogBuffer buffer = new LogBuffer(100);
+        LogMerger merger = new LogMerger(buffer, 10, 50);
+        PipedOutputStream output = new PipedOutputStream();
+        InputStream running = new PipedInputStream(output);
+        merger.add("first", new ByteArrayInputStream("a1\na2\n".getBytes(StandardCharsets.UTF_8)));
+        merger.add("second", running);
+        CountDownLatch appended = new CountDownLatch(1);
+        buffer.addListener(b -> {
+            if (b.getCount() >= 3) {
+                appended.countDown();
+            }
+        });
+        merger.start("test");
+        output.write("b1\n".getBytes(StandardCharsets.UTF_8));
+        output.flush();
+        assertTrue(appended.await(10, TimeUnit.SECONDS));
+        assertEquals(new HashSet<>(Arrays.asList("[first] a1", "[first] a2", "[second] b1")), new HashSet<>(buffer.getLines(0)));
+        merger.close();
+        output.close();
+    }
+}
@@ -0,0 +1,86 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils.log;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LogReaderTest {
+    private static List<String> read(String content, int capacity) {
+        LogBuffer buffer = new LogBuffer(capacity);
+        new LogReader(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), buffer).run();
+        return buffer.getLines(0);
+    }
+
+    @Test
+    public void checkStreamIsSplitIntoLines() {
+        assertEquals(Arrays.asList("a", "", "b", "c"), read("a\r\n\nb\nc", 10));
+    }
+
+    @Test
+    public void checkOnlyLastLinesAreKept() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 100000; ++i) {
+            builder.append("line ").append(i).append('\n');
+        }
+        assertEquals(Arrays.asList("line 99998", "line 99999"), read(builder.toString(), 2));
+    }
+
+    @Test
+    public void checkLinesAcrossChunksAreJoined() {
+        LogBuffer buffer = new LogBuffer(10);
+        LogReader reader = new LogReader(new ByteArrayInputStream(new byte[0]), buffer);
+        byte[] first = "ab\r".getBytes(StandardCharsets.UTF_8);
+        byte[] second = "\ncd\n".getBytes(StandardCharsets.UTF_8);
+        assertEquals(0, reader.split(first, first.length).size());
+        assertEquals(Arrays.asList("ab", "cd"), reader.split(second, second.length));
+    }
+
+    @Test
+    public void checkLongLinesAreSplit() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < LogReader.MAX_LINE_LENGTH + 10; ++i) {
+            builder.append('x');
+        }
+        List<String> lines = read(builder.toString(), 10);
+        assertEquals(2, lines.size());
+        assertEquals(LogReader.MAX_LINE_LENGTH, lines.get(0).length());
+        assertEquals(10, lines.get(1).length());
+    }
+
+    @Test
+    public void checkCloseStopsReader() throws Exception {
+        PipedOutputStream output = new PipedOutputStream();
+        InputStream input = new PipedInputStream(output);
+        LogBuffer buffer = new LogBuffer(10);
+        CountDownLatch appended = new CountDownLatch(1);
+        buffer.addListener(b -> appended.countDown());
+        LogReader reader = new LogReader(input, buffer);
+        reader.start("test");
+        output.write("line\n".getBytes(StandardCharsets.UTF_8));
+        output.flush();
+        assertTrue(appended.await(10, TimeUnit.SECONDS));
+        reader.close();
+        assertEquals(Arrays.asList("line"), buffer.getLines(0));
+    }
+}
@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils.log;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.PatternSyntaxException;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class LogStoreTest {
+    private LogStore store;
+
+    @After
+    public void after() {
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    private static List<String> lines(int from, int to) {
+        List<String> lines = new ArrayList<>();
+        for (int i = from; i < to; ++i) {
+            lines.add("request " + i + (i % 1000 == 0 ? " failed: Connection refused" : " served in 3ms"));
+        }
+        return lines;
+    }
+
+    private static List<Long> numbers(LogStore.Result result) {
+        return result.getMatches().stream().map(LogStore.Match::getLine).collect(Collectors.toList());
+    }
+
+    @Test
+    public void checkSubstringSearchIgnoresCase() {
+        store = new LogStore(100, Long.MAX_VALUE, Long.MAX_VALUE);
+        store.append(0, lines(0, 5000));
+        LogStore.Result result = store.search("connection REFUSED", false, 100);
+        assertEquals(Arrays.asList(0L, 1000L, 2000L, 3000L, 4000L), numbers(result));
+        assertEquals("request 1000 failed: Connection refused", result.getMatches().get(1).getText());
+        assertEquals(5000, result.getEnd());
+    }
+
+    @Test
+    public void checkRegexSearch() {
+        store = new LogStore(100, Long.MAX_VALUE, Long.MAX_VALUE);
+        store.append(0, lines(0, 5000));
+        assertEquals(Arrays.asList(2000L, 3000L), numbers(store.search("request [23]0+ failed", true, 100)));
+    }
+
+    @Test
+    public void checkLatestMatchesAreReturned() {
+        store = new LogStore(100, Long.MAX_VALUE, Long.MAX_VALUE);
+        store.append(0, lines(0, 5000));
+        assertEquals(Arrays.asList(3000L, 4000L), numbers(store.search("refused", false, 2)));
+    }
+
+    @Test(expected = PatternSyntaxException.class)
+    public void checkInvalidRegexIsRejected() {
+        store = new LogStore(100, Long.MAX_VALUE, Long.MAX_VALUE);
+        store.search("request [", true, 100);
+    }
+
+    @Test
+    public void checkSegmentsAreSpilledAndEvicted() {
+        store = new LogStore(1000, 20000, 40000);
+        store.append(0, lines(0, 50000));
+        assertTrue(store.getMemory() <= 20000);
+        assertTrue(store.getDisk() > 0);
+        assertTrue(store.getDisk() <= 40000);
+        assertTrue(store.getFirst() > 0);
+        List<Long> found = numbers(store.search("refused", false, 100));
+        assertTrue(found.get(0) >= store.getFirst());
+        assertEquals(Long.valueOf(49000L), found.get(found.size() - 1));
+        //spilled segments are read back
+        assertTrue(found.size() > 1);
+    }
+
+    @Test
+    public void checkMissedLinesAreSkipped() {
+        store = new LogStore(100, Long.MAX_VALUE, Long.MAX_VALUE);
+        store.append(0, lines(1, 10));
+        store.append(1000, lines(1000, 1010));
+        assertEquals(Arrays.asList(1000L), numbers(store.search("refused", false, 100)));
+        assertEquals(1010, store.getEnd());
+    }
+
+    @Test
+    public void checkBufferLinesAreStored() {
+        store = new LogStore(100, Long.MAX_VALUE, Long.MAX_VALUE);
+        LogBuffer buffer = new LogBuffer(10);
+        buffer.addListener(store);
+        for (int i = 0; i < 5000; i += 5) {
+            buffer.append(lines(i, i + 5));
+        }
+        assertEquals(0, store.getFirst());
+        assertEquals(Arrays.asList(0L, 1000L, 2000L, 3000L, 4000L), numbers(store.search("refused", false, 100)));
+    }
+
+    @Test
+    public void checkRegexLiteral() {
+        assertEquals("request ", LogStore.literal("request [0-9]+ failed"));
+        assertEquals(" failed: Connection", LogStore.literal("\\d+ failed: Connection"));
+        assertEquals("served", LogStore.literal("(?i)served\\s"));
+        assertEquals("]ms.", LogStore.literal("[a]]ms\\.x?"));
+        assertEquals("ms.", LogStore.literal("[]a]ms\\.x?"));
+        assertEquals("def", LogStore.literal("(abc)?defx*"));
+        assertNull(LogStore.literal("abc|def"));
+        assertNull(LogStore.literal("a{3,10}b"));
+    }
+}
@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils.odo;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class BatchPushTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Odo odo;
+    private List<Component> components;
+
+    @Before
+    public void before() {
+        odo = mock(Odo.class);
+        components = Arrays.asList(
+                Component.of("comp1", ComponentState.NOT_PUSHED, "/path1"),
+                Component.of("comp2", ComponentState.NOT_PUSHED, "/path2"),
+                Component.of("comp3", ComponentState.NOT_PUSHED, "/path3"));
+    }
+
+    @Test
+    public void checkComponentsArePushedConcurrently() throws Exception {
+        CountDownLatch allStarted = new CountDownLatch(components.size());
+        doAnswer(invocation -> {
+            allStarted.countDown();
+            assertTrue(allStarted.await(10, TimeUnit.SECONDS));
+            return null;
+        }).when(odo).pushInBackground(eq("project"), eq("app"), anyString(), anyString());
+        AtomicInteger reports = new AtomicInteger();
+        Map<Component, IOException> errors = new BatchPush(odo, new OperationQueue(), components.size()).push("project", "app", components,
+                (component, error, done, total) -> reports.incrementAndGet(), () -> false);
+        assertTrue(errors.isEmpty());
+        assertEquals(components.size(), reports.get());
+        components.forEach(component -> assertEquals(ComponentState.PUSHED, component.getState()));
+    }
+
+    @Test
+    public void checkParallelismIsLimited() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger max = new AtomicInteger();
+        doAnswer(invocation -> {
+            max.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(50);
+            running.decrementAndGet();
+            return null;
+        }).when(odo).pushInBackground(eq("project"), eq("app"), anyString(), anyString());
+        new BatchPush(odo, new OperationQueue(), 1).push("project", "app", components, (component, error, done, total) -> {}, () -> false);
+        assertEquals(1, max.get());
+    }
+
+    @Test
+    public void checkFailuresAreReportedPerComponent() throws Exception {
+        IOException failure = new IOException("failed");
+        doThrow(failure).when(odo).pushInBackground("project", "app", "/path2", "comp2");
+        Map<Component, IOException> errors = new BatchPush(odo, new OperationQueue(), 2).push("project", "app", components,
+                (component, error, done, total) -> {}, () -> false);
+        assertEquals(1, errors.size());
+        assertSame(failure, errors.get(components.get(1)));
+        assertEquals(ComponentState.NOT_PUSHED, components.get(1).getState());
+        assertEquals(ComponentState.PUSHED, components.get(2).getState());
+    }
+
+    @Test
+    public void checkUnchangedPushedComponentsAreSkipped() throws Exception {
+        Path context = folder.getRoot().toPath();
+        Files.write(context.resolve("index.js"), "console.log()".getBytes(StandardCharsets.UTF_8));
+        PushFingerprint.compute(context).save();
+        Component component = Component.of("comp", ComponentState.PUSHED, context.toString());
+        AtomicInteger reports = new AtomicInteger();
+        Map<Component, IOException> errors = new BatchPush(odo, new OperationQueue(), 1).push("project", "app", Arrays.asList(component),
+                (c, error, done, total) -> reports.incrementAndGet(), () -> false);
+        assertTrue(errors.isEmpty());
+        assertEquals(1, reports.get());
+        verify(odo, never()).pushInBackground(anyString(), anyString(), anyString(), anyString());
+    }
+
+    @Test
+    public void checkCancelledBatchDoesNotStartPushes() throws Exception {
+        new BatchPush(odo, new OperationQueue(), 1).push("project", "app", components, (component, error, done, total) -> {}, () -> true);
+        verify(odo, never()).pushInBackground(anyString(), anyString(), anyString(), anyString());
+    }
+}
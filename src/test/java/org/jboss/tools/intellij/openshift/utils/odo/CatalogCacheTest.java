@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils.odo;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+public class CatalogCacheTest {
+    private long now;
+    private String cluster;
+    private int loadCount;
+    private List<Runnable> refreshes;
+    private CatalogCache cache;
+
+    @Before
+    public void before() {
+        now = 0;
+        cluster = "cluster1";
+        loadCount = 0;
+        refreshes = new ArrayList<>();
+        cache = new CatalogCache(1000) {
+            @Override
+            protected long now() {
+                return now;
+            }
+
+            @Override
+            protected String getCluster() {
+                return cluster;
+            }
+
+            @Override
+            protected void refresh(Runnable runnable) {
+                refreshes.add(runnable);
+            }
+        };
+    }
+
+    private String load() throws IOException {
+        return cache.get("components", () -> cluster + (++loadCount));
+    }
+
+    @Test
+    public void checkCatalogIsLoadedOnce() throws IOException {
+        assertEquals("cluster11", load());
+        assertEquals("cluster11", load());
+        assertEquals(1, loadCount);
+    }
+
+    @Test
+    public void checkExpiredCatalogIsReloaded() throws IOException {
+        load();
+        now = 1000;
+        assertEquals("cluster12", load());
+        assertEquals(0, refreshes.size());
+    }
+
+    @Test
+    public void checkCatalogIsRefreshedAhead() throws IOException {
+        load();
+        now = 800;
+        assertEquals("cluster11", load());
+        assertEquals("cluster11", load());
+        assertEquals(1, refreshes.size());
+        refreshes.get(0).run();
+        assertEquals("cluster12", load());
+    }
+
+    @Test
+    public void checkCatalogIsPerCluster() throws IOException {
+        load();
+        cluster = "cluster2";
+        assertEquals("cluster22", load());
+        cluster = "cluster1";
+        assertEquals("cluster11", load());
+    }
+
+    @Test
+    public void checkStoredCatalogIsServedThenRevalidated() throws IOException {
+        Map<String, String> stored = new HashMap<>();
+        stored.put("cluster1", "stored");
+        CatalogCache.Store<String> store = new CatalogCache.Store<String>() {
+            @Override
+            public String read(String cluster) {
+                return stored.get(cluster);
+            }
+
+            @Override
+            public void write(String cluster, String value) {
+                stored.put(cluster, value);
+            }
+        };
+        assertEquals("stored", cache.get("components", () -> cluster + (++loadCount), store));
+        assertEquals(0, loadCount);
+        assertEquals(1, refreshes.size());
+        refreshes.get(0).run();
+        assertEquals("cluster11", cache.get("components", () -> cluster + (++loadCount), store));
+        assertEquals("cluster11", stored.get("cluster1"));
+    }
+
+    @Test
+    public void checkInvalidate() throws IOException {
+        load();
+        cache.invalidate();
+        assertEquals("cluster12", load());
+    }
+}
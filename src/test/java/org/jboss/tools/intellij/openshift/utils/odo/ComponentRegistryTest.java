@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils.odo;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.jboss.tools.intellij.openshift.Constants.ODO_CONFIG_YAML;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ComponentRegistryTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final AtomicInteger invalidations = new AtomicInteger();
+
+    private final ComponentRegistry registry = new ComponentRegistry(invalidations::incrementAndGet) {
+        @Override
+        protected LocalConfig load(String path) throws IOException {
+            loads.incrementAndGet();
+            return super.load(path);
+        }
+    };
+
+    private String context(String name, String project, String application, String component) throws IOException {
+        Path context = folder.getRoot().toPath().resolve(name);
+        write(context, project, application, component);
+        return context.toString();
+    }
+
+    private static void write(Path context, String project, String application, String component) throws IOException {
+        Path config = context.resolve(ODO_CONFIG_YAML);
+        Files.createDirectories(config.getParent());
+        Files.write(config, ("kind: LocalConfig\nComponentSettings:\n  Project: " + project + "\n  Application: " + application +
+                "\n  Name: " + component + "\n  Url:\n  - Name: web\n    Port: 8080\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void checkComponentsAreIndexed() throws IOException {
+        String first = context("first", "project", "app", "first");
+        String second = context("second", "project", "app", "second");
+        assertTrue(registry.add(first));
+        assertTrue(registry.add(second));
+        assertFalse(registry.add(first));
+        assertEquals(second, registry.get("project", "app", "second").getPath());
+        assertEquals("web", registry.get("project", "app", "first").getSettings().getUrls().get(0).getName());
+        assertNull(registry.get("project", "other", "first"));
+        assertEquals(Arrays.asList(first, second), new ArrayList<>(registry.getComponents().keySet()));
+    }
+
+    @Test
+    public void checkConfigIsParsedOnce() throws IOException {
+        String context = context("comp", "project", "app", "comp");
+        registry.add(context);
+        for (int i = 0; i < 10; ++i) {
+            registry.get("project", "app", "comp").getSettings();
+            registry.getComponents();
+        }
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void checkChangedConfigIsReindexed() throws IOException {
+        String context = context("comp", "project", "app", "comp");
+        registry.add(context);
+        write(new File(context).toPath(), "project", "app", "renamed");
+        registry.onChanged(Arrays.asList(folder.getRoot().toPath().resolve("comp/src/Main.java").toString()));
+        assertEquals(0, invalidations.get());
+        registry.onChanged(Arrays.asList(new File(context, ODO_CONFIG_YAML).getPath()));
+        assertEquals(1, invalidations.get());
+        assertNull(registry.get("project", "app", "comp"));
+        assertEquals(context, registry.get("project", "app", "renamed").getPath());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void checkDeletedContextIsRemoved() throws IOException {
+        String context = context("comp", "project", "app", "comp");
+        registry.add(context);
+        Files.delete(new File(context, ODO_CONFIG_YAML).toPath());
+        registry.onChanged(Arrays.asList(new File(context, ".odo").getPath()));
+        assertNull(registry.get("project", "app", "comp"));
+        assertTrue(registry.getComponents().isEmpty());
+    }
+
+    @Test
+    public void checkRemovedContextIsNotIndexed() throws IOException {
+        String context = context("comp", "project", "app", "comp");
+        registry.add(context);
+        assertTrue(registry.remove(context));
+        assertFalse(registry.remove(context));
+        assertNull(registry.get("project", "app", "comp"));
+    }
+}
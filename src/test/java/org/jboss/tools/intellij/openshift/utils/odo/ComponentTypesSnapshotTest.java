@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils.odo;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class ComponentTypesSnapshotTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private ComponentTypesSnapshot snapshot;
+
+    @Before
+    public void before() {
+        snapshot = new ComponentTypesSnapshot(folder.getRoot().toPath());
+    }
+
+    @Test
+    public void checkSnapshotIsReadBack() {
+        snapshot.write("https://cluster:8443|user", Arrays.asList(ComponentType.of("java", new String[] {"8", "11"}), ComponentType.of("nodejs", new String[] {"10"})));
+        List<ComponentType> types = snapshot.read("https://cluster:8443|user");
+        assertEquals(2, types.size());
+        assertEquals("java", types.get(0).getName());
+        assertArrayEquals(new String[] {"8", "11"}, types.get(0).getVersions());
+        assertEquals("nodejs", types.get(1).getName());
+    }
+
+    @Test
+    public void checkSnapshotIsPerCluster() {
+        snapshot.write("https://cluster:8443|user", Arrays.asList(ComponentType.of("java", new String[] {"8"})));
+        assertNull(snapshot.read("https://other:8443|user"));
+    }
+
+    @Test
+    public void checkSnapshotWithOtherVersionIsIgnored() throws IOException {
+        snapshot.write("https://cluster:8443|user", Arrays.asList(ComponentType.of("java", new String[] {"8"})));
+        File[] files = folder.getRoot().listFiles();
+        assertEquals(1, files.length);
+        String content = FileUtils.readFileToString(files[0], StandardCharsets.UTF_8);
+        FileUtils.writeStringToFile(files[0], content.replace("\"version\":" + ComponentTypesSnapshot.VERSION, "\"version\":" + (ComponentTypesSnapshot.VERSION + 1)), StandardCharsets.UTF_8);
+        assertNull(snapshot.read("https://cluster:8443|user"));
+    }
+
+    @Test
+    public void checkCorruptedSnapshotIsIgnored() throws IOException {
+        snapshot.write("https://cluster:8443|user", Arrays.asList(ComponentType.of("java", new String[] {"8"})));
+        FileUtils.writeStringToFile(folder.getRoot().listFiles()[0], "{\"version\":", StandardCharsets.UTF_8);
+        assertNull(snapshot.read("https://cluster:8443|user"));
+    }
+}
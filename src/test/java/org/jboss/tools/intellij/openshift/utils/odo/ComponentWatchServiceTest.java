@@ -0,0 +1,139 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils.odo;
+
+import com.intellij.openapi.Disposable;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+public class ComponentWatchServiceTest {
+    private static final long DELAY = 100;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Odo odo;
+    private Path context;
+    private ComponentWatchService service;
+    private Disposable parent;
+
+    @Before
+    public void before() throws IOException {
+        odo = mock(Odo.class);
+        context = folder.getRoot().toPath();
+        Files.write(context.resolve("index.js"), "console.log()".getBytes(StandardCharsets.UTF_8));
+        service = new ComponentWatchService(new OperationQueue(), DELAY) {
+            @Override
+            protected void connect() {
+            }
+
+            @Override
+            protected void disconnect() {
+            }
+        };
+        parent = () -> {};
+        service.watch(parent, odo, "project", "app", context.toString(), "comp");
+    }
+
+    @After
+    public void after() {
+        service.dispose();
+    }
+
+    private void change(String path) {
+        service.onChanged(Collections.singletonList(context.resolve(path).toString()));
+    }
+
+    @Test
+    public void checkSavesAreDebounced() throws Exception {
+        CountDownLatch pushed = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            pushed.countDown();
+            return null;
+        }).when(odo).pushInBackground("project", "app", context.toString(), "comp");
+        for (int i = 0; i < 5; ++i) {
+            change("index.js");
+        }
+        assertTrue(pushed.await(10, TimeUnit.SECONDS));
+        verify(odo, Mockito.after(3 * DELAY).times(1)).pushInBackground("project", "app", context.toString(), "comp");
+    }
+
+    @Test
+    public void checkOdoMetadataChangesAreIgnored() throws Exception {
+        change(PushFingerprint.FILE);
+        verify(odo, Mockito.after(3 * DELAY).never()).pushInBackground(anyString(), anyString(), anyString(), anyString());
+    }
+
+    @Test
+    public void checkOdoConfigChangesArePushed() throws Exception {
+        change(".odo/config.yaml");
+        verify(odo, timeout(10000)).pushInBackground("project", "app", context.toString(), "comp");
+    }
+
+    @Test
+    public void checkChangesOutsideContextAreIgnored() throws Exception {
+        service.onChanged(Collections.singletonList(context.getParent().resolve("other/index.js").toString()));
+        verify(odo, Mockito.after(3 * DELAY).never()).pushInBackground(anyString(), anyString(), anyString(), anyString());
+    }
+
+    @Test
+    public void checkUnchangedContentIsNotPushed() throws Exception {
+        PushFingerprint.compute(context).save();
+        change("index.js");
+        verify(odo, Mockito.after(3 * DELAY).never()).pushInBackground(anyString(), anyString(), anyString(), anyString());
+    }
+
+    @Test
+    public void checkUnwatchCancelsPendingPush() throws Exception {
+        change("index.js");
+        service.unwatch(context.toString());
+        assertFalse(service.isWatched(context.toString()));
+        verify(odo, Mockito.after(3 * DELAY).never()).pushInBackground(anyString(), anyString(), anyString(), anyString());
+    }
+
+    @Test
+    public void checkParentDisposalUnwatchesItsContexts() throws Exception {
+        Path other = folder.newFolder("other").toPath();
+        service.watch(() -> {}, odo, "project", "app", other.toString(), "other");
+        change("index.js");
+        service.unwatchAll(parent);
+        assertFalse(service.isWatched(context.toString()));
+        assertTrue(service.isWatched(other.toString()));
+        verify(odo, Mockito.after(3 * DELAY).never()).pushInBackground(anyString(), anyString(), anyString(), anyString());
+    }
+
+    @Test
+    public void checkChangeIsPushed() throws Exception {
+        assertTrue(service.isWatched(context.toString()));
+        change("src/main.js");
+        verify(odo, timeout(10000)).pushInBackground("project", "app", context.toString(), "comp");
+    }
+}
@@ -0,0 +1,201 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils.odo;
+
+import com.intellij.openapi.project.Project;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.jboss.tools.intellij.openshift.Constants.ODO_CONFIG_YAML;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class ContextScannerTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final AtomicInteger scans = new AtomicInteger();
+
+    private final AtomicInteger added = new AtomicInteger();
+
+    private final Semaphore additions = new Semaphore(0);
+
+    private final Set<String> excluded = new HashSet<>();
+
+    private final List<String> configs = new CopyOnWriteArrayList<>();
+
+    private final ComponentRegistry registry = new ComponentRegistry(() -> {}) {
+        @Override
+        protected LocalConfig load(String path) throws IOException {
+            loads.incrementAndGet();
+            return super.load(path);
+        }
+    };
+
+    private final ContextScanner scanner = new ContextScanner(mock(Project.class), registry, () -> {
+        added.incrementAndGet();
+        additions.release();
+    }) {
+        @Override
+        protected void whenSmart(Runnable runnable) {
+            runnable.run();
+        }
+
+        @Override
+        protected long getRescanDelay() {
+            return 200;
+        }
+
+        @Override
+        protected boolean isExcluded(String path) {
+            return excluded.contains(path);
+        }
+
+        @Override
+        protected Collection<String> findConfigs() {
+            scans.incrementAndGet();
+            return new ArrayList<>(configs);
+        }
+    };
+
+    private String context(String name) throws IOException {
+        Path config = folder.getRoot().toPath().resolve(name).resolve(ODO_CONFIG_YAML);
+        Files.createDirectories(config.getParent());
+        Files.write(config, ("kind: LocalConfig\nComponentSettings:\n  Project: project\n  Application: app\n  Name: " +
+                config.getParent().getParent().getFileName() + "\n").getBytes(StandardCharsets.UTF_8));
+        return config.getParent().getParent().toString();
+    }
+
+    @Test
+    public void checkContextOfConfig() {
+        assertEquals("/work/comp", ContextScanner.getContext("/work/comp/.odo/config.yaml"));
+        assertNull(ContextScanner.getContext("/work/comp/config.yaml"));
+        assertNull(ContextScanner.getContext("/work/comp/src/.odo/config.yaml.bak"));
+    }
+
+    @Test
+    public void checkNestedContextsAreFound() throws Exception {
+        List<String> contexts = new ArrayList<>();
+        for (int i = 0; i < 20; ++i) {
+            contexts.add(context("modules/module" + i + "/services/comp" + i));
+        }
+        contexts.forEach(context -> configs.add(new File(context, ODO_CONFIG_YAML).getPath()));
+        configs.add(folder.newFile("config.yaml").getPath());
+        scanner.scan().get(10, TimeUnit.SECONDS);
+        assertEquals(new HashSet<>(contexts), registry.getComponents().keySet());
+        assertEquals(20, added.get());
+        assertEquals("comp7", registry.get("project", "app", "comp7").getName());
+    }
+
+    @Test
+    public void checkRegisteredContextsAreNotParsedAgain() throws Exception {
+        configs.add(new File(context("comp"), ODO_CONFIG_YAML).getPath());
+        scanner.scan().get(10, TimeUnit.SECONDS);
+        scanner.scan().get(10, TimeUnit.SECONDS);
+        assertEquals(2, scans.get());
+        assertEquals(1, loads.get());
+        assertEquals(1, added.get());
+    }
+
+    @Test
+    public void checkCreatedConfigIsAdded() throws Exception {
+        String context = context("comp");
+        assertFalse(scanner.onChanged(Arrays.asList(new File(context, ODO_CONFIG_YAML).getPath()), Collections.emptyList()));
+        assertTrue(registry.contains(context));
+    }
+
+    @Test
+    public void checkCreatedOdoFolderIsAdded() throws Exception {
+        String context = context("comp");
+        assertFalse(scanner.onChanged(Arrays.asList(new File(context, ".odo").getPath()), Collections.emptyList()));
+        assertTrue(registry.contains(context));
+    }
+
+    @Test
+    public void checkCreatedFolderWithOdoFolderIsScanned() throws Exception {
+        String context = context("comp");
+        String nested = context("comp/services/nested");
+        configs.add(new File(nested, ODO_CONFIG_YAML).getPath());
+        assertTrue(scanner.onChanged(Arrays.asList(context), Collections.emptyList()));
+        assertTrue(registry.contains(context));
+        assertTrue(additions.tryAcquire(2, 10, TimeUnit.SECONDS));
+        assertTrue(registry.contains(nested));
+        assertEquals(1, scans.get());
+    }
+
+    @Test
+    public void checkCreatedFolderWithoutOdoFolderIsNotScanned() throws Exception {
+        File created = folder.newFolder("target", "classes");
+        assertFalse(scanner.onChanged(Arrays.asList(created.getPath()), Collections.emptyList()));
+    }
+
+    @Test
+    public void checkMovedFolderIsScanned() throws Exception {
+        String nested = context("modules/module/nested");
+        configs.add(new File(nested, ODO_CONFIG_YAML).getPath());
+        assertTrue(scanner.onChanged(Collections.emptyList(), Arrays.asList(new File(folder.getRoot(), "modules").getPath())));
+        assertTrue(additions.tryAcquire(1, 10, TimeUnit.SECONDS));
+        assertTrue(registry.contains(nested));
+        assertEquals(1, scans.get());
+    }
+
+    @Test
+    public void checkScansAreMerged() throws Exception {
+        String first = context("first/nested");
+        String second = context("second/nested");
+        configs.add(new File(first, ODO_CONFIG_YAML).getPath());
+        configs.add(new File(second, ODO_CONFIG_YAML).getPath());
+        assertTrue(scanner.onChanged(Collections.emptyList(), Arrays.asList(new File(folder.getRoot(), "first").getPath())));
+        assertTrue(scanner.onChanged(Collections.emptyList(), Arrays.asList(new File(folder.getRoot(), "second").getPath())));
+        assertTrue(additions.tryAcquire(2, 10, TimeUnit.SECONDS));
+        assertEquals(1, scans.get());
+    }
+
+    @Test
+    public void checkExcludedFoldersAreIgnored() throws Exception {
+        String context = context("build");
+        excluded.add(context);
+        assertFalse(scanner.onChanged(Arrays.asList(context), Arrays.asList(context)));
+        assertFalse(registry.contains(context));
+    }
+
+    @Test
+    public void checkFilesAndGitFoldersAreIgnored() throws Exception {
+        File file = folder.newFile("Main.java");
+        File git = folder.newFolder(".git", "refs");
+        List<String> paths = Arrays.asList(file.getPath(), git.getPath(), new File(folder.getRoot(), "missing").getPath());
+        assertFalse(scanner.onChanged(paths, paths));
+        assertFalse(registry.contains(file.getPath()));
+    }
+}
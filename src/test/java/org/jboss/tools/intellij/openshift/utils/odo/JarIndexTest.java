@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils.odo;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class JarIndexTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Map<String, String> content() {
+        Map<String, String> content = new LinkedHashMap<>();
+        content.put("META-INF/MANIFEST.MF", "Manifest-Version: 1.0\n");
+        content.put("com/acme/Main.class", "main");
+        content.put("application.properties", "server.port=8080");
+        return content;
+    }
+
+    private Path jar(String name, Map<String, String> content, long time) throws IOException {
+        Path jar = folder.getRoot().toPath().resolve(name);
+        Files.createDirectories(jar.getParent());
+        try (OutputStream stream = Files.newOutputStream(jar); ZipOutputStream zip = new ZipOutputStream(stream)) {
+            zip.setComment("built by test");
+            for (Map.Entry<String, String> entry : content.entrySet()) {
+                ZipEntry zipEntry = new ZipEntry(entry.getKey());
+                zipEntry.setTime(time);
+                zip.putNextEntry(zipEntry);
+                zip.write(entry.getValue().getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+        return jar;
+    }
+
+    @Test
+    public void checkEntriesAreRead() throws IOException {
+        JarIndex index = JarIndex.read(jar("app.jar", content(), 0));
+        assertEquals(new TreeSet<>(content().keySet()), index.getEntries().keySet());
+        CRC32 crc = new CRC32();
+        crc.update("main".getBytes(StandardCharsets.UTF_8));
+        assertEquals(crc.getValue(), index.getEntries().get("com/acme/Main.class").getCrc());
+        assertEquals(4, index.getEntries().get("com/acme/Main.class").getSize());
+    }
+
+    @Test
+    public void checkRebuiltJarHasNoChange() throws IOException {
+        JarIndex first = JarIndex.read(jar("first.jar", content(), 0));
+        JarIndex second = JarIndex.read(jar("second.jar", content(), 1_000_000_000_000L));
+        assertEquals(first.getEntries(), second.getEntries());
+    }
+
+    @Test
+    public void checkChangedEntriesAreDetected() throws IOException {
+        JarIndex first = JarIndex.read(jar("first.jar", content(), 0));
+        Map<String, String> content = content();
+        content.put("com/acme/Main.class", "main2");
+        content.remove("application.properties");
+        content.put("com/acme/Other.class", "other");
+        JarIndex second = JarIndex.read(jar("second.jar", content, 0));
+        assertEquals(new TreeSet<>(Arrays.asList("META-INF/MANIFEST.MF", "com/acme/Main.class", "com/acme/Other.class")), second.getEntries().keySet());
+        assertEquals(first.getEntries().get("META-INF/MANIFEST.MF"), second.getEntries().get("META-INF/MANIFEST.MF"));
+        assertNotEquals(first.getEntries().get("com/acme/Main.class"), second.getEntries().get("com/acme/Main.class"));
+    }
+
+    @Test(expected = IOException.class)
+    public void checkNonJarFileIsRejected() throws IOException {
+        Path file = folder.newFile("app.jar").toPath();
+        Files.write(file, "not a jar".getBytes(StandardCharsets.UTF_8));
+        JarIndex.read(file);
+    }
+
+    @Test
+    public void checkBinaryComponentFingerprintUsesJarEntries() throws IOException {
+        Path context = folder.getRoot().toPath();
+        Path config = context.resolve(".odo/config.yaml");
+        Files.createDirectories(config.getParent());
+        Files.write(config, ("kind: LocalConfig\nComponentSettings:\n  SourceType: binary\n  SourceLocation: target/app.jar\n").getBytes(StandardCharsets.UTF_8));
+        jar("target/app.jar", content(), 0);
+        PushFingerprint.compute(context).save();
+        jar("target/app.jar", content(), 1_000_000_000_000L);
+        Files.write(context.resolve("README.md"), "not pushed".getBytes(StandardCharsets.UTF_8));
+        assertFalse(PushFingerprint.isDirty(context));
+        Map<String, String> content = content();
+        content.put("com/acme/Main.class", "main2");
+        jar("target/app.jar", content, 0);
+        assertTrue(PushFingerprint.isDirty(context));
+    }
+}
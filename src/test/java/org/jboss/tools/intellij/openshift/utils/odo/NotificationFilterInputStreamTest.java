@@ -0,0 +1,50 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils.odo;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+
+public class NotificationFilterInputStreamTest {
+    private static InputStream of(String content) {
+        return new NotificationFilterInputStream(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void checkOutputWithoutNotificationIsUnchanged() throws IOException {
+        assertEquals("line1\nline2\n", IOUtils.toString(of("line1\nline2\n"), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void checkNotificationIsRemoved() throws IOException {
+        assertEquals("line1\n", IOUtils.toString(of("line1\n---\nA new version of odo is available\n---\n"), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void checkMarkerInsideLineIsKept() throws IOException {
+        assertEquals("a---b\n--\n", IOUtils.toString(of("a---b\n--\n"), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void checkJsonIsParsedUpToNotification() throws IOException {
+        JsonNode root = new ObjectMapper().readTree(of("{\"items\":[{\"name\":\"app\"}]}\n---\nnotification\n"));
+        assertEquals("app", root.get("items").get(0).get("name").asText());
+    }
+}
@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils.odo;
+
+import io.fabric8.kubernetes.api.model.IntOrString;
+import io.fabric8.kubernetes.api.model.ListMetaBuilder;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
+import io.fabric8.kubernetes.client.dsl.MixedOperation;
+import io.fabric8.kubernetes.client.dsl.NonNamespaceOperation;
+import io.fabric8.kubernetes.client.dsl.Watchable;
+import io.fabric8.openshift.api.model.DeploymentConfig;
+import io.fabric8.openshift.api.model.DeploymentConfigBuilder;
+import io.fabric8.openshift.api.model.DeploymentConfigList;
+import io.fabric8.openshift.api.model.Route;
+import io.fabric8.openshift.api.model.RouteBuilder;
+import io.fabric8.openshift.api.model.RouteList;
+import io.fabric8.openshift.client.OpenShiftClient;
+import me.snowdrop.servicecatalog.api.client.ServiceCatalogClient;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.jboss.tools.intellij.openshift.Constants.ODO_CONFIG_YAML;
+import static org.jboss.tools.intellij.openshift.KubernetesLabels.APP_LABEL;
+import static org.jboss.tools.intellij.openshift.KubernetesLabels.COMPONENT_NAME_LABEL;
+import static org.jboss.tools.intellij.openshift.KubernetesLabels.URL_NAME_LABEL;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class OdoNativeDecoratorTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private OpenShiftClient client;
+    private NonNamespaceOperation dcOperation;
+    private NonNamespaceOperation routeOperation;
+    private Odo delegate;
+    private Odo odo;
+
+    @Before
+    public void before() {
+        client = mock(OpenShiftClient.class);
+        MixedOperation dcs = mock(MixedOperation.class);
+        MixedOperation routes = mock(MixedOperation.class);
+        dcOperation = mock(NonNamespaceOperation.class);
+        routeOperation = mock(NonNamespaceOperation.class);
+        when(client.deploymentConfigs()).thenReturn(dcs);
+        when(client.routes()).thenReturn(routes);
+        when(dcs.inNamespace("project")).thenReturn(dcOperation);
+        when(routes.inNamespace("project")).thenReturn(routeOperation);
+        when(client.adapt(ServiceCatalogClient.class)).thenThrow(new KubernetesClientException("service catalog not installed"));
+        Watchable watchable = mock(Watchable.class);
+        when(watchable.watch(any(Watcher.class))).thenReturn(mock(Watch.class));
+        when(dcOperation.withResourceVersion(any())).thenReturn(watchable);
+        when(routeOperation.withResourceVersion(any())).thenReturn(watchable);
+        delegate = mock(Odo.class);
+        odo = new OdoNativeDecorator(delegate);
+    }
+
+    @After
+    public void after() {
+        ResourceCache.release(client);
+    }
+
+    private DeploymentConfig createDC(String name, String application) {
+        return new DeploymentConfigBuilder().withNewMetadata().withName(name).addToLabels(APP_LABEL, application).endMetadata().build();
+    }
+
+    private Route createRoute(String name, String application, String component, int port) {
+        return new RouteBuilder().withNewMetadata().withName(name + '-' + component).addToLabels(APP_LABEL, application)
+                .addToLabels(COMPONENT_NAME_LABEL, component).addToLabels(URL_NAME_LABEL, name).endMetadata()
+                .withNewSpec().withHost(name + ".example.com").withNewPort().withTargetPort(new IntOrString(port)).endPort().endSpec().build();
+    }
+
+    @Test
+    public void checkApplicationsAreReadFromDeploymentConfigs() throws IOException {
+        DeploymentConfigList list = new DeploymentConfigList();
+        list.setMetadata(new ListMetaBuilder().withResourceVersion("1").build());
+        list.setItems(Arrays.asList(createDC("dc1", "app2"), createDC("dc2", "app1"), createDC("dc3", "app2")));
+        when(dcOperation.list()).thenReturn(list);
+        List<Application> applications = odo.getApplications(client, "project");
+        assertEquals(2, applications.size());
+        assertEquals("app1", applications.get(0).getName());
+        assertEquals("app2", applications.get(1).getName());
+        verify(delegate, never()).getApplications(client, "project");
+    }
+
+    @Test
+    public void checkApplicationsFallbackToDelegate() throws IOException {
+        when(dcOperation.list()).thenThrow(new KubernetesClientException("forbidden"));
+        when(delegate.getApplications(client, "project")).thenReturn(Collections.singletonList(Application.of("app")));
+        List<Application> applications = odo.getApplications(client, "project");
+        assertEquals(1, applications.size());
+        verify(delegate).getApplications(client, "project");
+    }
+
+    @Test
+    public void checkURLsAreReadFromRoutes() throws IOException {
+        RouteList list = new RouteList();
+        list.setMetadata(new ListMetaBuilder().withResourceVersion("1").build());
+        list.setItems(Arrays.asList(createRoute("url1", "app", "comp", 8080), createRoute("url2", "app", "other", 8080)));
+        when(routeOperation.list()).thenReturn(list);
+        List<URL> urls = odo.listURLs(client, "project", "app", null, "comp");
+        assertEquals(1, urls.size());
+        assertEquals("url1", urls.get(0).getName());
+        assertEquals("8080", urls.get(0).getPort());
+        assertEquals("http", urls.get(0).getProtocol());
+        assertEquals(URL.State.PUSHED, urls.get(0).getState());
+    }
+
+    @Test
+    public void checkLocalURLsAreReadFromRegistry() throws IOException {
+        Path context = folder.getRoot().toPath().resolve("comp");
+        Path config = context.resolve(ODO_CONFIG_YAML);
+        Files.createDirectories(config.getParent());
+        Files.write(config, ("kind: LocalConfig\nComponentSettings:\n  Project: project\n  Application: app\n  Name: comp\n" +
+                "  Url:\n  - Name: url2\n    Port: 8080\n").getBytes(StandardCharsets.UTF_8));
+        AtomicInteger loads = new AtomicInteger();
+        ComponentRegistry registry = new ComponentRegistry(() -> {}) {
+            @Override
+            protected LocalConfig load(String path) throws IOException {
+                loads.incrementAndGet();
+                return super.load(path);
+            }
+        };
+        registry.add(context.toString());
+        odo = new OdoNativeDecorator(delegate, registry);
+        RouteList list = new RouteList();
+        list.setMetadata(new ListMetaBuilder().withResourceVersion("1").build());
+        list.setItems(Arrays.asList(createRoute("url1", "app", "comp", 8080)));
+        when(routeOperation.list()).thenReturn(list);
+        for (int i = 0; i < 3; ++i) {
+            List<URL> urls = odo.listURLs(client, "project", "app", context.toString(), "comp");
+            assertEquals(2, urls.size());
+            assertEquals(URL.State.LOCALLY_DELETED, urls.get(0).getState());
+            assertEquals("url2", urls.get(1).getName());
+            assertEquals(URL.State.NOT_PUSHED, urls.get(1).getState());
+        }
+        assertEquals(1, loads.get());
+    }
+}
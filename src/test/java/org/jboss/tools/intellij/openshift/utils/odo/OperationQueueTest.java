@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils.odo;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class OperationQueueTest {
+    private Queue<Runnable> tasks;
+    private OperationQueue queue;
+    private List<String> runs;
+
+    @Before
+    public void before() {
+        tasks = new LinkedList<>();
+        runs = new ArrayList<>();
+        queue = new OperationQueue() {
+            @Override
+            protected void execute(Runnable runnable) {
+                tasks.add(runnable);
+            }
+        };
+    }
+
+    private OperationQueue.Operation record(String name) {
+        return () -> runs.add(name);
+    }
+
+    private void runNext() {
+        tasks.poll().run();
+    }
+
+    @Test
+    public void checkOperationsOfAContextAreSerialized() {
+        queue.submit("ctx", record("push"));
+        queue.submit("ctx", record("url"));
+        assertEquals(1, tasks.size());
+        assertEquals(2, queue.getDepth("ctx"));
+        runNext();
+        assertEquals(1, tasks.size());
+        assertEquals(1, queue.getDepth("ctx"));
+        runNext();
+        assertEquals(0, queue.getDepth("ctx"));
+        assertEquals("push", runs.get(0));
+        assertEquals("url", runs.get(1));
+    }
+
+    @Test
+    public void checkContextsAreIndependent() {
+        queue.submit("ctx1", record("push1"));
+        queue.submit("ctx2", record("push2"));
+        assertEquals(2, tasks.size());
+    }
+
+    @Test
+    public void checkQueuedPushesAreCoalesced() {
+        CompletableFuture<Void> running = queue.submit("ctx", OperationQueue.PUSH, record("push1"));
+        CompletableFuture<Void> queued = queue.submit("ctx", OperationQueue.PUSH, record("push2"));
+        assertSame(queued, queue.submit("ctx", OperationQueue.PUSH, record("push3")));
+        assertEquals(2, queue.getDepth("ctx"));
+        runNext();
+        runNext();
+        assertTrue(running.isDone());
+        assertTrue(queued.isDone());
+        assertEquals(2, runs.size());
+        assertEquals("push2", runs.get(1));
+    }
+
+    @Test
+    public void checkFailureDoesNotBlockTheContext() {
+        CompletableFuture<Void> failed = queue.submit("ctx", () -> {
+            throw new IOException("failed");
+        });
+        queue.submit("ctx", record("url"));
+        runNext();
+        assertTrue(failed.isCompletedExceptionally());
+        runNext();
+        assertEquals(1, runs.size());
+    }
+
+    @Test
+    public void checkListenersAreNotifiedOfDepth() {
+        OperationQueue.Listener listener = mock(OperationQueue.Listener.class);
+        queue.addListener(listener);
+        queue.submit("ctx", record("push"));
+        verify(listener).onDepthChanged("ctx", 1);
+        runNext();
+        verify(listener).onDepthChanged("ctx", 0);
+    }
+}
@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils.odo;
+
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class PodLogStreamTest {
+    private static class TestablePodLogStream extends PodLogStream {
+        private final Iterator<Object> connections;
+        private final List<String> sinces = new ArrayList<>();
+
+        private TestablePodLogStream(Object... connections) {
+            super(null, "project", "app", "comp", 1, 3);
+            this.connections = Arrays.asList(connections).iterator();
+        }
+
+        @Override
+        protected InputStream connect(String since) {
+            sinces.add(since);
+            Object connection = connections.hasNext() ? connections.next() : null;
+            if (connection instanceof RuntimeException) {
+                throw (RuntimeException) connection;
+            }
+            return connection != null ? new ByteArrayInputStream(((String) connection).getBytes(StandardCharsets.UTF_8)) : null;
+        }
+    }
+
+    @Test
+    public void checkLogIsResumedAfterDisconnection() throws IOException {
+        TestablePodLogStream stream = new TestablePodLogStream("line1\n", "line2\n");
+        assertEquals("line1\nline2\n", IOUtils.toString(stream, StandardCharsets.UTF_8));
+        assertNull(stream.sinces.get(0));
+        assertNotNull(stream.sinces.get(1));
+    }
+
+    @Test
+    public void checkApiFailuresAreRetried() throws IOException {
+        TestablePodLogStream stream = new TestablePodLogStream(new KubernetesClientException("failed"), "line1\n");
+        assertEquals("line1\n", IOUtils.toString(stream, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void checkStreamEndsWhenNoPodIsFound() throws IOException {
+        TestablePodLogStream stream = new TestablePodLogStream();
+        assertEquals(-1, stream.read());
+        assertEquals(3, stream.sinces.size());
+    }
+
+    @Test
+    public void checkClosedStreamEnds() throws IOException {
+        TestablePodLogStream stream = new TestablePodLogStream("line1\n");
+        stream.close();
+        assertEquals(-1, stream.read());
+    }
+}
@@ -0,0 +1,173 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils.odo;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.fabric8.kubernetes.client.HttpClientAware;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.dsl.FilterWatchListDeletable;
+import io.fabric8.kubernetes.client.dsl.FilterWatchListMultiDeletable;
+import io.fabric8.kubernetes.client.dsl.MixedOperation;
+import io.fabric8.kubernetes.client.dsl.NonNamespaceOperation;
+import io.fabric8.openshift.api.model.DeploymentConfig;
+import io.fabric8.openshift.api.model.DeploymentConfigBuilder;
+import io.fabric8.openshift.api.model.DeploymentConfigList;
+import io.fabric8.openshift.api.model.Project;
+import io.fabric8.openshift.api.model.ProjectBuilder;
+import io.fabric8.openshift.client.OpenShiftClient;
+import me.snowdrop.servicecatalog.api.client.ServiceCatalogClient;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.jboss.tools.intellij.openshift.KubernetesLabels;
+import org.junit.Test;
+
+import java.net.HttpURLConnection;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+public class ProjectMigrationTest {
+    @Test
+    public void checkPatchUpdatesAndRemovesLabels() {
+        Map<String, String> labels = new HashMap<>();
+        labels.put(KubernetesLabels.COMPONENT_NAME_LABEL_PRE10, "comp");
+        labels.put(KubernetesLabels.NAME_LABEL, "app");
+        labels.put("other", "value");
+        ObjectNode patch = ProjectMigration.getPatch(labels);
+        JsonNode patched = patch.get("metadata").get("labels");
+        assertEquals("comp", patched.get(KubernetesLabels.COMPONENT_NAME_LABEL).asText());
+        assertEquals("app", patched.get(KubernetesLabels.APP_LABEL).asText());
+        assertEquals("true", patched.get(KubernetesLabels.ODO_MIGRATED_LABEL).asText());
+        assertTrue(patched.get(KubernetesLabels.COMPONENT_NAME_LABEL_PRE10).isNull());
+        assertTrue(!patched.has("other"));
+        assertEquals(4, patched.size());
+    }
+
+    private DeploymentConfig createDC(String name) {
+        return new DeploymentConfigBuilder().withNewMetadata().withName(name).addToLabels(KubernetesLabels.COMPONENT_NAME_LABEL_PRE10, name)
+                .withSelfLink("/oapi/v1/namespaces/project/deploymentconfigs/" + name).endMetadata().build();
+    }
+
+    @Test
+    public void checkProgressIsReportedPerResource() throws MalformedURLException {
+        OpenShiftClient client = mock(OpenShiftClient.class, withSettings().extraInterfaces(HttpClientAware.class));
+        MixedOperation dcs = mock(MixedOperation.class);
+        NonNamespaceOperation operation = mock(NonNamespaceOperation.class);
+        FilterWatchListDeletable filtered = mock(FilterWatchListDeletable.class);
+        List<Request> requests = Collections.synchronizedList(new ArrayList<>());
+        OkHttpClient httpClient = new OkHttpClient.Builder().addInterceptor(chain -> {
+            requests.add(chain.request());
+            return new Response.Builder().request(chain.request()).protocol(Protocol.HTTP_1_1).code(200).message("OK")
+                    .body(ResponseBody.create(MediaType.parse("application/json"), "{}")).build();
+        }).build();
+        when(((HttpClientAware) client).getHttpClient()).thenReturn(httpClient);
+        when(client.getMasterUrl()).thenReturn(new URL("https://cluster:8443/"));
+        when(client.deploymentConfigs()).thenReturn(dcs);
+        when(dcs.inNamespace("project")).thenReturn(operation);
+        when(operation.withLabel(KubernetesLabels.COMPONENT_NAME_LABEL_PRE10)).thenReturn(filtered);
+        DeploymentConfigList list = new DeploymentConfigList();
+        list.setItems(Arrays.asList(createDC("dc1"), createDC("dc2"), createDC("dc3")));
+        when(filtered.list()).thenReturn(list);
+        List<Integer> progress = Collections.synchronizedList(new ArrayList<>());
+        List<Exception> exceptions = new ProjectMigration(client).migrate(Collections.singletonList(new ProjectBuilder().withNewMetadata().withName("project").endMetadata().build()),
+                (project, kind, name, done, total) -> {
+                    assertEquals(3, total);
+                    progress.add(done);
+                });
+        assertEquals(3, requests.size());
+        for(Request request : requests) {
+            assertEquals("PATCH", request.method());
+            assertEquals("application/merge-patch+json", request.body().contentType().toString());
+            assertTrue(request.url().encodedPath().startsWith("/oapi/v1/namespaces/project/deploymentconfigs/dc"));
+        }
+        Collections.sort(progress);
+        assertEquals(Arrays.asList(1, 2, 3), progress);
+        //other kinds are not mocked and fail to list, service instances are optional
+        assertEquals(6, exceptions.size());
+    }
+
+    private Project createProject(String name) {
+        return new ProjectBuilder().withNewMetadata().withName(name).endMetadata().build();
+    }
+
+    private DeploymentConfig createDC(String name, String namespace) {
+        DeploymentConfig dc = createDC(name);
+        dc.getMetadata().setNamespace(namespace);
+        return dc;
+    }
+
+    @Test
+    public void checkLegacyProjectsAreFoundClusterWide() {
+        OpenShiftClient client = mock(OpenShiftClient.class);
+        MixedOperation dcs = mock(MixedOperation.class);
+        FilterWatchListMultiDeletable any = mock(FilterWatchListMultiDeletable.class);
+        FilterWatchListDeletable filtered = mock(FilterWatchListDeletable.class);
+        when(client.deploymentConfigs()).thenReturn(dcs);
+        when(dcs.inAnyNamespace()).thenReturn(any);
+        when(any.withLabel(KubernetesLabels.COMPONENT_NAME_LABEL_PRE10)).thenReturn(filtered);
+        DeploymentConfigList list = new DeploymentConfigList();
+        list.setItems(Arrays.asList(createDC("dc1", "project1"), createDC("dc2", "project1")));
+        when(filtered.list()).thenReturn(list);
+        when(client.adapt(ServiceCatalogClient.class)).thenThrow(new KubernetesClientException("not found", HttpURLConnection.HTTP_NOT_FOUND, null));
+        List<Exception> exceptions = new ArrayList<>();
+        List<Project> projects = new ProjectMigration(client).getLegacyProjects(Arrays.asList(createProject("project1"), createProject("project2")), exceptions);
+        assertEquals(1, projects.size());
+        assertEquals("project1", projects.get(0).getMetadata().getName());
+        assertTrue(exceptions.isEmpty());
+        verify(dcs, never()).inNamespace(anyString());
+    }
+
+    @Test
+    public void checkLegacyProjectsAreScannedPerNamespaceWhenForbidden() {
+        OpenShiftClient client = mock(OpenShiftClient.class);
+        MixedOperation dcs = mock(MixedOperation.class);
+        when(client.deploymentConfigs()).thenReturn(dcs);
+        when(dcs.inAnyNamespace()).thenThrow(new KubernetesClientException("forbidden", HttpURLConnection.HTTP_FORBIDDEN, null));
+        for(String namespace : Arrays.asList("project1", "project2", "project3")) {
+            NonNamespaceOperation operation = mock(NonNamespaceOperation.class);
+            FilterWatchListDeletable filtered = mock(FilterWatchListDeletable.class);
+            when(dcs.inNamespace(namespace)).thenReturn(operation);
+            when(operation.withLabel(KubernetesLabels.COMPONENT_NAME_LABEL_PRE10)).thenReturn(filtered);
+            DeploymentConfigList list = new DeploymentConfigList();
+            list.setItems(namespace.equals("project2") ? Collections.singletonList(createDC("dc1", namespace)) : Collections.emptyList());
+            if (namespace.equals("project3")) {
+                when(filtered.list()).thenThrow(new KubernetesClientException("forbidden", HttpURLConnection.HTTP_FORBIDDEN, null));
+            } else {
+                when(filtered.list()).thenReturn(list);
+            }
+        }
+        when(client.adapt(ServiceCatalogClient.class)).thenThrow(new KubernetesClientException("not found", HttpURLConnection.HTTP_NOT_FOUND, null));
+        List<Exception> exceptions = Collections.synchronizedList(new ArrayList<>());
+        List<Project> projects = new ProjectMigration(client).getLegacyProjects(Arrays.asList(createProject("project1"), createProject("project2"), createProject("project3")), exceptions);
+        assertEquals(1, projects.size());
+        assertEquals("project2", projects.get(0).getMetadata().getName());
+        assertEquals(1, exceptions.size());
+    }
+}
@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils.odo;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class PushFingerprintTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path context;
+
+    @Before
+    public void before() throws IOException {
+        context = folder.getRoot().toPath();
+        write("src/Main.java", "class Main {}");
+        write("pom.xml", "<project/>");
+    }
+
+    private void write(String path, String content) throws IOException {
+        Path file = context.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void checkNeverPushedContextIsDirty() {
+        assertNull(PushFingerprint.load(context));
+        assertTrue(PushFingerprint.isDirty(context));
+        assertTrue(PushFingerprint.isKnownDirty(context.toString()));
+    }
+
+    @Test
+    public void checkSavedContextIsClean() throws IOException {
+        PushFingerprint.compute(context).save();
+        assertNotNull(PushFingerprint.load(context));
+        assertFalse(PushFingerprint.isDirty(context));
+        assertFalse(PushFingerprint.isKnownDirty(context.toString()));
+    }
+
+    @Test
+    public void checkModifiedContextIsDirty() throws IOException {
+        PushFingerprint.compute(context).save();
+        write("src/Main.java", "class Main { int i; }");
+        assertTrue(PushFingerprint.isDirty(context));
+    }
+
+    @Test
+    public void checkAddedFileMakesContextDirty() throws IOException {
+        PushFingerprint.compute(context).save();
+        write("src/Other.java", "class Other {}");
+        assertTrue(PushFingerprint.isDirty(context));
+    }
+
+    @Test
+    public void checkOdoFolderIsNotPartOfTheContent() throws IOException {
+        write(".odo/config.yaml", "kind: LocalConfig");
+        PushFingerprint.compute(context).save();
+        write(".odo/env/env.yaml", "kind: EnvInfo");
+        write(".odo/odo-file-index.json", "{}");
+        assertFalse(PushFingerprint.isDirty(context));
+    }
+
+    @Test
+    public void checkAddedURLMakesContextDirty() throws IOException {
+        write(".odo/config.yaml", "kind: LocalConfig\nComponentSettings:\n  Name: comp\n");
+        PushFingerprint.compute(context).save();
+        write(".odo/config.yaml", "kind: LocalConfig\nComponentSettings:\n  Name: comp\n  Url:\n  - Name: http\n    Port: 8080\n");
+        assertTrue(PushFingerprint.isDirty(context));
+    }
+
+    @Test
+    public void checkAddedStorageMakesContextDirty() throws IOException {
+        write(".odo/config.yaml", "kind: LocalConfig\nComponentSettings:\n  Name: comp\n");
+        PushFingerprint.compute(context).save();
+        write(".odo/config.yaml", "kind: LocalConfig\nComponentSettings:\n  Name: comp\n  Storage:\n  - Name: data\n    Size: 1Gi\n    Path: /data\n");
+        assertTrue(PushFingerprint.isDirty(context));
+    }
+
+    @Test
+    public void checkIgnoredFilesAreNotPartOfTheContent() throws IOException {
+        write(PushFingerprint.IGNORE_FILE, "# build output\ntarget/\n*.log\n/local.txt\n");
+        String root = PushFingerprint.compute(context).getRoot();
+        write("target/classes/Main.class", "bytecode");
+        write("logs/server.log", "started");
+        write("server.log", "started");
+        write("local.txt", "local");
+        assertEquals(root, PushFingerprint.compute(context).getRoot());
+        write("src/local.txt", "not ignored");
+        assertNotEquals(root, PushFingerprint.compute(context).getRoot());
+    }
+
+    @Test
+    public void checkUnreadableFingerprintIsIgnored() throws IOException {
+        write(PushFingerprint.FILE, "{");
+        assertNull(PushFingerprint.load(context));
+        assertTrue(PushFingerprint.isDirty(context));
+    }
+
+    @Test
+    public void checkAsyncCheckNotifiesStateChanges() throws Exception {
+        PushFingerprint.compute(context).save();
+        assertTrue(PushFingerprint.isChecked(context.toString()));
+        write("src/Main.java", "class Main { int i; }");
+        CountDownLatch changed = new CountDownLatch(1);
+        PushFingerprint.checkAsync(context.toString(), changed::countDown);
+        assertTrue(changed.await(10, TimeUnit.SECONDS));
+        assertTrue(PushFingerprint.isKnownDirty(context.toString()));
+    }
+}
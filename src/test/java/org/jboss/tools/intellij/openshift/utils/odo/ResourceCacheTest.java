@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils.odo;
+
+import io.fabric8.kubernetes.api.model.ListMetaBuilder;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
+import io.fabric8.kubernetes.client.dsl.MixedOperation;
+import io.fabric8.kubernetes.client.dsl.NonNamespaceOperation;
+import io.fabric8.kubernetes.client.dsl.Watchable;
+import io.fabric8.openshift.api.model.DeploymentConfig;
+import io.fabric8.openshift.api.model.DeploymentConfigBuilder;
+import io.fabric8.openshift.api.model.DeploymentConfigList;
+import io.fabric8.openshift.client.OpenShiftClient;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ResourceCacheTest {
+    private NonNamespaceOperation operation;
+    private Watchable watchable;
+    private ResourceCache cache;
+
+    @Before
+    public void before() {
+        OpenShiftClient client = mock(OpenShiftClient.class);
+        MixedOperation mixed = mock(MixedOperation.class);
+        operation = mock(NonNamespaceOperation.class);
+        when(client.deploymentConfigs()).thenReturn(mixed);
+        when(mixed.inNamespace("project")).thenReturn(operation);
+        DeploymentConfigList list = new DeploymentConfigList();
+        list.setMetadata(new ListMetaBuilder().withResourceVersion("1").build());
+        list.setItems(Arrays.asList(createDC("dc1")));
+        when(operation.list()).thenReturn(list);
+        watchable = mock(Watchable.class);
+        when(operation.withResourceVersion("1")).thenReturn(watchable);
+        when(watchable.watch(any(Watcher.class))).thenReturn(mock(Watch.class));
+        cache = new ResourceCache(client);
+    }
+
+    private DeploymentConfig createDC(String name) {
+        return new DeploymentConfigBuilder().withNewMetadata().withName(name).endMetadata().build();
+    }
+
+    private Watcher<DeploymentConfig> getWatcher() {
+        ArgumentCaptor<Watcher> captor = ArgumentCaptor.forClass(Watcher.class);
+        verify(watchable).watch(captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    public void checkResourcesAreListedOnce() {
+        assertEquals(1, cache.getDeploymentConfigs("project").size());
+        assertEquals(1, cache.getDeploymentConfigs("project").size());
+        verify(operation, times(1)).list();
+    }
+
+    @Test
+    public void checkWatchEventsUpdateCache() {
+        cache.getDeploymentConfigs("project");
+        Watcher<DeploymentConfig> watcher = getWatcher();
+        watcher.eventReceived(Watcher.Action.ADDED, createDC("dc2"));
+        assertEquals(2, cache.getDeploymentConfigs("project").size());
+        watcher.eventReceived(Watcher.Action.DELETED, createDC("dc1"));
+        assertEquals(1, cache.getDeploymentConfigs("project").size());
+        assertEquals("dc2", cache.getDeploymentConfigs("project").get(0).getMetadata().getName());
+        verify(operation, times(1)).list();
+    }
+
+    @Test
+    public void checkResourcesAreListedAgainWhenWatchIsClosed() {
+        cache.getDeploymentConfigs("project");
+        getWatcher().onClose(new KubernetesClientException("closed"));
+        cache.getDeploymentConfigs("project");
+        verify(operation, times(2)).list();
+    }
+
+    @Test
+    public void checkCachesAreKeptPerClient() {
+        OpenShiftClient client1 = mock(OpenShiftClient.class);
+        OpenShiftClient client2 = mock(OpenShiftClient.class);
+        try {
+            ResourceCache cache1 = ResourceCache.get(client1);
+            ResourceCache cache2 = ResourceCache.get(client2);
+            assertNotSame(cache1, cache2);
+            assertSame(cache1, ResourceCache.get(client1));
+            ResourceCache.release(client1);
+            assertNotSame(cache1, ResourceCache.get(client1));
+            assertSame(cache2, ResourceCache.get(client2));
+        } finally {
+            ResourceCache.release(client1);
+            ResourceCache.release(client2);
+        }
+    }
+}